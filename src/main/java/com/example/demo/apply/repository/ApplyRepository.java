@@ -3,10 +3,16 @@ package com.example.demo.apply.repository;
 import com.example.demo.entity.Apply;
 
 import com.example.demo.type.ApplyStatus;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,9 +23,53 @@ public interface ApplyRepository extends JpaRepository<Apply, Long> {
 
     List<Apply> findAllByMatching_IdAndApplyStatus(long matchingId, ApplyStatus applyStatus);
 
+    // 여러 매칭의 신청을 한 번에 조회 (스케줄러가 매칭마다 조회하지 않도록)
+    @Query("SELECT a FROM Apply a JOIN FETCH a.siteUser "
+            + "WHERE a.matching.id IN :matchingIds AND a.applyStatus = :applyStatus")
+    List<Apply> findAllWithSiteUserByMatchingIdInAndApplyStatus(@Param("matchingIds") Collection<Long> matchingIds,
+                                                                 @Param("applyStatus") ApplyStatus applyStatus);
+
     Optional<Integer> countByMatching_IdAndApplyStatus(long matchingId, ApplyStatus applyStatus);
   
     List<Apply> findAllBySiteUser_Email(String email);
 
     List<Apply> findAllByMatching_Id(long matchingId);
+
+    // 신청 현황 화면용 - 매칭의 모든 신청을 신청자 정보와 함께 한 번에 조회
+    @Query("SELECT a FROM Apply a JOIN FETCH a.siteUser JOIN FETCH a.matching m JOIN FETCH m.siteUser "
+            + "WHERE m.id = :matchingId ORDER BY a.id")
+    List<Apply> findAllWithSiteUserByMatchingId(@Param("matchingId") long matchingId);
+
+    // 참가 수락 처리용 - 대상 신청을 신청자 정보와 함께 한 번에 조회
+    @Query("SELECT a FROM Apply a JOIN FETCH a.siteUser WHERE a.id IN :applyIds AND a.matching.id = :matchingId")
+    List<Apply> findAllWithSiteUserByIdInAndMatchingId(@Param("applyIds") Collection<Long> applyIds,
+                                                       @Param("matchingId") long matchingId);
+
+    // 참가 수락 처리용 - 대상 신청 행만 id 순으로 잠가서 최신 상태를 읽고, 수락 요청끼리 잠금 순서가 엇갈리지 않도록 함
+    // 신청자를 조인하면 회원 행까지 잠기므로 신청자는 잠금 없이 따로 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Apply a WHERE a.id IN :applyIds AND a.matching.id = :matchingId ORDER BY a.id")
+    List<Apply> findAllByIdInAndMatchingIdForUpdate(@Param("applyIds") Collection<Long> applyIds,
+                                                    @Param("matchingId") long matchingId);
+
+    // 참가 신청 취소용 - SELECT ... FOR UPDATE 는 항상 최신 커밋 상태를 읽으므로 같은 트랜잭션에서 다시 읽을 필요 없음
+    // 조인하면 매칭 행까지 잠겨서 수락 요청과 잠금 순서가 엇갈리므로 신청 행만 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Apply a WHERE a.id = :applyId")
+    Optional<Apply> findByIdForUpdate(@Param("applyId") long applyId);
+
+    // 현재 상태가 from 일 때만 변경 (0 이 반환되면 다른 요청이 먼저 상태를 바꾼 것)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Apply a SET a.applyStatus = :to, a.statusVersion = a.statusVersion + 1 "
+            + "WHERE a.id = :applyId AND a.applyStatus = :from")
+    int changeApplyStatus(@Param("applyId") long applyId,
+                          @Param("from") ApplyStatus from,
+                          @Param("to") ApplyStatus to);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Apply a SET a.applyStatus = :to, a.statusVersion = a.statusVersion + 1 "
+            + "WHERE a.id IN :applyIds AND a.applyStatus = :from")
+    int changeApplyStatuses(@Param("applyIds") Collection<Long> applyIds,
+                            @Param("from") ApplyStatus from,
+                            @Param("to") ApplyStatus to);
 }
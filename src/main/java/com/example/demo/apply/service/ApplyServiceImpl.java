@@ -3,6 +3,7 @@ package com.example.demo.apply.service;
 import static com.example.demo.exception.type.ErrorCode.APPLY_ALREADY_CANCELED;
 import static com.example.demo.exception.type.ErrorCode.APPLY_ALREADY_EXISTED;
 import static com.example.demo.exception.type.ErrorCode.APPLY_NOT_FOUND;
+import static com.example.demo.exception.type.ErrorCode.APPLY_STATUS_CONFLICT;
 import static com.example.demo.exception.type.ErrorCode.MATCHING_ALREADY_CONFIRMED;
 import static com.example.demo.exception.type.ErrorCode.MATCHING_ALREADY_FINISHED;
 import static com.example.demo.exception.type.ErrorCode.PERMISSION_DENIED_TO_ACCEPTED_APPLIES;
@@ -16,6 +17,8 @@ import com.example.demo.common.FindEntity;
 import com.example.demo.entity.Apply;
 import com.example.demo.entity.Matching;
 import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.event.MatchingChangedEvent;
+import com.example.demo.matching.repository.MatchingRepository;
 import com.example.demo.notification.service.NotificationService;
 import com.example.demo.openfeign.service.weather.WeatherService;
 import com.example.demo.siteuser.repository.SiteUserRepository;
@@ -25,8 +28,13 @@ import com.example.demo.type.PenaltyType;
 import com.example.demo.type.PrecipitationType;
 import com.example.demo.type.RecruitStatus;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +47,8 @@ public class ApplyServiceImpl implements ApplyService {
     private final NotificationService notificationService;
     private final FindEntity findEntity;
     private final WeatherService weatherService;
+    private final MatchingRepository matchingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -55,7 +65,8 @@ public class ApplyServiceImpl implements ApplyService {
                     .orElseThrow(() -> new RacketPuncherException(APPLY_NOT_FOUND));
             validateApplyDuplication(existApply);
             existApply.changeApplyStatus(ApplyStatus.PENDING); // 취소 신청 내역 있을 경우 상태만 변경
-            notificationService.createAndSendNotification(organizer, matching, NotificationType.REQUEST_APPLY);
+            notificationService.createAndSendNotification(organizer, matching, NotificationType.REQUEST_APPLY,
+                    existApply.statusChangeKey());
             return existApply;
         }
 
@@ -65,7 +76,8 @@ public class ApplyServiceImpl implements ApplyService {
                 .build();
 
         var apply = applyRepository.save(Apply.fromDto(applyDto));
-        notificationService.createAndSendNotification(organizer, matching, NotificationType.REQUEST_APPLY);
+        notificationService.createAndSendNotification(organizer, matching, NotificationType.REQUEST_APPLY,
+                apply.statusChangeKey());
 
         if (!LocalDate.now().equals(matching.getDate())) {
             return apply;
@@ -75,14 +87,19 @@ public class ApplyServiceImpl implements ApplyService {
         if (!PrecipitationType.NICE.equals(weatherDto.getPrecipitationType())) {
             matching.changeRecruitStatus(RecruitStatus.WEATHER_ISSUE);
             notificationService.createAndSendNotification(user, matching,
-                    NotificationType.makeWeatherIssueMessage(weatherDto));
+                    NotificationType.makeWeatherIssueMessage(weatherDto), weatherSource(matching));
             return apply;
         }
         notificationService.createAndSendNotification(user, matching,
-                NotificationType.makeWeatherMessage());
+                NotificationType.makeWeatherMessage(), weatherSource(matching));
         return apply;
     }
 
+    // 날씨 알림은 경기 날짜마다 한 번
+    private static String weatherSource(Matching matching) {
+        return "weather:" + matching.getDate();
+    }
+
     private boolean isAlreadyExisted(long userId, long matchingId) {
         return applyRepository.existsBySiteUser_IdAndMatching_Id(userId, matchingId);
     }
@@ -110,7 +127,8 @@ public class ApplyServiceImpl implements ApplyService {
     @Override
     @Transactional
     public Apply cancel(long applyId) {
-        var apply = findEntity.findApply(applyId);
+        // REPEATABLE READ 에서 일반 조회는 트랜잭션 시작 시점의 스냅샷을 읽으므로 잠금 조회로 최신 상태를 읽고 고정
+        var apply = findEntity.findApplyForUpdate(applyId);
 
         validateCancelDuplication(apply);
 
@@ -120,24 +138,35 @@ public class ApplyServiceImpl implements ApplyService {
         validateRecruitNotFinished(matching);
         validateRecruitNotConfirmedAndApplyAccepted(matching, apply);
 
-        if (ApplyStatus.ACCEPTED.equals(apply.getApplyStatus())) {
-            matching.updateAcceptedNum(matching.getAcceptedNum() - 1);
+        ApplyStatus canceledFrom = apply.getApplyStatus();
+        if (applyRepository.changeApplyStatus(applyId, canceledFrom, ApplyStatus.CANCELED) == 0) {
+            throw new RacketPuncherException(APPLY_STATUS_CONFLICT); // 잠금을 잡은 상태이므로 정상적으로는 발생하지 않음
         }
 
-        if (isRecruitFullAndIsApplyAccepted(matching, apply)) {
-                matching.changeRecruitStatus(RecruitStatus.OPEN);
-                apply.getSiteUser().penalize(PenaltyType.CANCEL_APPLY);
+        if (ApplyStatus.ACCEPTED.equals(canceledFrom)) {
+            decreaseAcceptedNum(matching, apply);
+            // 벌크 UPDATE 는 엔티티 리스너를 거치지 않으므로 인덱스, 캐시 갱신 이벤트를 직접 발행
+            eventPublisher.publishEvent(MatchingChangedEvent.saved(matching.getId()));
         }
 
-        apply.changeApplyStatus(ApplyStatus.CANCELED);
+        apply.changeApplyStatus(ApplyStatus.CANCELED); // 영속성 컨텍스트는 비워졌으므로 반환값에만 반영
         notificationService.createAndSendNotification(matching.getSiteUser(),
-                matching, NotificationType.CANCEL_APPLY);
+                matching, NotificationType.CANCEL_APPLY, apply.statusChangeKey());
         return apply;
     }
 
-    private static boolean isRecruitFullAndIsApplyAccepted(Matching matching, Apply apply) {
-        return RecruitStatus.FULL.equals(matching.getRecruitStatus())
-                && ApplyStatus.ACCEPTED.equals(apply.getApplyStatus());
+    private void decreaseAcceptedNum(Matching matching, Apply apply) {
+        if (matchingRepository.decreaseAcceptedNumOfFullMatching(matching.getId()) == 1) {
+            // 정원이 찬 매칭에서 빠지면 패널티 (벌크 UPDATE 후이므로 다시 조회한 엔티티에 반영)
+            siteUserRepository.findById(apply.getSiteUser().getId())
+                    .ifPresent(siteUser -> siteUser.penalize(PenaltyType.CANCEL_APPLY));
+            return;
+        }
+
+        // 그 사이 매칭이 확정되었으면 취소 전체를 롤백
+        if (matchingRepository.decreaseAcceptedNum(matching.getId()) == 0) {
+            throw new RacketPuncherException(MATCHING_ALREADY_CONFIRMED);
+        }
     }
 
     private static void validateRecruitNotFinished(Matching matching) {
@@ -164,38 +193,67 @@ public class ApplyServiceImpl implements ApplyService {
         var matching = findEntity.findMatching(matchingId);
         validateOrganizer(email, matching);
 
-        var recruitNum = matching.getRecruitNum();
-        var acceptedNum = acceptedApplies.size();
+        // 같은 id 가 여러 번 들어오면 UPDATE 건수와 비교할 때 충돌로 오인하므로 중복 제거
+        List<Long> pendingIds = pendingApplies.stream().distinct().toList();
+        List<Long> acceptedIds = acceptedApplies.stream().distinct().toList();
 
-        validateOverRecruitNumber(recruitNum, acceptedNum);
+        validateOverRecruitNumber(matching.getRecruitNum(), acceptedIds.size());
 
-        pendingApplies
-                .forEach(pendingId
-                        -> findEntity.findApply(pendingId).changeApplyStatus(ApplyStatus.PENDING));
+        // 대상 신청을 잠금 조회로 최신 상태를 읽고 고정 (동시에 취소/수락되어도 상태 충돌로 실패하지 않음)
+        var applyIds = new HashSet<Long>(pendingIds);
+        applyIds.addAll(acceptedIds);
+        if (applyRepository.findAllByIdInAndMatchingIdForUpdate(applyIds, matchingId).size() != applyIds.size()) {
+            throw new RacketPuncherException(APPLY_NOT_FOUND);
+        }
+        // 잠근 신청은 영속성 컨텍스트에 있으므로 같은 엔티티에 신청자 정보만 채워짐
+        Map<Long, Apply> applies = applyRepository.findAllWithSiteUserByIdInAndMatchingId(applyIds, matchingId)
+                .stream()
+                .collect(Collectors.toMap(Apply::getId, Function.identity()));
+
+        // 실제로 상태가 바뀌는 신청만 골라서 상태별로 한 번씩 UPDATE (이미 취소된 신청은 수락되지 않음)
+        List<Long> toPending = pendingIds.stream()
+                .filter(id -> ApplyStatus.ACCEPTED.equals(applies.get(id).getApplyStatus()))
+                .toList();
+        List<Apply> toAccepted = acceptedIds.stream()
+                .map(applies::get)
+                .filter(apply -> ApplyStatus.PENDING.equals(apply.getApplyStatus()))
+                .toList();
+
+        changeApplyStatuses(toPending, ApplyStatus.ACCEPTED, ApplyStatus.PENDING);
+        changeApplyStatuses(toAccepted.stream().map(Apply::getId).toList(), ApplyStatus.PENDING, ApplyStatus.ACCEPTED);
+
+        // 동시에 다른 수락/취소가 일어나도 정원을 넘으면 UPDATE 가 실패하고 전체 롤백
+        int delta = toAccepted.size() - toPending.size();
+        if (delta != 0 && matchingRepository.addAcceptedNum(matchingId, delta) == 0) {
+            throw new RacketPuncherException(RECRUIT_NUMBER_OVERED);
+        }
 
-        acceptedApplies
-                .forEach(acceptedId
-                        -> {
-                    findEntity.findApply(acceptedId).changeApplyStatus(ApplyStatus.ACCEPTED);
-                    notificationService
-                            .createAndSendNotification(findEntity.findApply(acceptedId).getSiteUser(),
-                                    matching, NotificationType.ACCEPT_APPLY);
-                });
+        // 영속성 컨텍스트는 비워졌으므로 알림 키를 만들 수 있도록 반환된 엔티티에만 반영
+        toAccepted.forEach(apply -> apply.changeApplyStatus(ApplyStatus.ACCEPTED));
+        var updatedMatching = findEntity.findMatching(matchingId);
+        notificationService.createAndSendNotifications(toAccepted.stream().map(Apply::getSiteUser).toList(),
+                updatedMatching, NotificationType.ACCEPT_APPLY,
+                toAccepted.stream().map(Apply::statusChangeKey).collect(Collectors.joining(",")));
 
-        matching.updateAcceptedNum(acceptedNum);
-        checkForRecruitStatusChanging(recruitNum, acceptedNum, matching);
-        return matching;
+        if (delta != 0) {
+            eventPublisher.publishEvent(MatchingChangedEvent.saved(matchingId));
+        }
+        return updatedMatching;
     }
 
-    private static void validateOrganizer(String email, Matching matching) {
-        if (!matching.getSiteUser().getEmail().equals(email)) {
-            throw new RacketPuncherException(PERMISSION_DENIED_TO_ACCEPTED_APPLIES);
+    // 잠금을 잡은 상태이므로 정상적으로는 모두 변경됨, 일부만 변경되었으면 전체 롤백
+    private void changeApplyStatuses(List<Long> applyIds, ApplyStatus from, ApplyStatus to) {
+        if (applyIds.isEmpty()) {
+            return;
+        }
+        if (applyRepository.changeApplyStatuses(applyIds, from, to) != applyIds.size()) {
+            throw new RacketPuncherException(APPLY_STATUS_CONFLICT);
         }
     }
 
-    private static void checkForRecruitStatusChanging(Integer recruitNum, int acceptedNum, Matching matching) {
-        if (recruitNum == acceptedNum) {
-            matching.changeRecruitStatus(RecruitStatus.FULL);
+    private static void validateOrganizer(String email, Matching matching) {
+        if (!matching.getSiteUser().getEmail().equals(email)) {
+            throw new RacketPuncherException(PERMISSION_DENIED_TO_ACCEPTED_APPLIES);
         }
     }
 
@@ -75,6 +75,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         permitAllEndpoints.add("/api/auth/upload-profile-image");
         permitAllEndpoints.add("/api/notifications/connect/**");
         permitAllEndpoints.add("/api/matches/list/**");
+        permitAllEndpoints.add("/api/matches/search");
         permitAllEndpoints.add("/api/matches/detail/**");
         permitAllEndpoints.add("/api/matches/address");
         permitAllEndpoints.add("/api/users/profile/**");
@@ -8,16 +8,15 @@ import com.example.demo.chat.repository.LastReadTimeRepository;
 import com.example.demo.entity.ChatMessage;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.outbox.dto.ChatSystemMessagePayload;
+import com.example.demo.outbox.service.OutboxService;
 import com.example.demo.siteuser.repository.SiteUserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-
 import static com.example.demo.exception.type.ErrorCode.USER_NOT_FOUND;
-import static com.example.demo.util.dateformatter.DateFormatter.formForDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +25,7 @@ public class ChatNotificationService {
     private final SiteUserRepository siteUserRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final LastReadTimeRepository lastReadTimeRepository;
+    private final OutboxService outboxService;
 
     public void notifyUserConnection(String matchingId, String userEmail) {
         SiteUser siteUser = siteUserRepository.findByEmail(userEmail)
@@ -34,32 +34,34 @@ public class ChatNotificationService {
 
         if (!visited) {
             String notification = String.format("%s님이 입장했습니다.", siteUser.getNickname());
-            sendNotificationChat(matchingId, notification);
+            // 동시에 여러 번 연결해도 입장 메시지는 한 번만
+            outboxService.saveChatSystemMessage(matchingId, notification,
+                    "chat:enter:" + matchingId + ":" + siteUser.getId());
         }
     }
 
+    // 스케줄러가 여러 번 실행되어도 종료 안내는 매칭마다 한 번만
     public void notifyChatRoomWillClose(String matchingId) {
         String notification = "매칭이 종료되었으므로, 24시간 후 채팅방이 비활성화됩니다.";
-        sendNotificationChat(matchingId, notification);
+        outboxService.saveChatSystemMessage(matchingId, notification, "chat:close:" + matchingId);
     }
 
-    private void sendNotificationChat(String matchingId, String notification){
-        String sentTime = formForDateTime.format(LocalDateTime.now());
-
+    // OutboxRelay 가 호출, 같은 메시지가 다시 전달되어도 DynamoDB 에는 같은 키로 덮어씀
+    public void deliverSystemMessage(ChatSystemMessagePayload payload) {
         ChatMessageResponseDto chatMessageResponseDto = ChatMessageResponseDto.builder()
-                .content(notification)
+                .content(payload.getContent())
                 .senderNickname("admin")
-                .sentTime(sentTime)
+                .sentTime(payload.getSentTime())
                 .build();
 
         ChatMessage chatMessage = ChatMessage.builder()
-                .id(new ChatMessageId(matchingId, sentTime))
+                .id(new ChatMessageId(payload.getMatchingId(), payload.getSentTime()))
                 .senderId("admin")
-                .content(notification)
+                .content(payload.getContent())
                 .build();
 
-        SimpMessagingTemplate messagingTemplate = applicationContext.getBean(SimpMessagingTemplate.class);
-        messagingTemplate.convertAndSend("/topic/" + matchingId, chatMessageResponseDto);
         chatMessageRepository.save(chatMessage);
+        SimpMessagingTemplate messagingTemplate = applicationContext.getBean(SimpMessagingTemplate.class);
+        messagingTemplate.convertAndSend("/topic/" + payload.getMatchingId(), chatMessageResponseDto);
     }
 }
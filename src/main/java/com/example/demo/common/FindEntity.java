@@ -34,4 +34,10 @@ public class FindEntity {
         return applyRepository.findById(applyId)
                 .orElseThrow(() -> new RacketPuncherException(APPLY_NOT_FOUND));
     }
+
+    // 트랜잭션이 끝날 때까지 다른 요청이 상태를 바꾸지 못하도록 행을 잠그고 조회
+    public Apply findApplyForUpdate(long applyId) {
+        return applyRepository.findByIdForUpdate(applyId)
+                .orElseThrow(() -> new RacketPuncherException(APPLY_NOT_FOUND));
+    }
 }
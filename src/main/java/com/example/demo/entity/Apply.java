@@ -54,6 +54,9 @@ public class Apply {
     @Column(name = "APPLY_STATUS")
     private ApplyStatus applyStatus; // default 값 지정됨(PENDING)
 
+    @Column(name = "STATUS_VERSION")
+    private Integer statusVersion; // default 값 지정됨(0), 상태가 바뀔 때마다 1 증가
+
     public static Apply fromDto(ApplyDto applyDto) {
         return Apply.builder()
                 .matching(applyDto.getMatching())
@@ -63,5 +66,15 @@ public class Apply {
 
     public void changeApplyStatus(ApplyStatus applyStatus) {
         this.applyStatus = applyStatus;
+        this.statusVersion = currentStatusVersion() + 1;
+    }
+
+    // 이 신청의 마지막 상태 변경 (같은 변경이면 같은 값, 다시 바뀌면 다른 값)
+    public String statusChangeKey() {
+        return "apply:" + id + ":" + currentStatusVersion();
+    }
+
+    private int currentStatusVersion() {
+        return statusVersion == null ? 0 : statusVersion;
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import static com.example.demo.util.dateformatter.DateFormatter.formForDateTime;
 import static com.example.demo.util.dateformatter.DateFormatter.formForTime;
 
 import com.example.demo.matching.dto.MatchingDetailRequestDto;
+import com.example.demo.matching.event.MatchingEntityListener;
+import com.example.demo.matching.filter.Region;
 import com.example.demo.type.AgeGroup;
 import com.example.demo.type.MatchingType;
 import com.example.demo.type.Ntrp;
@@ -40,7 +42,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @AllArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, MatchingEntityListener.class})
 @DynamicInsert
 @DynamicUpdate
 @Table(name = "MATCHING")
@@ -69,6 +71,10 @@ public class Matching {
     @Column(name = "LON", nullable = false)
     private Double lon;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "REGION", length = 50)
+    private Region region;
+
     @Column(name = "LOCATION_IMG", length = 1023)
     private String locationImg;
 
@@ -112,6 +118,9 @@ public class Matching {
     @Column(name = "ACCEPTED_NUM")
     private Integer acceptedNum;
 
+    @Column(name = "UPDATE_COUNT")
+    private Integer updateCount; // default 값 지정됨(0), 수정할 때마다 1 증가
+
     @CreatedDate
     @Column(name = "CREATE_TIME") // yyyy-MM-dd HH:mm
     private LocalDateTime createTime;
@@ -134,6 +143,7 @@ public class Matching {
                 .location(matchingDetailRequestDto.getLocation())
                 .lat(matchingDetailRequestDto.getLat())
                 .lon(matchingDetailRequestDto.getLon())
+                .region(matchingDetailRequestDto.getRegion())
                 .locationImg(matchingDetailRequestDto.getLocationImg())
                 .date(date)
                 .startTime(startTime)
@@ -157,6 +167,7 @@ public class Matching {
         this.location = matching.getLocation();
         this.lat = matching.getLat();
         this.lon = matching.getLon();
+        this.region = matching.getRegion();
         this.locationImg = matching.getLocationImg();
         this.date = matching.getDate();
         this.startTime = matching.getStartTime();
@@ -170,12 +181,26 @@ public class Matching {
         this.matchingType = matching.getMatchingType();
         this.recruitStatus = matching.getRecruitStatus();
         this.acceptedNum = matching.getAcceptedNum();
+        this.updateCount = currentUpdateCount() + 1;
+    }
+
+    // 이 매칭의 마지막 수정 (같은 수정이면 같은 값, 다시 수정되면 다른 값)
+    public String updateKey() {
+        return "matching:" + id + ":" + currentUpdateCount();
+    }
+
+    private int currentUpdateCount() {
+        return updateCount == null ? 0 : updateCount;
     }
 
     public void updateAcceptedNum(int acceptedNum) {
         this.acceptedNum = acceptedNum;
     }
 
+    public void updateRegion(Region region) {
+        this.region = region;
+    }
+
     public void changeRecruitStatus(RecruitStatus recruitStatus) {
         this.recruitStatus = recruitStatus;
     }
@@ -50,6 +50,9 @@ public class Notification {
     @Column(name = "CONTENT", length = 255, nullable = false)
     private String content;
 
+    @Column(name = "IS_READ", nullable = false)
+    private boolean read;
+
     @CreatedDate
     @Column(name = "CREATE_TIME")
     private LocalDateTime createTime;
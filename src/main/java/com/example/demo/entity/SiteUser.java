@@ -2,6 +2,7 @@ package com.example.demo.entity;
 
 import com.example.demo.auth.dto.SignUpDto;
 import com.example.demo.siteuser.dto.UpdateSiteUserInfoDto;
+import com.example.demo.siteuser.event.SiteUserEntityListener;
 import com.example.demo.type.AgeGroup;
 import com.example.demo.type.AuthType;
 import com.example.demo.type.GenderType;
@@ -40,7 +41,7 @@ import org.springframework.util.ObjectUtils;
 @Entity(name = "SITE_USER")
 @Table(name = "SITE_USER")
 @DynamicInsert
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, SiteUserEntityListener.class})
 public class SiteUser implements UserDetails {
 
     @Id
@@ -13,6 +13,7 @@ public enum ErrorCode {
     ADDRESS_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "주소가 존재하지 않습니다."),
     APPLY_ALREADY_CANCELED(HttpStatus.BAD_REQUEST.value(), "해당 매칭에 대한 참가 신청은 이미 취소되었습니다."),
     MATCHING_ALREADY_FINISHED(HttpStatus.BAD_REQUEST.value(), "이미 매칭이 종료된 경기입니다."),
+    APPLY_STATUS_CONFLICT(HttpStatus.CONFLICT.value(), "다른 요청과 동시에 처리되었습니다. 다시 시도해주세요."),
     MATCHING_ALREADY_CONFIRMED(HttpStatus.BAD_REQUEST.value(), "이미 매칭이 확정된 경기입니다."),
     APPLY_ALREADY_EXISTED(HttpStatus.BAD_REQUEST.value(), "이미 참가 신청한 경기입니다."),
     APPLY_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "참가 신청 내역이 없습니다."),
@@ -43,7 +44,9 @@ public enum ErrorCode {
     LAT_AND_LON_NOT_FOUND(HttpStatus.BAD_REQUEST.value(), "위경도를 찾을 수 없는 주소입니다."),
     REGISTRATION_INFO_NOT_FOUND(HttpStatus.BAD_REQUEST.value(), "가입 정보가 없습니다."),
     RESET_TOKEN_EXPIRED(HttpStatus.UNAUTHORIZED.value(), "리셋 토큰이 만료되었습니다."),
-    RESET_TOKEN_ALREADY_USED(HttpStatus.UNAUTHORIZED.value(), "이미 사용된 리셋 토큰입니다.")
+    RESET_TOKEN_ALREADY_USED(HttpStatus.UNAUTHORIZED.value(), "이미 사용된 리셋 토큰입니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST.value(), "유효하지 않은 커서입니다."),
+    INVALID_KEYWORD(HttpStatus.BAD_REQUEST.value(), "검색어에 글자나 숫자가 포함되어야 합니다.")
     ;
 
     private final int code;
@@ -0,0 +1,142 @@
+package com.example.demo.matching.cache;
+
+import com.example.demo.matching.dto.MatchingDetailResponseDto;
+import com.example.demo.matching.event.MatchingChangedEvent;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.siteuser.event.SiteUserChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+// 매칭 상세 조회 결과 캐시 (로컬 Caffeine -> Redis(선택) -> DB 순으로 조회)
+// 매칭 변경(수정, 삭제, 참가 확정/취소, 스케줄러 상태 변경)과 작성자 정보 변경이 커밋되면 무효화
+@Slf4j
+@Component
+public class MatchingDetailCache {
+
+    private static final String KEY_PREFIX = "matching:detail:";
+
+    private final Cache<Long, MatchingDetailResponseDto> localCache;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MatchingRepository matchingRepository;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    private final Counter localHit;
+    private final Counter redisHit;
+    private final Counter miss;
+
+    public MatchingDetailCache(RedisTemplate<String, String> redisTemplate,
+                               ObjectMapper objectMapper,
+                               MatchingRepository matchingRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${matching.detail.cache.max-size:10000}") long maxSize,
+                               @Value("${matching.detail.cache.local-ttl-seconds:60}") long localTtlSeconds,
+                               @Value("${matching.detail.cache.redis-enabled:false}") boolean redisEnabled,
+                               @Value("${matching.detail.cache.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds)) // 다른 서버에서의 변경은 TTL 이 지나면 반영
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.matchingRepository = matchingRepository;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+
+        this.localHit = counter(meterRegistry, "local", "hit");
+        this.redisHit = counter(meterRegistry, "redis", "hit");
+        this.miss = counter(meterRegistry, "all", "miss");
+        meterRegistry.gauge("matching.detail.cache.size", localCache, Cache::estimatedSize);
+    }
+
+    public MatchingDetailResponseDto get(Long matchingId, Supplier<MatchingDetailResponseDto> loader) {
+        MatchingDetailResponseDto cached = localCache.getIfPresent(matchingId);
+        if (cached != null) {
+            localHit.increment();
+            return cached;
+        }
+
+        // 같은 키를 동시에 조회하면 한 번만 로드
+        return localCache.get(matchingId, key -> {
+            MatchingDetailResponseDto fromRedis = getFromRedis(key);
+            if (fromRedis != null) {
+                redisHit.increment();
+                return fromRedis;
+            }
+
+            miss.increment();
+            MatchingDetailResponseDto loaded = loader.get();
+            putToRedis(key, loaded);
+            return loaded;
+        });
+    }
+
+    public void evict(Long matchingId) {
+        localCache.invalidate(matchingId);
+        if (redisEnabled) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + matchingId);
+            } catch (RuntimeException e) {
+                log.warn("failed to evict matching detail from redis -> " + matchingId, e);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchingChanged(MatchingChangedEvent event) {
+        evict(event.getMatchingId());
+    }
+
+    // 작성자 정보가 상세 응답에 포함되므로 작성자가 만든 매칭을 모두 무효화
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSiteUserChanged(SiteUserChangedEvent event) {
+        List<Long> matchingIds = matchingRepository.findIdsBySiteUserId(event.getSiteUserId());
+        matchingIds.forEach(this::evict);
+    }
+
+    // Redis 장애 시에는 로컬 캐시와 DB 만으로 동작
+    private MatchingDetailResponseDto getFromRedis(Long matchingId) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + matchingId);
+            return json == null ? null : objectMapper.readValue(json, MatchingDetailResponseDto.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("failed to read matching detail from redis -> " + matchingId, e);
+            return null;
+        }
+    }
+
+    private void putToRedis(Long matchingId, MatchingDetailResponseDto detail) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + matchingId, objectMapper.writeValueAsString(detail), redisTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("failed to write matching detail to redis -> " + matchingId, e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("matching.detail.cache")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.matching.controller;
 import com.example.demo.common.ResponseDto;
 import com.example.demo.common.ResponseUtil;
 import com.example.demo.matching.dto.*;
+import com.example.demo.matching.filter.CursorSortKey;
 import com.example.demo.matching.service.MatchingService;
 import com.example.demo.openfeign.dto.address.AddressResponseDto;
 import com.example.demo.openfeign.service.address.AddressService;
@@ -62,19 +63,26 @@ public class MatchingController {
             @RequestParam(required = false) String sort,
             @RequestBody(required = false) FilterRequestDto filterRequestDto) {
 
-        Sort sortOrder = Sort.unsorted();
-        if ("register".equals(sort)) {
-            sortOrder = Sort.by("createTime").ascending();
-        } else if ("due-date".equals(sort)) {
-            sortOrder = Sort.by("recruitDueDateTime").ascending();
-        }
-
-        PageRequest pageRequest = PageRequest.of(page, size, sortOrder);
+        PageRequest pageRequest = PageRequest.of(page, size, sortOf(sort));
         var result = matchingService.getMatchingByFilter(filterRequestDto.getFilter(), pageRequest);
 
         return ResponseUtil.SUCCESS(result);
     }
 
+    // 모집 중인 매칭만 필터링 (필터 항목별 개수 포함)
+    @PostMapping("/list/recruiting")
+    public ResponseDto<Page<MatchingPreviewDto>> getRecruitingMatchingList(
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "5") int size,
+            @RequestParam(required = false) String sort,
+            @RequestBody(required = false) FilterRequestDto filterRequestDto) {
+
+        PageRequest pageRequest = PageRequest.of(page, size, sortOf(sort));
+        var result = matchingService.getRecruitingMatchingByFilter(filterOf(filterRequestDto), pageRequest);
+
+        return ResponseUtil.SUCCESS(result);
+    }
+
     @PostMapping("/list/map")
     public ResponseDto<Page<MatchingPreviewDto>> getMatchingWithinDistance(
             @RequestParam(required = false, defaultValue = "0") int page,
@@ -88,6 +96,56 @@ public class MatchingController {
         return ResponseUtil.SUCCESS(result);
     }
 
+    @PostMapping("/search")
+    public ResponseDto<Page<MatchingPreviewDto>> searchMatching(
+            @RequestParam String keyword,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "5") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false, defaultValue = "3") double distance,
+            @RequestBody(required = false) MatchingSearchRequestDto matchingSearchRequestDto) {
+
+        MatchingSearchRequestDto request = matchingSearchRequestDto == null
+                ? new MatchingSearchRequestDto() : matchingSearchRequestDto;
+        PageRequest pageRequest = PageRequest.of(page, size, sortOf(sort));
+        var result = matchingService.searchMatching(keyword, request.getFilter(), request.getLocation(),
+                distance, pageRequest);
+
+        return ResponseUtil.SUCCESS(result);
+    }
+
+    @PostMapping("/list/cursor")
+    public ResponseDto<CursorPageDto<MatchingPreviewDto>> getMatchingListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "5") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false, defaultValue = "false") boolean withCount,
+            @RequestBody(required = false) FilterRequestDto filterRequestDto) {
+
+        CursorSortKey sortKey = CursorSortKey.CREATE_TIME;
+        if ("due-date".equals(sort)) {
+            sortKey = CursorSortKey.RECRUIT_DUE_DATE_TIME;
+        }
+
+        var result = matchingService.getMatchingByFilterAfter(
+                filterOf(filterRequestDto), sortKey, cursor, size, withCount);
+
+        return ResponseUtil.SUCCESS(result);
+    }
+
+    @PostMapping("/list/map/cursor")
+    public ResponseDto<CursorPageDto<MatchingPreviewDto>> getMatchingWithinDistanceByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "5") int size,
+            @RequestParam(required = false, defaultValue = "3") double distance,
+            @RequestParam(required = false, defaultValue = "false") boolean withCount,
+            @RequestBody LocationDto locationDto) {
+
+        var result = matchingService.getMatchingWithinDistanceAfter(locationDto, distance, cursor, size, withCount);
+
+        return ResponseUtil.SUCCESS(result);
+    }
+
     @SneakyThrows
     @GetMapping("/{matchingId}/apply")
     public ResponseDto<ApplyContents> getApplyContents(@PathVariable(value = "matchingId") long matchingId,
@@ -105,4 +163,21 @@ public class MatchingController {
 
         return ResponseUtil.SUCCESS(result);
     }
-}
\ No newline at end of file
+
+    // register: 등록순, due-date: 모집 마감순, 그 외: 정렬 없음
+    private static Sort sortOf(String sort) {
+        if ("register".equals(sort)) {
+            return Sort.by("createTime").ascending();
+        }
+        if ("due-date".equals(sort)) {
+            return Sort.by("recruitDueDateTime").ascending();
+        }
+        return Sort.unsorted();
+    }
+
+    // 요청 본문이 없으면 빈 필터로 조회
+    private static FilterDto filterOf(FilterRequestDto filterRequestDto) {
+        return filterRequestDto == null || filterRequestDto.getFilter() == null
+                ? FilterDto.empty() : filterRequestDto.getFilter();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor; // 다음 페이지가 없으면 null
+    private boolean hasNext;
+    private Long totalCount; // 요청한 경우에만 채움
+
+    public static <T> CursorPageDto<T> of(List<T> content, String nextCursor, Long totalCount) {
+        return CursorPageDto.<T>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .totalCount(totalCount)
+                .build();
+    }
+}
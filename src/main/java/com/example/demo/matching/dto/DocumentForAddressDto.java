@@ -12,4 +12,5 @@ import lombok.*;
 public class DocumentForAddressDto {
     private String x; // 경도
     private String y; // 위도
+    private RegionForAddressDto address; // 지번 주소 정보
 }
\ No newline at end of file
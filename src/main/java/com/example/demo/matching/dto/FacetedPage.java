@@ -0,0 +1,18 @@
+package com.example.demo.matching.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// 기존 페이지 응답에 필터 항목별 개수(facets)만 추가
+@Getter
+public class FacetedPage<T> extends PageImpl<T> {
+    private final MatchingFacetsDto facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, MatchingFacetsDto facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+}
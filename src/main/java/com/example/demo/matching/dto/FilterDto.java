@@ -19,6 +19,16 @@ public class FilterDto {    private String date;
     private List<AgeGroup> ageGroups;
     private List<Ntrp> ntrps;
 
+    public static FilterDto empty() {
+        return FilterDto.builder()
+                .date("")
+                .regions(List.of())
+                .matchingTypes(List.of())
+                .ageGroups(List.of())
+                .ntrps(List.of())
+                .build();
+    }
+
     public static boolean isFilterDtoEmpty(FilterDto filterDto) {
         return filterDto.getDate().isBlank()
                 && filterDto.getRegions().isEmpty()
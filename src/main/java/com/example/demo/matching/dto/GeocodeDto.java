@@ -0,0 +1,14 @@
+package com.example.demo.matching.dto;
+
+import com.example.demo.matching.filter.Region;
+import lombok.*;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeocodeDto {
+    private Double lat;
+    private Double lon;
+    private Region region; // 서비스 지역이 아니면 null
+}
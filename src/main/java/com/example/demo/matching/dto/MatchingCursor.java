@@ -0,0 +1,74 @@
+package com.example.demo.matching.dto;
+
+import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.filter.CursorSortKey;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static com.example.demo.exception.type.ErrorCode.INVALID_CURSOR;
+
+// 마지막으로 내려준 행의 (정렬 키 값, id)를 담는 커서
+@Getter
+@AllArgsConstructor
+public class MatchingCursor {
+    private static final String DELIMITER = "|";
+
+    private CursorSortKey sortKey;
+    private String value;
+    private Long id;
+
+    public static MatchingCursor of(MatchingPreviewDto matchingPreviewDto, CursorSortKey sortKey) {
+        String value = CursorSortKey.RECRUIT_DUE_DATE_TIME.equals(sortKey)
+                ? matchingPreviewDto.getRecruitDueDateTime()
+                : matchingPreviewDto.getCreateTime().toString();
+        return new MatchingCursor(sortKey, value, matchingPreviewDto.getId());
+    }
+
+    public static MatchingCursor ofDistance(double distance, Long id) {
+        return new MatchingCursor(CursorSortKey.DISTANCE, String.valueOf(distance), id);
+    }
+
+    // 첫 페이지 요청이면 null
+    public static MatchingCursor decode(String cursor, CursorSortKey sortKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + DELIMITER);
+            MatchingCursor matchingCursor
+                    = new MatchingCursor(CursorSortKey.valueOf(parts[0]), parts[1], Long.parseLong(parts[2]));
+            if (!sortKey.equals(matchingCursor.getSortKey())) {
+                throw new RacketPuncherException(INVALID_CURSOR);
+            }
+            return matchingCursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RacketPuncherException(INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + DELIMITER + value + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getDateTimeValue() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new RacketPuncherException(INVALID_CURSOR);
+        }
+    }
+
+    public double getDistanceValue() {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new RacketPuncherException(INVALID_CURSOR);
+        }
+    }
+}
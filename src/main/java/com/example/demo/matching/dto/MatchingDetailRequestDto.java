@@ -1,10 +1,12 @@
 package com.example.demo.matching.dto;
 
 import com.example.demo.entity.Matching;
+import com.example.demo.matching.filter.Region;
 import com.example.demo.type.AgeGroup;
 import com.example.demo.type.MatchingType;
 import com.example.demo.type.Ntrp;
 import com.example.demo.type.RecruitStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -34,4 +36,6 @@ public class MatchingDetailRequestDto {
     private Ntrp ntrp;
     private AgeGroup ageGroup;
     private MatchingType matchingType;
+    @JsonIgnore
+    private Region region; // 위경도 조회 시 함께 결정
 }
\ No newline at end of file
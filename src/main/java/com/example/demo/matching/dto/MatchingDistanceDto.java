@@ -0,0 +1,11 @@
+package com.example.demo.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MatchingDistanceDto {
+    private MatchingPreviewDto matchingPreview;
+    private Double distance; // km
+}
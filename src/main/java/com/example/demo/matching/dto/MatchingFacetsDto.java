@@ -0,0 +1,21 @@
+package com.example.demo.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 필터 항목 값별 매칭 개수 (ex. matchingTypes -> {"DOUBLES": 34})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchingFacetsDto {
+    private Map<String, Integer> dates;
+    private Map<String, Integer> regions;
+    private Map<String, Integer> matchingTypes;
+    private Map<String, Integer> ageGroups;
+    private Map<String, Integer> ntrps;
+}
@@ -3,11 +3,16 @@ package com.example.demo.matching.dto;
 import com.example.demo.entity.Matching;
 import com.example.demo.type.MatchingType;
 import com.example.demo.type.Ntrp;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +28,25 @@ public class MatchingPreviewDto {
     private String matchingStartDateTime;
     private Double lat;
     private Double lon;
+    @JsonIgnore
+    private LocalDateTime createTime; // 커서 생성용
+
+    // QueryDSL 생성자 프로젝션용 - 엔티티를 거치지 않고 컬럼 값으로 바로 생성
+    public MatchingPreviewDto(Long id, String locationImg, Boolean isReserved, MatchingType matchingType, Ntrp ntrp,
+                              String title, LocalDateTime recruitDueDateTime, LocalDate date, LocalTime startTime,
+                              Double lat, Double lon, LocalDateTime createTime) {
+        this.id = id;
+        this.locationImg = locationImg;
+        this.isReserved = Boolean.TRUE.equals(isReserved);
+        this.matchingType = matchingType;
+        this.ntrp = ntrp;
+        this.title = title;
+        this.recruitDueDateTime = recruitDueDateTime.toString();
+        this.matchingStartDateTime = date.toString() + "T" + startTime.toString();
+        this.lat = lat;
+        this.lon = lon;
+        this.createTime = createTime;
+    }
 
     public static MatchingPreviewDto fromEntity(Matching matching){
         return MatchingPreviewDto.builder()
@@ -37,6 +61,7 @@ public class MatchingPreviewDto {
                         + "T"+ matching.getStartTime().toString())
                 .lat(matching.getLat())
                 .lon(matching.getLon())
+                .createTime(matching.getCreateTime())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.demo.matching.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MatchingSearchRequestDto {
+    @JsonProperty("filters")
+    private FilterDto filter; // 없으면 필터 조건 없음
+    private LocationDto location; // 있으면 거리 조건 추가, 가까운 순 정렬
+}
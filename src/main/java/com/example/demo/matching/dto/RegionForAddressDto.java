@@ -0,0 +1,19 @@
+package com.example.demo.matching.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RegionForAddressDto {
+    @JsonProperty("region_1depth_name")
+    private String region1DepthName; // 시/도
+
+    @JsonProperty("region_2depth_name")
+    private String region2DepthName; // 시/군/구
+}
@@ -0,0 +1,20 @@
+package com.example.demo.matching.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MatchingChangedEvent {
+    private final Long matchingId;
+    private final boolean deleted;
+
+    public static MatchingChangedEvent saved(Long matchingId) {
+        return new MatchingChangedEvent(matchingId, false);
+    }
+
+    public static MatchingChangedEvent deleted(Long matchingId) {
+        return new MatchingChangedEvent(matchingId, true);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.matching.event;
+
+import com.example.demo.entity.Matching;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// 매칭의 생성, 수정(상태 변경 포함), 삭제를 이벤트로 발행 -> 커밋 이후 인메모리 인덱스에 반영
+@Component
+@RequiredArgsConstructor
+public class MatchingEntityListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Matching matching) {
+        applicationEventPublisher.publishEvent(MatchingChangedEvent.saved(matching.getId()));
+    }
+
+    @PostRemove
+    public void onRemove(Matching matching) {
+        applicationEventPublisher.publishEvent(MatchingChangedEvent.deleted(matching.getId()));
+    }
+}
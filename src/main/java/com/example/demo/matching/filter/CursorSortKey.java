@@ -0,0 +1,7 @@
+package com.example.demo.matching.filter;
+
+public enum CursorSortKey {
+    CREATE_TIME,
+    RECRUIT_DUE_DATE_TIME,
+    DISTANCE
+}
@@ -1,72 +1,100 @@
 package com.example.demo.matching.filter;
 
+import java.util.Arrays;
+
 public enum Region {
     // 서울
-    GANGNAM("강남구"),
-    GANGDONG("강동구"),
-    GANGBUK("강북구"),
-    GANGSEO("강서구"),
-    GWANAK("관악구"),
-    GWANGJIN("광진구"),
-    GURO("구로구"),
-    GEUMCHEON("금천구"),
-    NOWON("노원구"),
-    DOBONG("도봉구"),
-    DONGDAEMUN("동대문구"),
-    DONGJAK("동작구"),
-    MAPO("마포구"),
-    SEODAEMUN("서대문구"),
-    SEOCHO("서초구"),
-    SEONGDONG("성동구"),
-    SEONGBUK("성북구"),
-    SONGPA("송파구"),
-    YANGCHEON("양천구"),
-    YEONGDEUNGPO("영등포구"),
-    YONGSAN("용산구"),
-    EUNPYEONG("은평구"),
-    JONGRO("종로구"),
-    JUNG("중구"),
-    JUNGNANG("중랑구"),
+    GANGNAM("서울", "강남구"),
+    GANGDONG("서울", "강동구"),
+    GANGBUK("서울", "강북구"),
+    GANGSEO("서울", "강서구"),
+    GWANAK("서울", "관악구"),
+    GWANGJIN("서울", "광진구"),
+    GURO("서울", "구로구"),
+    GEUMCHEON("서울", "금천구"),
+    NOWON("서울", "노원구"),
+    DOBONG("서울", "도봉구"),
+    DONGDAEMUN("서울", "동대문구"),
+    DONGJAK("서울", "동작구"),
+    MAPO("서울", "마포구"),
+    SEODAEMUN("서울", "서대문구"),
+    SEOCHO("서울", "서초구"),
+    SEONGDONG("서울", "성동구"),
+    SEONGBUK("서울", "성북구"),
+    SONGPA("서울", "송파구"),
+    YANGCHEON("서울", "양천구"),
+    YEONGDEUNGPO("서울", "영등포구"),
+    YONGSAN("서울", "용산구"),
+    EUNPYEONG("서울", "은평구"),
+    JONGRO("서울", "종로구"),
+    JUNG("서울", "중구"),
+    JUNGNANG("서울", "중랑구"),
     // 경기도
-    SUWON("수원시"),
-    YONGIN("용인시"),
-    SEONGNAM("성남시"),
-    BUCHEON("부천시"),
-    HWASEONG("화성시"),
-    ANSAN("안산시"),
-    ANYANG("안양시"),
-    PYEONGTAEK("평택시"),
-    SIHEUNG("시흥시"),
-    GIMPO("김포시"),
-    GWANGJU("광주시"),
-    GWANGMYEONG("광명시"),
-    GUNPO("군포시"),
-    HANAM("하남시"),
-    OSAN("오산시"),
-    ICHEON("이천시"),
-    ANSEONG("안성시"),
-    UIWANG("의왕시"),
-    YANGPYEONG("양평군"),
-    YEOJU("여주시"),
-    GWACHEON("과천시"),
-    GOYANG("고양시"),
-    NAMYANGJU("남양주시"),
-    PAJU("파주시"),
-    UIJEONGBU("의정부시"),
-    YANGJU("양주시"),
-    GURI("구리시"),
-    POCHEON("포천시"),
-    DONGDUCHEON("동두천시"),
-    GAPYEONG("가평군"),
-    YEONCHEON("연천군");
+    SUWON("경기", "수원시"),
+    YONGIN("경기", "용인시"),
+    SEONGNAM("경기", "성남시"),
+    BUCHEON("경기", "부천시"),
+    HWASEONG("경기", "화성시"),
+    ANSAN("경기", "안산시"),
+    ANYANG("경기", "안양시"),
+    PYEONGTAEK("경기", "평택시"),
+    SIHEUNG("경기", "시흥시"),
+    GIMPO("경기", "김포시"),
+    GWANGJU("경기", "광주시"),
+    GWANGMYEONG("경기", "광명시"),
+    GUNPO("경기", "군포시"),
+    HANAM("경기", "하남시"),
+    OSAN("경기", "오산시"),
+    ICHEON("경기", "이천시"),
+    ANSEONG("경기", "안성시"),
+    UIWANG("경기", "의왕시"),
+    YANGPYEONG("경기", "양평군"),
+    YEOJU("경기", "여주시"),
+    GWACHEON("경기", "과천시"),
+    GOYANG("경기", "고양시"),
+    NAMYANGJU("경기", "남양주시"),
+    PAJU("경기", "파주시"),
+    UIJEONGBU("경기", "의정부시"),
+    YANGJU("경기", "양주시"),
+    GURI("경기", "구리시"),
+    POCHEON("경기", "포천시"),
+    DONGDUCHEON("경기", "동두천시"),
+    GAPYEONG("경기", "가평군"),
+    YEONCHEON("경기", "연천군");
 
+    private String province;
     private String korean;
 
-    Region(String korean){
+    Region(String province, String korean){
+        this.province = province;
         this.korean = korean;
     }
 
     public String getKorean() {
         return this.korean;
     }
+
+    // 카카오 주소 검색 결과의 region_1depth_name(시/도), region_2depth_name(시/군/구)으로 지역 결정
+    public static Region from(String province, String cityOrDistrict) {
+        if (province == null || cityOrDistrict == null) {
+            return null;
+        }
+        return Arrays.stream(values())
+                .filter(region -> province.startsWith(region.province)
+                        && cityOrDistrict.startsWith(region.korean))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // "서울특별시 강남구 ..." 형태의 주소 문자열에서 지역 결정
+    public static Region fromAddress(String address) {
+        if (address == null) {
+            return null;
+        }
+        String[] tokens = address.trim().split("\\s+");
+        if (tokens.length < 2) {
+            return null;
+        }
+        return from(tokens[0], tokens[1]);
+    }
 }
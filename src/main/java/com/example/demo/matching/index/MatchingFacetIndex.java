@@ -0,0 +1,416 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.dto.FilterDto;
+import com.example.demo.matching.dto.MatchingFacetsDto;
+import com.example.demo.matching.filter.Region;
+import com.example.demo.type.AgeGroup;
+import com.example.demo.type.MatchingType;
+import com.example.demo.type.Ntrp;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 모집 중인 매칭을 필터 항목(날짜, 지역, 매칭 종류, 연령대, NTRP) 값마다 비트셋으로 보관하는 인메모리 인덱스
+// 매칭마다 슬롯 번호를 부여하고, 삭제된 슬롯은 재사용해서 비트셋이 활성 매칭 수만큼만 커지도록 함
+// 정렬 기준(id, 등록 시각, 모집 마감 시각)마다 정렬된 목록을 변경 시점에 유지해서 조회 시에는 요청한 페이지까지만 순회
+// 조회끼리는 읽기 락으로 동시에 수행하고, 변경과 마감 매칭 정리만 쓰기 락을 잡음
+@Component
+public class MatchingFacetIndex implements MatchingIndex {
+
+    // 조건에 맞는 매칭이 이보다 적으면 정렬 목록을 순회하지 않고 모아서 정렬
+    private static final int SORT_IN_PLACE_RATIO = 8;
+
+    private static final Comparator<FacetEntry> BY_ID = Comparator.comparingLong(FacetEntry::id);
+    private static final Comparator<FacetEntry> BY_CREATE_TIME = Comparator.comparing(FacetEntry::createTime,
+            Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(BY_ID);
+    private static final Comparator<FacetEntry> BY_RECRUIT_DUE_DATE_TIME =
+            Comparator.comparing(FacetEntry::recruitDueDateTime).thenComparing(BY_ID);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<FacetEntry> entriesBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet all = new BitSet();
+
+    private final Facet<LocalDate> dates = new Facet<>(FacetEntry::date);
+    private final Facet<Region> regions = new Facet<>(FacetEntry::region);
+    private final Facet<MatchingType> matchingTypes = new Facet<>(FacetEntry::matchingType);
+    private final Facet<AgeGroup> ageGroups = new Facet<>(FacetEntry::ageGroup);
+    private final Facet<Ntrp> ntrps = new Facet<>(FacetEntry::ntrp);
+
+    private final NavigableSet<FacetEntry> entriesById = new TreeSet<>(BY_ID);
+    private final NavigableSet<FacetEntry> entriesByCreateTime = new TreeSet<>(BY_CREATE_TIME);
+    private final NavigableSet<FacetEntry> entriesByRecruitDueDateTime = new TreeSet<>(BY_RECRUIT_DUE_DATE_TIME);
+
+    // 모집 마감 시각 순으로 슬롯을 보관해서 마감이 지난 매칭을 정리
+    private final TreeMap<LocalDateTime, BitSet> slotsByRecruitDueDateTime = new TreeMap<>();
+
+    private volatile boolean ready;
+
+    @Override
+    public void upsert(Matching matching) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(matching.getId());
+            if (!MatchingIndex.isActive(matching)) {
+                return;
+            }
+
+            int slot = freeSlots.isEmpty() ? entriesBySlot.size() : freeSlots.pop();
+            FacetEntry entry = new FacetEntry(matching.getId(), slot, matching.getDate(), matching.getRegion(),
+                    matching.getMatchingType(), matching.getAge(), matching.getNtrp(),
+                    matching.getCreateTime(), matching.getRecruitDueDateTime());
+            if (slot == entriesBySlot.size()) {
+                entriesBySlot.add(entry);
+            } else {
+                entriesBySlot.set(slot, entry);
+            }
+            slotsById.put(entry.id(), slot);
+            all.set(slot);
+            forEachFacet(facet -> facet.add(entry, slot));
+            forEachOrder(entries -> entries.add(entry));
+            slotsByRecruitDueDateTime.computeIfAbsent(entry.recruitDueDateTime(), key -> new BitSet()).set(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long matchingId) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(matchingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void completeLoading() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 모집 마감이 지난 매칭을 주기적으로 정리 (정리 전까지는 조회 시 제외만 함)
+    @Scheduled(fixedDelayString = "${matching.index.evict-millis:10000}")
+    public void evictExpired() {
+        evictExpired(LocalDateTime.now());
+    }
+
+    void evictExpired(LocalDateTime now) {
+        lock.writeLock().lock();
+        try {
+            Map<LocalDateTime, BitSet> expired = slotsByRecruitDueDateTime.headMap(now, true);
+            List<Long> expiredIds = new ArrayList<>();
+            for (BitSet slots : expired.values()) {
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    expiredIds.add(entriesBySlot.get(slot).id());
+                }
+            }
+            expiredIds.forEach(this::removeSlot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 필터에 맞는 매칭 중 요청한 페이지의 id를 정렬 순서대로 반환하고, 전체 개수와 항목별 개수를 함께 계산
+    public Result search(FilterDto filterDto, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            Selection selection = select(filterDto);
+            BitSet matches = selection.matches();
+
+            // 각 항목의 개수는 자기 자신을 제외한 나머지 조건만 적용해서 계산 (같은 항목 안에서는 OR 이므로)
+            // 자기 항목에 조건이 없으면 전체 조건을 적용한 결과와 같으므로 그대로 사용
+            MatchingFacetsDto facets = MatchingFacetsDto.builder()
+                    .dates(dates.count(selection.dates() == null ? matches : selection.scopeWithout(selection.dates())))
+                    .regions(regions.count(selection.regions() == null ? matches : selection.scopeWithout(selection.regions())))
+                    .matchingTypes(matchingTypes.count(selection.matchingTypes() == null ? matches
+                            : selection.scopeWithout(selection.matchingTypes())))
+                    .ageGroups(ageGroups.count(selection.ageGroups() == null ? matches
+                            : selection.scopeWithout(selection.ageGroups())))
+                    .ntrps(ntrps.count(selection.ntrps() == null ? matches : selection.scopeWithout(selection.ntrps())))
+                    .build();
+
+            int totalCount = matches.cardinality();
+            return new Result(page(matches, totalCount, pageable), totalCount, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 후보 id(검색어 결과 등) 중 필터에 맞는 매칭만 페이지로 반환 (항목별 개수는 계산하지 않음)
+    public Result search(FilterDto filterDto, Collection<Long> candidateIds, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = new BitSet();
+            for (Long candidateId : candidateIds) {
+                Integer slot = slotsById.get(candidateId);
+                if (slot != null) {
+                    candidates.set(slot);
+                }
+            }
+            BitSet matches = select(filterDto).matches();
+            matches.and(candidates);
+
+            int totalCount = matches.cardinality();
+            return new Result(page(matches, totalCount, pageable), totalCount, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 필터에 맞는 매칭 id (순서 없음)
+    public Set<Long> findIds(FilterDto filterDto) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = select(filterDto).matches();
+            Set<Long> ids = new HashSet<>(matches.cardinality() * 2);
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                ids.add(entriesBySlot.get(slot).id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Selection select(FilterDto filterDto) {
+        BitSet dateMatches = dates.matching(toDates(filterDto.getDate()));
+        BitSet regionMatches = regions.matching(filterDto.getRegions());
+        BitSet matchingTypeMatches = matchingTypes.matching(filterDto.getMatchingTypes());
+        BitSet ageGroupMatches = ageGroups.matching(filterDto.getAgeGroups());
+        BitSet ntrpMatches = ntrps.matching(filterDto.getNtrps());
+
+        // 아직 정리되지 않은 마감 매칭은 조회 대상에서 제외
+        BitSet active = (BitSet) all.clone();
+        for (BitSet expiredSlots : slotsByRecruitDueDateTime.headMap(LocalDateTime.now(), true).values()) {
+            active.andNot(expiredSlots);
+        }
+        return new Selection(active, dateMatches, regionMatches, matchingTypeMatches, ageGroupMatches, ntrpMatches);
+    }
+
+    private List<Long> page(BitSet matches, int totalCount, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : totalCount;
+        if (offset >= totalCount || limit <= 0) {
+            return List.of();
+        }
+
+        Sort sort = pageable.getSort();
+        Sort.Order order = orderOf(sort);
+        // 조건에 맞는 매칭이 적으면 그것만 정렬하고, 많으면 정렬 목록을 페이지 끝까지만 순회
+        if ((long) totalCount * SORT_IN_PLACE_RATIO < slotsById.size()) {
+            List<FacetEntry> entries = new ArrayList<>(totalCount);
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                entries.add(entriesBySlot.get(slot));
+            }
+            entries.sort(comparator(order));
+            return entries.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(FacetEntry::id)
+                    .toList();
+        }
+
+        List<Long> ids = new ArrayList<>(limit);
+        long skipped = 0;
+        for (FacetEntry entry : orderedEntries(order)) {
+            if (!matches.get(entry.slot())) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            ids.add(entry.id());
+            if (ids.size() == limit) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private void removeSlot(Long matchingId) {
+        Integer slot = slotsById.remove(matchingId);
+        if (slot == null) {
+            return;
+        }
+
+        FacetEntry entry = entriesBySlot.get(slot);
+        all.clear(slot);
+        forEachFacet(facet -> facet.remove(entry, slot));
+        forEachOrder(entries -> entries.remove(entry));
+        BitSet dueSlots = slotsByRecruitDueDateTime.get(entry.recruitDueDateTime());
+        if (dueSlots != null) {
+            dueSlots.clear(slot);
+            if (dueSlots.isEmpty()) {
+                slotsByRecruitDueDateTime.remove(entry.recruitDueDateTime());
+            }
+        }
+        entriesBySlot.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    private void forEachFacet(Consumer<Facet<?>> action) {
+        action.accept(dates);
+        action.accept(regions);
+        action.accept(matchingTypes);
+        action.accept(ageGroups);
+        action.accept(ntrps);
+    }
+
+    private void forEachOrder(Consumer<NavigableSet<FacetEntry>> action) {
+        action.accept(entriesById);
+        action.accept(entriesByCreateTime);
+        action.accept(entriesByRecruitDueDateTime);
+    }
+
+    private static List<LocalDate> toDates(String date) {
+        if (date == null || date.isBlank()) {
+            return List.of();
+        }
+        return List.of(LocalDate.parse(date));
+    }
+
+    // 정렬 조건이 없으면 id 순 (DB 조회와 같은 순서), 정렬 방향은 요청을 따름
+    private static Sort.Order orderOf(Sort sort) {
+        Sort.Order createTimeOrder = sort.getOrderFor("createTime");
+        if (createTimeOrder != null) {
+            return createTimeOrder;
+        }
+        Sort.Order recruitDueDateTimeOrder = sort.getOrderFor("recruitDueDateTime");
+        if (recruitDueDateTimeOrder != null) {
+            return recruitDueDateTimeOrder;
+        }
+        return Sort.Order.asc("id");
+    }
+
+    private NavigableSet<FacetEntry> orderedEntries(Sort.Order order) {
+        NavigableSet<FacetEntry> entries = switch (order.getProperty()) {
+            case "createTime" -> entriesByCreateTime;
+            case "recruitDueDateTime" -> entriesByRecruitDueDateTime;
+            default -> entriesById;
+        };
+        return order.isDescending() ? entries.descendingSet() : entries;
+    }
+
+    private static Comparator<FacetEntry> comparator(Sort.Order order) {
+        Comparator<FacetEntry> comparator = switch (order.getProperty()) {
+            case "createTime" -> BY_CREATE_TIME;
+            case "recruitDueDateTime" -> BY_RECRUIT_DUE_DATE_TIME;
+            default -> BY_ID;
+        };
+        return order.isDescending() ? comparator.reversed() : comparator;
+    }
+
+    // 항목별 조건(null 이면 조건 없음)과 마감 전 매칭을 묶어서 조회 한 번 동안 재사용
+    private record Selection(BitSet active, BitSet dates, BitSet regions, BitSet matchingTypes,
+                             BitSet ageGroups, BitSet ntrps) {
+
+        private BitSet matches() {
+            return scopeWithout(null);
+        }
+
+        private BitSet scopeWithout(BitSet excluded) {
+            BitSet result = (BitSet) active.clone();
+            for (BitSet bitSet : new BitSet[]{dates, regions, matchingTypes, ageGroups, ntrps}) {
+                if (bitSet != null && bitSet != excluded) {
+                    result.and(bitSet);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class Facet<V> {
+        private final Function<FacetEntry, V> valueOf;
+        private final Map<V, BitSet> slotsByValue = new LinkedHashMap<>();
+
+        private Facet(Function<FacetEntry, V> valueOf) {
+            this.valueOf = valueOf;
+        }
+
+        private void add(FacetEntry entry, int slot) {
+            V value = valueOf.apply(entry);
+            if (value != null) {
+                slotsByValue.computeIfAbsent(value, key -> new BitSet()).set(slot);
+            }
+        }
+
+        private void remove(FacetEntry entry, int slot) {
+            V value = valueOf.apply(entry);
+            BitSet slots = value == null ? null : slotsByValue.get(value);
+            if (slots == null) {
+                return;
+            }
+            slots.clear(slot);
+            if (slots.isEmpty()) {
+                slotsByValue.remove(value);
+            }
+        }
+
+        // 선택한 값들의 비트셋 OR, 선택한 값이 없으면 조건 없음(null)
+        private BitSet matching(Collection<V> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet result = new BitSet();
+            for (V value : values) {
+                BitSet slots = slotsByValue.get(value);
+                if (slots != null) {
+                    result.or(slots);
+                }
+            }
+            return result;
+        }
+
+        private Map<String, Integer> count(BitSet scope) {
+            Map<String, Integer> counts = new TreeMap<>();
+            slotsByValue.forEach((value, slots) -> {
+                BitSet intersection = (BitSet) slots.clone();
+                intersection.and(scope);
+                int count = intersection.cardinality();
+                if (count > 0) {
+                    counts.put(value.toString(), count);
+                }
+            });
+            return counts;
+        }
+    }
+
+    private record FacetEntry(long id, int slot, LocalDate date, Region region, MatchingType matchingType,
+                              AgeGroup ageGroup, Ntrp ntrp, LocalDateTime createTime, LocalDateTime recruitDueDateTime) {
+    }
+
+    // matchingIds 는 요청한 페이지의 id, totalCount 는 조건에 맞는 전체 개수
+    public record Result(List<Long> matchingIds, long totalCount, MatchingFacetsDto facets) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.dto.LocationDto;
+import com.example.demo.util.geometry.GeometryUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 모집 중인 매칭의 위경도를 격자(grid) 단위로 보관하는 인메모리 공간 인덱스
+@Component
+public class MatchingGeoIndex implements MatchingIndex {
+
+    private static final double CELL_SIZE = 0.01; // 위도 0.01도 ≒ 1.1km
+
+    private final Map<Long, GeoEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public synchronized void upsert(Matching matching) {
+        if (!MatchingIndex.isActive(matching)) {
+            remove(matching.getId());
+            return;
+        }
+
+        GeoEntry entry = new GeoEntry(matching.getId(), matching.getLat(), matching.getLon(),
+                matching.getRecruitDueDateTime());
+        GeoEntry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(cellKey(entry.lat(), entry.lon()), key -> ConcurrentHashMap.newKeySet())
+                .add(entry.id());
+    }
+
+    @Override
+    public synchronized void remove(Long matchingId) {
+        GeoEntry previous = entries.remove(matchingId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    @Override
+    public void completeLoading() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 영역 안의 매칭 id를 중심점에서 가까운 순으로 페이지 단위 반환
+    public Page<Long> findIdsWithinBoundary(LocationDto center, LocationDto northEastBound,
+                                           LocationDto southWestBound, Pageable pageable) {
+        List<Nearby> nearby = findWithinBoundary(center, northEastBound, southWestBound);
+
+        int fromIndex = (int) Math.min(pageable.getOffset(), nearby.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), nearby.size());
+        List<Long> ids = nearby.subList(fromIndex, toIndex).stream()
+                .map(Nearby::id)
+                .toList();
+
+        return new PageImpl<>(ids, pageable, nearby.size());
+    }
+
+    // 영역 안의 매칭을 (거리, id) 오름차순으로 반환
+    public List<Nearby> findWithinBoundary(LocationDto center, LocationDto northEastBound, LocationDto southWestBound) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Nearby> nearby = new ArrayList<>();
+
+        for (GeoEntry entry : entriesWithinCells(northEastBound, southWestBound)) {
+            if (entry.isWithin(northEastBound, southWestBound) && entry.recruitDueDateTime().isAfter(now)) {
+                nearby.add(new Nearby(entry.id(),
+                        GeometryUtil.distance(center.getLat(), center.getLon(), entry.lat(), entry.lon())));
+            }
+        }
+        nearby.sort(Comparator.comparingDouble(Nearby::distance).thenComparingLong(Nearby::id));
+        return nearby;
+    }
+
+    private Collection<GeoEntry> entriesWithinCells(LocationDto northEastBound, LocationDto southWestBound) {
+        long minLatIndex = cellIndex(southWestBound.getLat());
+        long maxLatIndex = cellIndex(northEastBound.getLat());
+        long minLonIndex = cellIndex(southWestBound.getLon());
+        long maxLonIndex = cellIndex(northEastBound.getLon());
+
+        // 영역이 너무 넓으면 격자를 도는 것보다 전체를 훑는 편이 빠름
+        if ((maxLatIndex - minLatIndex + 1) * (maxLonIndex - minLonIndex + 1) > entries.size()) {
+            return entries.values();
+        }
+
+        List<GeoEntry> result = new ArrayList<>();
+        for (long latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+            for (long lonIndex = minLonIndex; lonIndex <= maxLonIndex; lonIndex++) {
+                Set<Long> ids = cells.get(cellKey(latIndex, lonIndex));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    GeoEntry entry = entries.get(id);
+                    if (entry != null) {
+                        result.add(entry);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void removeFromCell(GeoEntry entry) {
+        cells.computeIfPresent(cellKey(entry.lat(), entry.lon()), (key, ids) -> {
+            ids.remove(entry.id());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static long cellIndex(double coordinate) {
+        return (long) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private static long cellKey(double lat, double lon) {
+        return cellKey(cellIndex(lat), cellIndex(lon));
+    }
+
+    private static long cellKey(long latIndex, long lonIndex) {
+        return (latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private record GeoEntry(long id, double lat, double lon, LocalDateTime recruitDueDateTime) {
+        boolean isWithin(LocationDto northEastBound, LocationDto southWestBound) {
+            return lat >= southWestBound.getLat() && lat <= northEastBound.getLat()
+                    && lon >= southWestBound.getLon() && lon <= northEastBound.getLon();
+        }
+    }
+
+    public record Nearby(long id, double distance) {
+        public boolean isAfter(double lastDistance, long lastId) {
+            return distance > lastDistance || (distance == lastDistance && id > lastId);
+        }
+    }
+}
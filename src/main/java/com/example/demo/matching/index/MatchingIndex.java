@@ -0,0 +1,22 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.type.RecruitStatus;
+
+import java.time.LocalDateTime;
+
+public interface MatchingIndex {
+
+    void upsert(Matching matching);
+
+    void remove(Long matchingId);
+
+    // 기동 시 전체 적재가 끝나면 호출
+    void completeLoading();
+
+    // 모집 중이고 모집 마감 전인 매칭만 인덱스 대상
+    static boolean isActive(Matching matching) {
+        return RecruitStatus.OPEN.equals(matching.getRecruitStatus())
+                && matching.getRecruitDueDateTime().isAfter(LocalDateTime.now());
+    }
+}
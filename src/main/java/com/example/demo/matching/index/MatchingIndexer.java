@@ -0,0 +1,132 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.event.MatchingChangedEvent;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.type.RecruitStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// 인메모리 인덱스(위치, 필터, 검색어)를 DB 와 맞춤
+// 서버마다 인덱스를 따로 가지므로 변경된 매칭 id 를 Redis 채널로 다른 서버에도 알리고, 받은 서버는 DB 에서 다시 읽어서 반영
+@Slf4j
+@Component
+public class MatchingIndexer implements MessageListener {
+
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final String CHANNEL = "matching:index:changed";
+    private static final String SEPARATOR = "|";
+
+    private final MatchingRepository matchingRepository;
+    private final List<MatchingIndex> matchingIndexes;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final boolean syncEnabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public MatchingIndexer(MatchingRepository matchingRepository,
+                           List<MatchingIndex> matchingIndexes,
+                           RedisTemplate<String, String> redisTemplate,
+                           RedisMessageListenerContainer redisMessageListenerContainer,
+                           @Value("${matching.index.sync-enabled:true}") boolean syncEnabled) {
+        this.matchingRepository = matchingRepository;
+        this.matchingIndexes = matchingIndexes;
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.syncEnabled = syncEnabled;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (syncEnabled) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest pageRequest = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+        int loaded = 0;
+
+        Slice<Matching> slice;
+        do {
+            slice = matchingRepository.findAllByRecruitStatusAndRecruitDueDateTimeAfter(
+                    RecruitStatus.OPEN, now, pageRequest);
+            slice.forEach(matching -> matchingIndexes.forEach(index -> index.upsert(matching)));
+            loaded += slice.getNumberOfElements();
+            pageRequest = pageRequest.next();
+        } while (slice.hasNext());
+
+        matchingIndexes.forEach(MatchingIndex::completeLoading);
+        log.info("matching indexes loaded -> " + loaded);
+    }
+
+    // 트랜잭션이 커밋된 후에만 반영 (롤백된 변경은 인덱스에 남기지 않음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchingChanged(MatchingChangedEvent event) {
+        refresh(event.getMatchingId(), event.isDeleted());
+        publish(event);
+    }
+
+    // 다른 서버에서 변경된 매칭 (자기가 보낸 메시지는 이미 반영했으므로 무시)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String[] tokens = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (nodeId.equals(tokens[0])) {
+                return;
+            }
+            refresh(Long.parseLong(tokens[1]), Boolean.parseBoolean(tokens[2]));
+        } catch (RuntimeException e) {
+            log.warn("failed to apply matching change from other node", e);
+        }
+    }
+
+    // 인덱스에 있지만 조회해 보니 모집 중이 아닌 매칭 등, DB 를 다시 읽어서 이 서버의 인덱스만 맞춤
+    public void refresh(Long matchingId) {
+        refresh(matchingId, false);
+    }
+
+    private void refresh(Long matchingId, boolean deleted) {
+        if (deleted) {
+            matchingIndexes.forEach(index -> index.remove(matchingId));
+            return;
+        }
+
+        matchingRepository.findById(matchingId).ifPresentOrElse(
+                matching -> matchingIndexes.forEach(index -> index.upsert(matching)),
+                () -> matchingIndexes.forEach(index -> index.remove(matchingId)));
+    }
+
+    // 전달되지 않으면 다른 서버의 인덱스는 조회 시 상태 확인으로 걸러짐
+    private void publish(MatchingChangedEvent event) {
+        if (!syncEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    String.join(SEPARATOR, nodeId, String.valueOf(event.getMatchingId()), String.valueOf(event.isDeleted())));
+        } catch (RuntimeException e) {
+            log.warn("failed to publish matching change -> " + event.getMatchingId(), e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 모집 중인 매칭의 제목, 내용에 대한 인메모리 역색인
+// 한글은 형태소 분석 없이도 부분 일치가 되도록 단어를 2글자 단위(bigram)로 잘라서 색인
+@Component
+public class MatchingTextIndex implements MatchingIndex {
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, TextEntry> entries = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public synchronized void upsert(Matching matching) {
+        remove(matching.getId());
+        if (!MatchingIndex.isActive(matching)) {
+            return;
+        }
+
+        String text = normalize(matching.getTitle()) + " " + normalize(matching.getContent());
+        TextEntry entry = new TextEntry(text, indexGrams(text));
+        entries.put(matching.getId(), entry);
+        entry.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet())
+                .add(matching.getId()));
+    }
+
+    @Override
+    public synchronized void remove(Long matchingId) {
+        TextEntry previous = entries.remove(matchingId);
+        if (previous == null) {
+            return;
+        }
+        previous.grams().forEach(gram -> postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(matchingId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    @Override
+    public void completeLoading() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 정규화 후 남는 글자가 없는 검색어(공백, 특수문자만 입력)는 검색할 수 없음
+    public static boolean isSearchable(String keyword) {
+        return !queryGrams(normalize(keyword)).isEmpty();
+    }
+
+    // 검색어의 모든 단어를 포함하는 매칭 id
+    public Set<Long> search(String keyword) {
+        String query = normalize(keyword);
+        Set<String> queryGrams = queryGrams(query);
+        if (queryGrams.isEmpty()) {
+            return Set.of();
+        }
+
+        // 가장 짧은 역색인 목록부터 교집합
+        List<Set<Long>> candidates = new ArrayList<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            candidates.add(ids);
+        }
+        candidates.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(candidates.get(0));
+        for (int i = 1; i < candidates.size() && !result.isEmpty(); i++) {
+            result.retainAll(candidates.get(i));
+        }
+
+        // bigram 이 모두 있어도 순서가 다를 수 있으므로 원문에 단어가 실제로 있는지 확인
+        String[] words = query.split(" ");
+        result.removeIf(id -> {
+            TextEntry entry = entries.get(id);
+            if (entry == null) {
+                return true;
+            }
+            for (String word : words) {
+                if (!entry.text().contains(word)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        return result;
+    }
+
+    // 한 글자 검색도 되도록 색인할 때는 1글자, 2글자 단위를 모두 넣음
+    private static Set<String> indexGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String word : text.split(" ")) {
+            for (int i = 0; i < word.length(); i++) {
+                grams.add(word.substring(i, i + 1));
+                if (i + 1 < word.length()) {
+                    grams.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> queryGrams(String query) {
+        Set<String> grams = new HashSet<>();
+        for (String word : query.split(" ")) {
+            if (word.length() == 1) {
+                grams.add(word);
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                grams.add(word.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 글자와 숫자만 남기고 소문자로 통일
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase()
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    private record TextEntry(String text, Set<String> grams) {
+    }
+}
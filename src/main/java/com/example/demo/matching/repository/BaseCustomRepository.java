@@ -1,5 +1,8 @@
 package com.example.demo.matching.repository;
 
+import com.example.demo.matching.dto.MatchingPreviewDto;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.core.types.dsl.PathBuilderFactory;
 import com.querydsl.jpa.JPQLQuery;
@@ -13,6 +16,8 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
+import static com.example.demo.entity.QMatching.matching;
+
 @Repository
 @RequiredArgsConstructor
 public abstract class BaseCustomRepository {
@@ -20,14 +25,22 @@ public abstract class BaseCustomRepository {
     protected final EntityManager entityManager;
     protected static final String HAVERSINE_FORMULA = "ST_Distance_Sphere(point({0}, {1}), point({2}, {3}))"; // 두 위경도 좌표 사이의 거리 구하는 공식
 
+    // 목록 조회는 엔티티(+ SiteUser 조인) 대신 미리보기에 필요한 컬럼만 조회
+    protected static final ConstructorExpression<MatchingPreviewDto> MATCHING_PREVIEW = Projections.constructor(
+            MatchingPreviewDto.class,
+            matching.id, matching.locationImg, matching.isReserved, matching.matchingType, matching.ntrp,
+            matching.title, matching.recruitDueDateTime, matching.date, matching.startTime,
+            matching.lat, matching.lon, matching.createTime);
+
     protected <T> Querydsl getQuerydsl(Class<T> clazz) {
         PathBuilder<T> builder = new PathBuilderFactory().create(clazz);
         return new Querydsl(entityManager, builder);
     }
 
-    protected <T> PageImpl<T> getPageImpl(Pageable pageable, JPQLQuery<T> query, Class<T> clazz) {
+    // 정렬 경로는 엔티티 기준으로 만들어야 하므로 조회 타입과 별도로 엔티티 클래스를 받음
+    protected <T> PageImpl<T> getPageImpl(Pageable pageable, JPQLQuery<T> query, Class<?> entityClass) {
         long totalCount = query.fetchCount();
-        List<T> results = getQuerydsl(clazz).applyPagination(pageable, query).fetch();
+        List<T> results = getQuerydsl(entityClass).applyPagination(pageable, query).fetch();
         return new PageImpl<>(results, pageable, totalCount);
     }
 }
@@ -4,10 +4,14 @@ import com.example.demo.entity.Matching;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.matching.repository.boundary.CustomRepositoryForBoundary;
 import com.example.demo.matching.repository.filtering.CustomRepositoryForFiltering;
+import com.example.demo.scheduler.dto.MatchingDeadline;
 import com.example.demo.type.RecruitStatus;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +19,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,20 +28,91 @@ public interface MatchingRepository extends JpaRepository<Matching, Long>, Custo
 
     boolean existsByIdAndSiteUser(Long id, SiteUser siteUser);
 
-    List<Matching> findAllByRecruitDueDateTime(LocalDateTime now);
+    List<Matching> findAllByDate(LocalDate today);
 
-    @Query("SELECT m FROM Matching m WHERE m.recruitStatus = :recruitStatus AND m.date = :date "
-            + "AND (m.endTime < :endTime OR m.endTime = :endTime)")
-    List<Matching> findAllByRecruitStatusFinished(
-            @Param("recruitStatus") RecruitStatus recruitStatus,
-            @Param("date") LocalDate today,
-            @Param("endTime") LocalTime currentTime);
+    // 스케줄러가 대상 매칭을 id 순서로 나눠서 처리 (이전 페이지의 마지막 id 이후부터 조회)
+    // 모집 마감 시각이 (from, to] 인 매칭 (RECRUIT_DUE_DATE_TIME 인덱스로 범위 조회)
+    @Query("SELECT m.id FROM Matching m WHERE m.recruitDueDateTime > :from AND m.recruitDueDateTime <= :to "
+            + "AND m.id > :afterId ORDER BY m.id")
+    List<Long> findIdsByRecruitDueDateTimeBetween(@Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  @Param("afterId") long afterId,
+                                                  Pageable pageable);
 
-    List<Matching> findAllByDate(LocalDate today);
+    @Query("SELECT m.id FROM Matching m WHERE m.recruitStatus = :recruitStatus AND m.date = :date "
+            + "AND m.endTime <= :endTime AND m.id > :afterId ORDER BY m.id")
+    List<Long> findIdsByRecruitStatusFinished(@Param("recruitStatus") RecruitStatus recruitStatus,
+                                              @Param("date") LocalDate today,
+                                              @Param("endTime") LocalTime currentTime,
+                                              @Param("afterId") long afterId,
+                                              Pageable pageable);
+
+    @Query("SELECT m.id FROM Matching m WHERE m.date = CURRENT_DATE "
+            + "AND (m.endTime <= CURRENT_TIME AND m.endTime > CURRENT_TIME - 1) AND m.id > :afterId ORDER BY m.id")
+    List<Long> findIdsWithEndTimeWithinLastHour(@Param("afterId") long afterId, Pageable pageable);
+
+    // 스케줄러와 타이머가 같은 매칭을 동시에 처리해도 한 쪽만 상태를 바꾸도록 행을 잠그고 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Matching m JOIN FETCH m.siteUser WHERE m.id IN :ids")
+    List<Matching> findAllWithSiteUserByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 타이머에 등록할 상태 변경 시각 (다가오는 구간만 id 순서로 나눠서 조회)
+    @Query("SELECT new com.example.demo.scheduler.dto.MatchingDeadline("
+            + "m.id, m.recruitStatus, m.recruitDueDateTime, m.date, m.endTime) FROM Matching m "
+            + "WHERE m.recruitStatus IN :recruitStatuses AND m.recruitDueDateTime > :from "
+            + "AND m.recruitDueDateTime <= :to AND m.id > :afterId ORDER BY m.id")
+    List<MatchingDeadline> findDeadlinesByRecruitDueDateTimeBetween(
+            @Param("recruitStatuses") Collection<RecruitStatus> recruitStatuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT new com.example.demo.scheduler.dto.MatchingDeadline("
+            + "m.id, m.recruitStatus, m.recruitDueDateTime, m.date, m.endTime) FROM Matching m "
+            + "WHERE m.recruitStatus IN :recruitStatuses AND m.date >= :from AND m.date <= :to "
+            + "AND m.id > :afterId ORDER BY m.id")
+    List<MatchingDeadline> findDeadlinesByDateBetween(
+            @Param("recruitStatuses") Collection<RecruitStatus> recruitStatuses,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterId") long afterId,
+            Pageable pageable);
+
+    Slice<Matching> findAllByRecruitStatusAndRecruitDueDateTimeAfter(
+            RecruitStatus recruitStatus, LocalDateTime now, Pageable pageable);
+
+    List<Matching> findTop500ByRegionIsNullAndIdGreaterThanOrderByIdAsc(Long id);
+
+    @Query("SELECT DISTINCT m.location FROM Matching m")
+    List<String> findDistinctLocations();
+
+    @Query("SELECT m.id FROM Matching m WHERE m.siteUser.id = :siteUserId")
+    List<Long> findIdsBySiteUserId(@Param("siteUserId") Long siteUserId);
+
+    // 확정 인원 변경은 조건부 UPDATE 한 번으로 처리해서 동시에 수락/취소해도 정원을 넘지 않도록 함
+    // MySQL 은 SET 절을 왼쪽부터 적용하므로 모집 상태를 먼저 계산해야 변경 전 인원으로 비교됨
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Matching m SET m.recruitStatus = CASE "
+            + "WHEN m.recruitStatus = com.example.demo.type.RecruitStatus.OPEN "
+            + "AND m.acceptedNum + :delta = m.recruitNum THEN com.example.demo.type.RecruitStatus.FULL "
+            + "WHEN m.recruitStatus = com.example.demo.type.RecruitStatus.FULL "
+            + "AND m.acceptedNum + :delta < m.recruitNum THEN com.example.demo.type.RecruitStatus.OPEN "
+            + "ELSE m.recruitStatus END, "
+            + "m.acceptedNum = m.acceptedNum + :delta "
+            + "WHERE m.id = :matchingId AND m.acceptedNum + :delta BETWEEN 0 AND m.recruitNum")
+    int addAcceptedNum(@Param("matchingId") long matchingId, @Param("delta") int delta);
 
-    Page<Matching> findByRecruitStatusAndRecruitDueDateTimeAfter(
-            RecruitStatus OPEN, LocalDateTime LocalDateTime, Pageable pageable);
+    // 정원이 찬 매칭에서 확정 인원이 빠지면 다시 모집 중으로 변경
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Matching m SET m.recruitStatus = com.example.demo.type.RecruitStatus.OPEN, "
+            + "m.acceptedNum = m.acceptedNum - 1 "
+            + "WHERE m.id = :matchingId AND m.recruitStatus = com.example.demo.type.RecruitStatus.FULL")
+    int decreaseAcceptedNumOfFullMatching(@Param("matchingId") long matchingId);
 
-    @Query("SELECT m FROM Matching m WHERE m.date = CURRENT_DATE AND (m.endTime <= CURRENT_TIME AND m.endTime > CURRENT_TIME - 1)")
-    List<Matching> findAllWithEndTimeWithinLastHour();
-}
\ No newline at end of file
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Matching m SET m.acceptedNum = m.acceptedNum - 1 "
+            + "WHERE m.id = :matchingId AND m.recruitStatus NOT IN "
+            + "(com.example.demo.type.RecruitStatus.CONFIRMED, com.example.demo.type.RecruitStatus.FINISHED)")
+    int decreaseAcceptedNum(@Param("matchingId") long matchingId);
+}
@@ -1,10 +1,19 @@
 package com.example.demo.matching.repository.boundary;
 
-import com.example.demo.entity.Matching;
 import com.example.demo.matching.dto.LocationDto;
+import com.example.demo.matching.dto.MatchingCursor;
+import com.example.demo.matching.dto.MatchingDistanceDto;
+import com.example.demo.matching.dto.MatchingPreviewDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface CustomRepositoryForBoundary {
-    Page<Matching> findAllWithinBoundary(LocationDto center, LocationDto northEastBound, LocationDto southWestBound, Pageable pageable);
+    Page<MatchingPreviewDto> findAllWithinBoundary(LocationDto center, LocationDto northEastBound, LocationDto southWestBound, Pageable pageable);
+
+    List<MatchingDistanceDto> findAllWithinBoundaryAfter(LocationDto center, LocationDto northEastBound, LocationDto southWestBound,
+                                                         MatchingCursor cursor, int limit);
+
+    long countWithinBoundary(LocationDto northEastBound, LocationDto southWestBound);
 }
@@ -2,45 +2,189 @@ package com.example.demo.matching.repository.boundary;
 
 import com.example.demo.entity.Matching;
 import com.example.demo.matching.dto.LocationDto;
+import com.example.demo.matching.dto.MatchingCursor;
+import com.example.demo.matching.dto.MatchingDistanceDto;
+import com.example.demo.matching.dto.MatchingPreviewDto;
 import com.example.demo.matching.repository.BaseCustomRepository;
 import com.example.demo.type.RecruitStatus;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberTemplate;
 import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.example.demo.entity.QMatching.matching;
 
 @Repository
 public class CustomRepositoryForBoundaryImpl extends BaseCustomRepository implements CustomRepositoryForBoundary {
-    public CustomRepositoryForBoundaryImpl(JPAQueryFactory queryFactory, EntityManager entityManager) {
+
+    // LOCATION_POINT 는 POINT(LON, LAT) SRID 4326 생성 컬럼 (SPATIAL INDEX), 위경도 BETWEEN 쿼리의 point(lon, lat) 와 같은 순서
+    // SRID 4326 WKT 의 기본 축 순서는 (위도 경도) 이므로 경도를 먼저 쓰도록 axis-order 를 명시
+    private static final String WKT_OPTIONS = "'axis-order=long-lat'";
+    private static final String SPATIAL_WITHIN = "MBRContains(ST_GeomFromText(:boundary, 4326, " + WKT_OPTIONS + "), m.LOCATION_POINT) "
+            + "AND m.RECRUIT_STATUS = 'OPEN' AND m.RECRUIT_DUE_DATE_TIME > :now";
+    private static final String SPATIAL_DISTANCE = "ST_Distance_Sphere(m.LOCATION_POINT, ST_GeomFromText(:center, 4326, " + WKT_OPTIONS + ")) / 1000"; // km
+
+    private final boolean useSpatialIndex;
+
+    // matching.boundary.query=spatial 이면 공간 인덱스 쿼리, 기본값은 기존 위경도 BETWEEN 쿼리
+    public CustomRepositoryForBoundaryImpl(JPAQueryFactory queryFactory, EntityManager entityManager,
+                                           @Value("${matching.boundary.query:haversine}") String boundaryQuery) {
         super(queryFactory, entityManager);
+        this.useSpatialIndex = "spatial".equals(boundaryQuery);
     }
 
     @Override
-    public PageImpl<Matching> findAllWithinBoundary(LocationDto center, LocationDto northEastBound, LocationDto southWestBound, Pageable pageable) {
+    public PageImpl<MatchingPreviewDto> findAllWithinBoundary(LocationDto center, LocationDto northEastBound, LocationDto southWestBound, Pageable pageable) {
+        if (useSpatialIndex) {
+            List<Object[]> rows = findIdsAndDistancesWithSpatialIndex(center, northEastBound, southWestBound, null,
+                    pageable.getPageSize(), pageable.getOffset());
+            List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+            return new PageImpl<>(findPreviewsInOrder(ids), pageable, countWithinBoundary(northEastBound, southWestBound));
+        }
+
         BooleanExpression withinBoundary = within(southWestBound.getLat(), northEastBound.getLat(), southWestBound.getLon(), northEastBound.getLon());
         StringTemplate distanceTemplate = Expressions.stringTemplate(HAVERSINE_FORMULA, matching.lon, matching.lat, center.getLon(), center.getLat());
 
-        JPQLQuery<Matching> matchingQuery = queryFactory
-                .selectFrom(matching)
+        JPQLQuery<MatchingPreviewDto> matchingQuery = queryFactory
+                .select(MATCHING_PREVIEW)
+                .from(matching)
                 .where(withinBoundary)
                 .orderBy(distanceTemplate.asc());
 
         return getPageImpl(pageable, matchingQuery, Matching.class);
     }
 
+    @Override
+    public List<MatchingDistanceDto> findAllWithinBoundaryAfter(LocationDto center, LocationDto northEastBound, LocationDto southWestBound,
+                                                                MatchingCursor cursor, int limit) {
+        if (useSpatialIndex) {
+            List<Object[]> rows = findIdsAndDistancesWithSpatialIndex(center, northEastBound, southWestBound, cursor, limit, 0);
+            List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+            Map<Long, MatchingPreviewDto> previewsById = findPreviewsById(ids);
+            return rows.stream()
+                    .filter(row -> previewsById.containsKey(((Number) row[0]).longValue()))
+                    .map(row -> new MatchingDistanceDto(previewsById.get(((Number) row[0]).longValue()),
+                            ((Number) row[1]).doubleValue()))
+                    .toList();
+        }
+
+        BooleanExpression withinBoundary = within(southWestBound.getLat(), northEastBound.getLat(), southWestBound.getLon(), northEastBound.getLon());
+        NumberTemplate<Double> distanceTemplate = Expressions.numberTemplate(Double.class,
+                HAVERSINE_FORMULA + " / 1000", matching.lon, matching.lat, center.getLon(), center.getLat()); // km
+
+        return queryFactory
+                .select(MATCHING_PREVIEW, distanceTemplate)
+                .from(matching)
+                .where(withinBoundary, after(distanceTemplate, cursor))
+                .orderBy(distanceTemplate.asc(), matching.id.asc())
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(tuple -> new MatchingDistanceDto(tuple.get(MATCHING_PREVIEW), tuple.get(distanceTemplate)))
+                .toList();
+    }
+
+    @Override
+    public long countWithinBoundary(LocationDto northEastBound, LocationDto southWestBound) {
+        if (useSpatialIndex) {
+            Number count = (Number) entityManager
+                    .createNativeQuery("SELECT COUNT(*) FROM MATCHING m WHERE " + SPATIAL_WITHIN)
+                    .setParameter("boundary", boundaryPolygon(northEastBound, southWestBound))
+                    .setParameter("now", LocalDateTime.now())
+                    .getSingleResult();
+            return count.longValue();
+        }
+
+        Long count = queryFactory
+                .select(matching.count())
+                .from(matching)
+                .where(within(southWestBound.getLat(), northEastBound.getLat(), southWestBound.getLon(), northEastBound.getLon()))
+                .fetchOne();
+        return count == null ? 0 : count;
+    }
+
     private BooleanExpression within(Double latLowerBound, Double latUpperBound, Double lonLeftBound, Double lonRightBound) {
         return matching.lat.between(latLowerBound, latUpperBound)
                 .and(matching.lon.between(lonLeftBound, lonRightBound))
                 .and(matching.recruitStatus.eq(RecruitStatus.OPEN))
                 .and(matching.recruitDueDateTime.after(LocalDateTime.now()));
     }
+
+    private BooleanExpression after(NumberTemplate<Double> distanceTemplate, MatchingCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        double distance = cursor.getDistanceValue();
+        return distanceTemplate.gt(distance)
+                .or(distanceTemplate.eq(distance).and(matching.id.gt(cursor.getId())));
+    }
+
+    // 공간 인덱스로 영역 안의 행만 추린 뒤, 추려진 행에 대해서만 거리 계산 후 정렬
+    @SuppressWarnings("unchecked")
+    private List<Object[]> findIdsAndDistancesWithSpatialIndex(LocationDto center, LocationDto northEastBound,
+                                                               LocationDto southWestBound, MatchingCursor cursor,
+                                                               int limit, long offset) {
+        String afterCursor = cursor == null ? ""
+                : " AND (" + SPATIAL_DISTANCE + " > :lastDistance OR (" + SPATIAL_DISTANCE + " = :lastDistance AND m.ID > :lastId))";
+        Query query = entityManager.createNativeQuery(
+                        "SELECT m.ID, " + SPATIAL_DISTANCE + " AS DISTANCE FROM MATCHING m "
+                                + "WHERE " + SPATIAL_WITHIN + afterCursor
+                                + " ORDER BY DISTANCE, m.ID LIMIT :limit OFFSET :offset")
+                .setParameter("boundary", boundaryPolygon(northEastBound, southWestBound))
+                .setParameter("center", point(center.getLat(), center.getLon()))
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("limit", limit)
+                .setParameter("offset", offset);
+        if (cursor != null) {
+            query.setParameter("lastDistance", cursor.getDistanceValue())
+                    .setParameter("lastId", cursor.getId());
+        }
+        return query.getResultList();
+    }
+
+    private List<MatchingPreviewDto> findPreviewsInOrder(List<Long> ids) {
+        Map<Long, MatchingPreviewDto> previewsById = findPreviewsById(ids);
+        return ids.stream().map(previewsById::get).filter(Objects::nonNull).toList();
+    }
+
+    private Map<Long, MatchingPreviewDto> findPreviewsById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return queryFactory.select(MATCHING_PREVIEW)
+                .from(matching)
+                .where(matching.id.in(ids))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(MatchingPreviewDto::getId, Function.identity()));
+    }
+
+    // (경도 위도) 순서
+    private static String boundaryPolygon(LocationDto northEastBound, LocationDto southWestBound) {
+        double north = northEastBound.getLat();
+        double east = northEastBound.getLon();
+        double south = southWestBound.getLat();
+        double west = southWestBound.getLon();
+        return "POLYGON((" + west + " " + south + ", " + east + " " + south + ", " + east + " " + north + ", "
+                + west + " " + north + ", " + west + " " + south + "))";
+    }
+
+    private static String point(double lat, double lon) {
+        return "POINT(" + lon + " " + lat + ")";
+    }
 }
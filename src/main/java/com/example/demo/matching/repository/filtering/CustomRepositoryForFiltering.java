@@ -1,10 +1,27 @@
 package com.example.demo.matching.repository.filtering;
 
-import com.example.demo.entity.Matching;
 import com.example.demo.matching.dto.FilterDto;
+import com.example.demo.matching.dto.LocationDto;
+import com.example.demo.matching.dto.MatchingCursor;
+import com.example.demo.matching.dto.MatchingPreviewDto;
+import com.example.demo.matching.filter.CursorSortKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CustomRepositoryForFiltering {
-    Page<Matching> findAllByFilter(FilterDto filterDto, Pageable pageable);
-}
\ No newline at end of file
+    Page<MatchingPreviewDto> findAllByFilter(FilterDto filterDto, Pageable pageable);
+
+    Page<MatchingPreviewDto> findAllRecruitingByFilter(FilterDto filterDto, Pageable pageable);
+
+    List<MatchingPreviewDto> findAllByFilterAfter(FilterDto filterDto, CursorSortKey sortKey, MatchingCursor cursor, int limit);
+
+    List<MatchingPreviewDto> findAllRecruitingPreviewsByIdIn(Collection<Long> ids);
+
+    long countByFilter(FilterDto filterDto);
+
+    Page<MatchingPreviewDto> searchByKeyword(String keyword, FilterDto filterDto,
+                                             LocationDto northEastBound, LocationDto southWestBound, Pageable pageable);
+}
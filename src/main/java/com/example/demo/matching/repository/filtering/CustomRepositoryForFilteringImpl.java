@@ -2,11 +2,14 @@ package com.example.demo.matching.repository.filtering;
 
 import com.example.demo.entity.Matching;
 import com.example.demo.matching.dto.FilterDto;
-import com.example.demo.matching.filter.Region;
+import com.example.demo.matching.dto.LocationDto;
+import com.example.demo.matching.dto.MatchingCursor;
+import com.example.demo.matching.dto.MatchingPreviewDto;
+import com.example.demo.matching.filter.CursorSortKey;
 import com.example.demo.matching.repository.BaseCustomRepository;
+import com.example.demo.type.RecruitStatus;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.StringExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
@@ -15,6 +18,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import static com.example.demo.entity.QMatching.matching;
@@ -27,19 +32,125 @@ public class CustomRepositoryForFilteringImpl extends BaseCustomRepository imple
     }
 
     @Override
-    public PageImpl<Matching> findAllByFilter(FilterDto filterDto, Pageable pageable) {
-        JPQLQuery<Matching> matchingList = queryFactory.selectFrom(matching)
-                    .where(
-                            date(filterDto),
-                            region(filterDto),
-                            matchingType(filterDto),
-                            ageGroup(filterDto),
-                            ntrp(filterDto)
-                    );
+    public PageImpl<MatchingPreviewDto> findAllByFilter(FilterDto filterDto, Pageable pageable) {
+        JPQLQuery<MatchingPreviewDto> matchingList = queryFactory.select(MATCHING_PREVIEW)
+                    .from(matching)
+                    .where(conditions(filterDto));
 
         return getPageImpl(pageable, matchingList, Matching.class);
     }
 
+    @Override
+    public PageImpl<MatchingPreviewDto> findAllRecruitingByFilter(FilterDto filterDto, Pageable pageable) {
+        JPQLQuery<MatchingPreviewDto> matchingList = queryFactory.select(MATCHING_PREVIEW)
+                .from(matching)
+                .where(conditions(filterDto, true));
+
+        return getPageImpl(pageable, matchingList, Matching.class);
+    }
+
+    @Override
+    public List<MatchingPreviewDto> findAllByFilterAfter(FilterDto filterDto, CursorSortKey sortKey, MatchingCursor cursor, int limit) {
+        DateTimePath<LocalDateTime> sortPath = sortPath(sortKey);
+
+        return queryFactory.select(MATCHING_PREVIEW)
+                .from(matching)
+                .where(conditions(filterDto))
+                .where(after(sortPath, cursor))
+                .orderBy(sortPath.asc(), matching.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    // 인덱스가 늦게 갱신되어도 모집이 끝났거나 삭제된 매칭은 내려주지 않음
+    @Override
+    public List<MatchingPreviewDto> findAllRecruitingPreviewsByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return queryFactory.select(MATCHING_PREVIEW)
+                .from(matching)
+                .where(matching.id.in(ids),
+                        matching.recruitStatus.eq(RecruitStatus.OPEN),
+                        matching.recruitDueDateTime.after(LocalDateTime.now()))
+                .fetch();
+    }
+
+    @Override
+    public long countByFilter(FilterDto filterDto) {
+        Long count = queryFactory.select(matching.count())
+                .from(matching)
+                .where(conditions(filterDto))
+                .fetchOne();
+        return count == null ? 0 : count;
+    }
+
+    // 검색 인덱스 적재 전에만 사용 (LIKE 검색이라 테이블 전체를 읽음)
+    @Override
+    public PageImpl<MatchingPreviewDto> searchByKeyword(String keyword, FilterDto filterDto,
+                                                        LocationDto northEastBound, LocationDto southWestBound,
+                                                        Pageable pageable) {
+        JPQLQuery<MatchingPreviewDto> matchingList = queryFactory.select(MATCHING_PREVIEW)
+                .from(matching)
+                .where(conditions(filterDto, true))
+                .where(keyword(keyword), boundary(northEastBound, southWestBound));
+
+        return getPageImpl(pageable, matchingList, Matching.class);
+    }
+
+    // 필터가 비어 있으면 모집 중인 매칭만 조회
+    private BooleanExpression[] conditions(FilterDto filterDto) {
+        return conditions(filterDto, FilterDto.isFilterDtoEmpty(filterDto));
+    }
+
+    // recruitingOnly 면 모집 중인 매칭만 조회 (인메모리 필터 인덱스와 같은 대상)
+    private BooleanExpression[] conditions(FilterDto filterDto, boolean recruitingOnly) {
+        return new BooleanExpression[]{
+                recruitingOnly ? matching.recruitStatus.eq(RecruitStatus.OPEN) : null,
+                recruitingOnly ? matching.recruitDueDateTime.after(LocalDateTime.now()) : null,
+                date(filterDto),
+                region(filterDto),
+                matchingType(filterDto),
+                ageGroup(filterDto),
+                ntrp(filterDto)
+        };
+    }
+
+    private DateTimePath<LocalDateTime> sortPath(CursorSortKey sortKey) {
+        if (CursorSortKey.RECRUIT_DUE_DATE_TIME.equals(sortKey)) {
+            return matching.recruitDueDateTime;
+        }
+        return matching.createTime;
+    }
+
+    // (정렬 키, id)가 커서보다 뒤에 있는 행만 조회 -> OFFSET 없이 인덱스를 타고 바로 이동
+    private BooleanExpression after(DateTimePath<LocalDateTime> sortPath, MatchingCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        LocalDateTime value = cursor.getDateTimeValue();
+        return sortPath.gt(value)
+                .or(sortPath.eq(value).and(matching.id.gt(cursor.getId())));
+    }
+
+    private BooleanExpression keyword(String keyword) {
+        BooleanExpression condition = null;
+        for (String word : keyword.trim().split("\\s+")) {
+            BooleanExpression wordCondition = matching.title.containsIgnoreCase(word)
+                    .or(matching.content.containsIgnoreCase(word));
+            condition = condition == null ? wordCondition : condition.and(wordCondition);
+        }
+        return condition;
+    }
+
+    private BooleanExpression boundary(LocationDto northEastBound, LocationDto southWestBound) {
+        if (northEastBound == null || southWestBound == null) {
+            return null;
+        }
+        return matching.lat.between(southWestBound.getLat(), northEastBound.getLat())
+                .and(matching.lon.between(southWestBound.getLon(), northEastBound.getLon()));
+    }
+
     private BooleanExpression date(FilterDto filterDto){
         if(filterDto.getDate().isEmpty()) {
             return null;
@@ -59,15 +170,7 @@ public class CustomRepositoryForFilteringImpl extends BaseCustomRepository imple
         if(filterDto.getRegions().isEmpty()) {
             return null;
         }
-
-        List<String> regions = filterDto.getRegions().stream()
-                .map(Region::getKorean).toList();
-        StringExpression locationExpression = Expressions.asString(matching.location);
-
-        return regions.stream()
-                .map(region -> locationExpression.likeIgnoreCase("%" + region + "%"))
-                .reduce(BooleanExpression::or)
-                .orElse(null);
+        return matching.region.in(filterDto.getRegions());
     }
 
     private BooleanExpression matchingType(FilterDto filterDto){
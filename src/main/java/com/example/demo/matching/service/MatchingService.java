@@ -2,6 +2,7 @@ package com.example.demo.matching.service;
 
 import com.example.demo.entity.Matching;
 import com.example.demo.matching.dto.*;
+import com.example.demo.matching.filter.CursorSortKey;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,7 +12,12 @@ public interface MatchingService {
     Matching update(String email, Long matchingId, MatchingDetailRequestDto matchingDetailRequestDto);
     void delete(String email, Long matchingId);
     Page<MatchingPreviewDto> getMatchingByFilter(FilterDto filterDto, Pageable pageable);
+
+    Page<MatchingPreviewDto> getRecruitingMatchingByFilter(FilterDto filterDto, Pageable pageable);
     Page<MatchingPreviewDto> getMatchingWithinDistance(LocationDto locationDto, Double distance, Pageable pageable);
+    Page<MatchingPreviewDto> searchMatching(String keyword, FilterDto filterDto, LocationDto locationDto, Double distance, Pageable pageable);
+    CursorPageDto<MatchingPreviewDto> getMatchingByFilterAfter(FilterDto filterDto, CursorSortKey sortKey, String cursor, int size, boolean withCount);
+    CursorPageDto<MatchingPreviewDto> getMatchingWithinDistanceAfter(LocationDto locationDto, Double distance, String cursor, int size, boolean withCount);
     MatchingDetailResponseDto getDetail(Long matchingId);
     ApplyContents getApplyContents(String email, long matchId) throws JsonProcessingException;
 }
\ No newline at end of file
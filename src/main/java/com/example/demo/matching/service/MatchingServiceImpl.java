@@ -7,10 +7,16 @@ import com.example.demo.entity.Apply;
 import com.example.demo.entity.Matching;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.cache.MatchingDetailCache;
 import com.example.demo.matching.dto.*;
+import com.example.demo.matching.filter.CursorSortKey;
+import com.example.demo.matching.index.MatchingFacetIndex;
+import com.example.demo.matching.index.MatchingGeoIndex;
+import com.example.demo.matching.index.MatchingIndexer;
+import com.example.demo.matching.index.MatchingTextIndex;
 import com.example.demo.matching.repository.MatchingRepository;
 import com.example.demo.notification.service.NotificationService;
-import com.example.demo.openfeign.feignclient.LatAndLonApiFeignClient;
+import com.example.demo.openfeign.service.geocode.GeocodeService;
 import com.example.demo.openfeign.service.weather.WeatherService;
 import com.example.demo.siteuser.repository.SiteUserRepository;
 import com.example.demo.type.ApplyStatus;
@@ -20,18 +26,19 @@ import com.example.demo.type.PrecipitationType;
 import com.example.demo.type.RecruitStatus;
 import com.example.demo.util.geometry.GeometryUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.example.demo.exception.type.ErrorCode.*;
@@ -46,14 +53,16 @@ public class MatchingServiceImpl implements MatchingService {
     private final FindEntity findEntity;
     private final SiteUserRepository siteUserRepository;
     private final NotificationService notificationService;
-    private final LatAndLonApiFeignClient latAndLonApiFeignClient;
+    private final GeocodeService geocodeService;
     private final WeatherService weatherService;
+    private final MatchingGeoIndex matchingGeoIndex;
+    private final MatchingFacetIndex matchingFacetIndex;
+    private final MatchingTextIndex matchingTextIndex;
+    private final MatchingDetailCache matchingDetailCache;
+    private final MatchingIndexer matchingIndexer;
     private static final DateTimeFormatter formForDate = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
 
-    @Value("${kakao.client_id}")
-    private String apiKey;
-
     private static boolean isOrganizer(long userId, Matching matching) {
         return matching.getSiteUser().getId() == userId;
     }
@@ -62,9 +71,7 @@ public class MatchingServiceImpl implements MatchingService {
     public Matching create(String email, MatchingDetailRequestDto matchingDetailRequestDto) {
         SiteUser siteUser = siteUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RacketPuncherException(EMAIL_NOT_FOUND));
-        List<Double> latAndLon = getLatAndLon(matchingDetailRequestDto.getLocation());
-        matchingDetailRequestDto.setLat(latAndLon.get(0));
-        matchingDetailRequestDto.setLon(latAndLon.get(1));
+        setGeocode(matchingDetailRequestDto, geocodeService.geocode(matchingDetailRequestDto.getLocation()));
         Matching matching = matchingRepository.save(Matching.fromDto(matchingDetailRequestDto, siteUser));
         saveApplyForOrganizer(matching, siteUser);
         if (!LocalDate.now().format(formForDate).equals(matchingDetailRequestDto.getDate())) {
@@ -75,11 +82,11 @@ public class MatchingServiceImpl implements MatchingService {
         if (!PrecipitationType.NICE.equals(weatherDto.getPrecipitationType())) {
             matching.changeRecruitStatus(RecruitStatus.WEATHER_ISSUE);
             notificationService.createAndSendNotification(siteUser, matching,
-                    NotificationType.makeWeatherIssueMessage(weatherDto));
+                    NotificationType.makeWeatherIssueMessage(weatherDto), "weather:" + matching.getDate());
             return matching;
         }
         notificationService.createAndSendNotification(siteUser, matching,
-                NotificationType.makeWeatherMessage());
+                NotificationType.makeWeatherMessage(), "weather:" + matching.getDate());
         return matching;
     }
 
@@ -105,7 +112,6 @@ public class MatchingServiceImpl implements MatchingService {
 
         validateOrganizer(matchingId, siteUser);
         updateLatAndLon(matchingDetailRequestDto, matching);
-        sendNotificationToApplyUser(matchingId, siteUser, matching, NotificationType.MODIFY_MATCHING);
         penalizeToOrganizer(acceptedApplies, siteUser, PenaltyType.MATCHING_MODIFY);
         acceptedApplies.forEach(apply -> {
             if (!apply.getSiteUser().equals(siteUser)) {
@@ -114,15 +120,23 @@ public class MatchingServiceImpl implements MatchingService {
         });
 
         matching.update(Matching.fromDto(matchingDetailRequestDto, siteUser));
+        sendNotificationToApplyUser(matchingId, siteUser, matching, NotificationType.MODIFY_MATCHING,
+                matching.updateKey());
         return matching;
     }
 
     private void updateLatAndLon(MatchingDetailRequestDto matchingDetailRequestDto, Matching matching) {
         if(!matchingDetailRequestDto.getLocation().equals(matching.getLocation())){
-            List<Double> latAndLon = getLatAndLon(matchingDetailRequestDto.getLocation());
-            matchingDetailRequestDto.setLat(latAndLon.get(0));
-            matchingDetailRequestDto.setLon(latAndLon.get(1));
+            setGeocode(matchingDetailRequestDto, geocodeService.geocode(matchingDetailRequestDto.getLocation()));
+            return;
         }
+        matchingDetailRequestDto.setRegion(matching.getRegion()); // 장소가 그대로면 기존 지역 유지
+    }
+
+    private static void setGeocode(MatchingDetailRequestDto matchingDetailRequestDto, GeocodeDto geocodeDto) {
+        matchingDetailRequestDto.setLat(geocodeDto.getLat());
+        matchingDetailRequestDto.setLon(geocodeDto.getLon());
+        matchingDetailRequestDto.setRegion(geocodeDto.getRegion());
     }
 
     private void penalizeToOrganizer(List<Apply> confirmedApplies, SiteUser siteUser, PenaltyType penaltyType) {
@@ -132,12 +146,13 @@ public class MatchingServiceImpl implements MatchingService {
     }
 
     private void sendNotificationToApplyUser(Long matchingId, SiteUser siteUser, Matching matching,
-                                             NotificationType notificationType) {
+                                             NotificationType notificationType, String source) {
         var applies = applyRepository.findAllByMatching_Id(matchingId);
 
         applies.forEach(apply -> {
             if (!apply.getSiteUser().equals(siteUser)) {
-                notificationService.createAndSendNotification(apply.getSiteUser(), matching, notificationType);
+                notificationService.createAndSendNotification(apply.getSiteUser(), matching, notificationType,
+                        source);
             }
         });
     }
@@ -158,7 +173,7 @@ public class MatchingServiceImpl implements MatchingService {
             penalizeToOrganizer(acceptedApplies, siteUser, PenaltyType.MATCHING_DELETE);
         }
 
-        sendNotificationToApplyUser(matchingId, siteUser, matching, NotificationType.DELETE_MATCHING);
+        sendNotificationToApplyUser(matchingId, siteUser, matching, NotificationType.DELETE_MATCHING, "delete");
         applyRepository.deleteAll(acceptedApplies);
 
         matchingRepository.delete(matching);
@@ -170,43 +185,183 @@ public class MatchingServiceImpl implements MatchingService {
         }
     }
 
+    // 필터가 비어 있으면 모집 중인 매칭만, 필터가 있으면 상태와 관계없이 조회
+    // 필터 인덱스는 모집 중인 매칭만 가지고 있으므로 필터가 비어 있을 때만 사용
     @Override
     public Page<MatchingPreviewDto> getMatchingByFilter(FilterDto filterDto, Pageable pageable) {
-        if (FilterDto.isFilterDtoEmpty(filterDto)) {
-            return matchingRepository.findByRecruitStatusAndRecruitDueDateTimeAfter(RecruitStatus.OPEN, LocalDateTime.now(), pageable)
-                    .map(MatchingPreviewDto::fromEntity);
+        if (!FilterDto.isFilterDtoEmpty(filterDto) || !matchingFacetIndex.isReady()) {
+            return matchingRepository.findAllByFilter(filterDto, pageable);
         }
+        return getMatchingByFacetIndex(filterDto, pageable);
+    }
 
-        return matchingRepository.findAllByFilter(filterDto, pageable)
-                .map(MatchingPreviewDto::fromEntity);
+    // 모집 중인 매칭만 필터링하고 필터 항목별 개수를 함께 반환
+    @Override
+    public Page<MatchingPreviewDto> getRecruitingMatchingByFilter(FilterDto filterDto, Pageable pageable) {
+        if (!matchingFacetIndex.isReady()) { // 인덱스 적재 전에는 DB에서 조회
+            return matchingRepository.findAllRecruitingByFilter(filterDto, pageable);
+        }
+        return getMatchingByFacetIndex(filterDto, pageable);
+    }
+
+    private Page<MatchingPreviewDto> getMatchingByFacetIndex(FilterDto filterDto, Pageable pageable) {
+        MatchingFacetIndex.Result result = matchingFacetIndex.search(filterDto, pageable);
+
+        return new FacetedPage<>(findPreviewsInOrder(result.matchingIds()), pageable,
+                result.totalCount(), result.facets());
+    }
+
+    @Override
+    public Page<MatchingPreviewDto> searchMatching(String keyword, FilterDto filterDto, LocationDto locationDto,
+                                                   Double distance, Pageable pageable) {
+        if (!MatchingTextIndex.isSearchable(keyword)) { // DB 조회로 넘어가면 LIKE '%%' 로 전체가 조회됨
+            throw new RacketPuncherException(INVALID_KEYWORD);
+        }
+        FilterDto filter = filterDto == null ? FilterDto.empty() : filterDto;
+        LocationDto northEastBound = locationDto == null ? null : getNorthEastBound(locationDto, distance);
+        LocationDto southWestBound = locationDto == null ? null : getSouthWestBound(locationDto, distance);
+
+        if (!matchingTextIndex.isReady() || !matchingFacetIndex.isReady()
+                || (locationDto != null && !matchingGeoIndex.isReady())) { // 인덱스 적재 전에는 DB에서 조회
+            return matchingRepository.searchByKeyword(keyword, filter, northEastBound, southWestBound, pageable);
+        }
+
+        Set<Long> keywordIds = matchingTextIndex.search(keyword);
+        if (keywordIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        if (locationDto == null) { // 필터 인덱스의 정렬 순서 유지
+            MatchingFacetIndex.Result result = matchingFacetIndex.search(filter, keywordIds, pageable);
+            return new PageImpl<>(findPreviewsInOrder(result.matchingIds()), pageable, result.totalCount());
+        }
+
+        // 가까운 순
+        Set<Long> filteredIds = FilterDto.isFilterDtoEmpty(filter) ? null : matchingFacetIndex.findIds(filter);
+        List<Long> matchingIds = matchingGeoIndex.findWithinBoundary(locationDto, northEastBound, southWestBound).stream()
+                .map(MatchingGeoIndex.Nearby::id)
+                .filter(keywordIds::contains)
+                .filter(id -> filteredIds == null || filteredIds.contains(id))
+                .toList();
+
+        return new PageImpl<>(findPreviewsInOrder(pageSlice(matchingIds, pageable)), pageable, matchingIds.size());
     }
 
     @Override
     public Page<MatchingPreviewDto> getMatchingWithinDistance(LocationDto locationDto, Double distance, Pageable pageable) {
-        Double x = locationDto.getLat();
-        Double y = locationDto.getLon();
-        LocationDto northEastBound = GeometryUtil.calculate(x, y, distance / 2, 45.0);
-        LocationDto southWestBound = GeometryUtil.calculate(x, y, distance / 2, 225.0);
-        return matchingRepository.findAllWithinBoundary(locationDto, northEastBound, southWestBound, pageable)
-                .map(MatchingPreviewDto::fromEntity);
+        LocationDto northEastBound = getNorthEastBound(locationDto, distance);
+        LocationDto southWestBound = getSouthWestBound(locationDto, distance);
+
+        if (!matchingGeoIndex.isReady()) { // 인덱스 적재 전에는 DB에서 조회
+            return matchingRepository.findAllWithinBoundary(locationDto, northEastBound, southWestBound, pageable);
+        }
+
+        Page<Long> matchingIds = matchingGeoIndex
+                .findIdsWithinBoundary(locationDto, northEastBound, southWestBound, pageable);
+        return new PageImpl<>(findPreviewsInOrder(matchingIds.getContent()), pageable, matchingIds.getTotalElements());
+    }
+
+    @Override
+    public CursorPageDto<MatchingPreviewDto> getMatchingByFilterAfter(FilterDto filterDto, CursorSortKey sortKey,
+                                                                      String cursor, int size, boolean withCount) {
+        MatchingCursor matchingCursor = MatchingCursor.decode(cursor, sortKey);
+        List<MatchingPreviewDto> matches = matchingRepository.findAllByFilterAfter(filterDto, sortKey, matchingCursor, size + 1);
+
+        String nextCursor = null;
+        if (matches.size() > size) {
+            matches = matches.subList(0, size);
+            nextCursor = MatchingCursor.of(matches.get(size - 1), sortKey).encode();
+        }
+        Long totalCount = withCount ? matchingRepository.countByFilter(filterDto) : null;
+
+        return CursorPageDto.of(matches, nextCursor, totalCount);
     }
 
-    private List<Double> getLatAndLon(String address) {
-        LatAndLonResponseDto latAndLonResponse = latAndLonApiFeignClient.getLatAndLon(address, "KakaoAK " + apiKey);
-        try {
-            DocumentForAddressDto firstDocument = latAndLonResponse.getDocuments().get(0);
-            double lon = Double.parseDouble(firstDocument.getX()); // 경도
-            double lat = Double.parseDouble(firstDocument.getY()); // 위도
-            return new ArrayList<>(Arrays.asList(lat, lon));
-        } catch (Exception e) {
-            throw new RacketPuncherException(LAT_AND_LON_NOT_FOUND);
+    @Override
+    public CursorPageDto<MatchingPreviewDto> getMatchingWithinDistanceAfter(LocationDto locationDto, Double distance,
+                                                                            String cursor, int size, boolean withCount) {
+        MatchingCursor matchingCursor = MatchingCursor.decode(cursor, CursorSortKey.DISTANCE);
+        LocationDto northEastBound = getNorthEastBound(locationDto, distance);
+        LocationDto southWestBound = getSouthWestBound(locationDto, distance);
+
+        if (!matchingGeoIndex.isReady()) {
+            return getMatchingWithinDistanceAfterFromDb(locationDto, northEastBound, southWestBound,
+                    matchingCursor, size, withCount);
+        }
+
+        List<MatchingGeoIndex.Nearby> nearby = matchingGeoIndex
+                .findWithinBoundary(locationDto, northEastBound, southWestBound);
+        List<MatchingGeoIndex.Nearby> window = nearby.stream()
+                .filter(entry -> matchingCursor == null
+                        || entry.isAfter(matchingCursor.getDistanceValue(), matchingCursor.getId()))
+                .limit(size + 1L)
+                .toList();
+
+        String nextCursor = null;
+        if (window.size() > size) {
+            window = window.subList(0, size);
+            MatchingGeoIndex.Nearby last = window.get(size - 1);
+            nextCursor = MatchingCursor.ofDistance(last.distance(), last.id()).encode();
         }
+        Long totalCount = withCount ? (long) nearby.size() : null;
+
+        List<Long> matchingIds = window.stream().map(MatchingGeoIndex.Nearby::id).toList();
+        return CursorPageDto.of(findPreviewsInOrder(matchingIds), nextCursor, totalCount);
+    }
+
+    private CursorPageDto<MatchingPreviewDto> getMatchingWithinDistanceAfterFromDb(
+            LocationDto locationDto, LocationDto northEastBound, LocationDto southWestBound,
+            MatchingCursor matchingCursor, int size, boolean withCount) {
+        List<MatchingDistanceDto> matches = matchingRepository
+                .findAllWithinBoundaryAfter(locationDto, northEastBound, southWestBound, matchingCursor, size + 1);
+
+        String nextCursor = null;
+        if (matches.size() > size) {
+            matches = matches.subList(0, size);
+            MatchingDistanceDto last = matches.get(size - 1);
+            nextCursor = MatchingCursor.ofDistance(last.getDistance(), last.getMatchingPreview().getId()).encode();
+        }
+        Long totalCount = withCount ? matchingRepository.countWithinBoundary(northEastBound, southWestBound) : null;
+
+        List<MatchingPreviewDto> previews = matches.stream()
+                .map(MatchingDistanceDto::getMatchingPreview)
+                .toList();
+        return CursorPageDto.of(previews, nextCursor, totalCount);
+    }
+
+    private static LocationDto getNorthEastBound(LocationDto locationDto, Double distance) {
+        return GeometryUtil.calculate(locationDto.getLat(), locationDto.getLon(), distance / 2, 45.0);
+    }
+
+    private static LocationDto getSouthWestBound(LocationDto locationDto, Double distance) {
+        return GeometryUtil.calculate(locationDto.getLat(), locationDto.getLon(), distance / 2, 225.0);
+    }
+
+    private static List<Long> pageSlice(List<Long> matchingIds, Pageable pageable) {
+        int fromIndex = (int) Math.min(pageable.getOffset(), matchingIds.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), matchingIds.size());
+        return matchingIds.subList(fromIndex, toIndex);
+    }
+
+    // 인덱스가 정한 순서대로 해당 id의 모집 중인 매칭만 조회
+    // 빠진 id 는 인덱스가 DB 보다 늦은 것이므로 다시 읽어서 이 서버의 인덱스에서 정리
+    private List<MatchingPreviewDto> findPreviewsInOrder(List<Long> matchingIds) {
+        Map<Long, MatchingPreviewDto> previewsById = matchingRepository.findAllRecruitingPreviewsByIdIn(matchingIds).stream()
+                .collect(Collectors.toMap(MatchingPreviewDto::getId, Function.identity()));
+        matchingIds.stream()
+                .filter(matchingId -> !previewsById.containsKey(matchingId))
+                .forEach(matchingIndexer::refresh);
+
+        return matchingIds.stream()
+                .map(previewsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     public MatchingDetailResponseDto getDetail(Long matchingId) {
-        Matching matching = findEntity.findMatching(matchingId);
-        return MatchingDetailResponseDto.fromEntity(matching);
+        return matchingDetailCache.get(matchingId,
+                () -> MatchingDetailResponseDto.fromEntity(findEntity.findMatching(matchingId)));
     }
 
     private boolean isUserMadeThisMatching(Long matchingId, SiteUser siteUser) {
@@ -217,17 +372,17 @@ public class MatchingServiceImpl implements MatchingService {
     public ApplyContents getApplyContents(String email, long matchingId) {
         var siteUser = siteUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RacketPuncherException(EMAIL_NOT_FOUND));
-        var matching = findEntity.findMatching(matchingId);
+        var applies = applyRepository.findAllWithSiteUserByMatchingId(matchingId);
+        // 신청이 있으면 함께 조회한 매칭을 쓰고, 없을 때만 매칭을 따로 조회
+        var matching = applies.isEmpty() ? findEntity.findMatching(matchingId) : applies.get(0).getMatching();
         var recruitNum = matching.getRecruitNum();
         var acceptedNum = matching.getAcceptedNum();
-        var applyNum = applyRepository.countByMatching_IdAndApplyStatus(matchingId, ApplyStatus.PENDING).orElse(0);
-        var appliedMembers = findAppliedMembers(matchingId);
-        var acceptedMembers = findAcceptedMembers(matchingId);
-        var apply =  applyRepository.findBySiteUser_IdAndMatching_Id(siteUser.getId(), matchingId);
-        var isApplied = true;
-        if (apply.isEmpty() || ApplyStatus.CANCELED.equals(apply.get().getApplyStatus())) {
-            isApplied = false;
-        }
+        var appliedMembers = findMembers(applies, ApplyStatus.PENDING);
+        var acceptedMembers = findMembers(applies, ApplyStatus.ACCEPTED);
+        var applyNum = appliedMembers.size();
+        var isApplied = applies.stream()
+                .anyMatch(apply -> apply.getSiteUser().getId().equals(siteUser.getId())
+                        && !ApplyStatus.CANCELED.equals(apply.getApplyStatus()));
         if (isOrganizer(siteUser.getId(), matching)) {
             return ApplyContents.builder()
                     .isApplied(isApplied)
@@ -247,13 +402,10 @@ public class MatchingServiceImpl implements MatchingService {
                 .build();
     }
 
-    private List<ApplyMember> findAcceptedMembers(long matchingId) {
-        return applyRepository.findAllByMatching_IdAndApplyStatus(matchingId, ApplyStatus.ACCEPTED)
-                .stream().map(ApplyMember::from).collect(Collectors.toList());
-    }
-
-    private List<ApplyMember> findAppliedMembers(long matchingId) {
-        return applyRepository.findAllByMatching_IdAndApplyStatus(matchingId, ApplyStatus.PENDING)
-                .stream().map(ApplyMember::from).collect(Collectors.toList());
+    private static List<ApplyMember> findMembers(List<Apply> applies, ApplyStatus applyStatus) {
+        return applies.stream()
+                .filter(apply -> applyStatus.equals(apply.getApplyStatus()))
+                .map(ApplyMember::from)
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.demo.notification.cluster;
+
+import com.example.demo.entity.Notification;
+import com.example.demo.notification.dto.ClusterNotificationMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+// 서버마다 자기 채널만 구독하므로 회원의 연결을 가진 서버에만 전달됨
+@Slf4j
+@Component
+public class NotificationClusterPublisher {
+
+    private static final String CHANNEL_PREFIX = "notification:node:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Counter published;
+    private final Counter publishFailed;
+
+    public NotificationClusterPublisher(RedisTemplate<String, String> redisTemplate,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.published = counter(meterRegistry, "published");
+        this.publishFailed = counter(meterRegistry, "publish_failed");
+    }
+
+    public static String channelOf(String nodeId) {
+        return CHANNEL_PREFIX + nodeId;
+    }
+
+    // pub/sub 은 구독 중인 서버가 없으면 사라지지만, 알림은 저장되어 있어서 재연결 시 다시 전송됨
+    public boolean publish(String nodeId, Long userId, Notification notification) {
+        try {
+            String message = objectMapper.writeValueAsString(ClusterNotificationMessage.builder()
+                    .siteUserId(userId)
+                    .notificationId(notification.getId())
+                    .content(notification.getContent())
+                    .build());
+            redisTemplate.convertAndSend(channelOf(nodeId), message);
+            published.increment();
+            return true;
+        } catch (JsonProcessingException | RuntimeException e) {
+            publishFailed.increment();
+            log.warn("failed to publish notification to node -> " + nodeId, e);
+            return false;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("notification.cluster")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
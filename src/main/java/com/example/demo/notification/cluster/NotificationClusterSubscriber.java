@@ -0,0 +1,48 @@
+package com.example.demo.notification.cluster;
+
+import com.example.demo.notification.dto.ClusterNotificationMessage;
+import com.example.demo.notification.repository.NotificationPresenceRepository;
+import com.example.demo.notification.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+// 다른 서버에서 이 서버로 보낸 알림을 로컬 SSE 연결로 전송
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationClusterSubscriber implements MessageListener {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final NotificationPresenceRepository notificationPresenceRepository;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void subscribe() {
+        if (!notificationPresenceRepository.isEnabled()) {
+            return;
+        }
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(NotificationClusterPublisher.channelOf(notificationPresenceRepository.getNodeId())));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ClusterNotificationMessage notification =
+                    objectMapper.readValue(message.getBody(), ClusterNotificationMessage.class);
+            notificationService.deliverLocally(notification.getSiteUserId(),
+                    notification.getNotificationId(), notification.getContent());
+        } catch (IOException | RuntimeException e) {
+            log.warn("failed to deliver notification from other node", e);
+        }
+    }
+}
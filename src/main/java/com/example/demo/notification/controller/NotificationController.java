@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -27,12 +28,26 @@ public class NotificationController {
 
     @CrossOrigin(origins = "https://racket-puncher-project.github.io/racket-puncher-client")
     @GetMapping(value = "/connect/{accessToken}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public ResponseEntity<SseEmitter> connect(@PathVariable(value = "accessToken") String accessToken) {
+    public ResponseEntity<SseEmitter> connect(@PathVariable(value = "accessToken") String accessToken,
+                                              @RequestHeader(value = "Last-Event-ID", required = false)
+                                              String lastEventId) {
 
         String email = tokenProvider.getUserEmail(accessToken);
         var siteUser = siteUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RacketPuncherException(ErrorCode.USER_NOT_FOUND));
-        var result = notificationService.connectNotification(siteUser.getId());
+        var result = notificationService.connectNotification(siteUser.getId(), parseLastEventId(lastEventId));
         return ResponseEntity.ok(result);
     }
+
+    // 첫 연결이거나 알 수 없는 값이면 다시 보낼 알림 없음
+    private static Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
\ No newline at end of file
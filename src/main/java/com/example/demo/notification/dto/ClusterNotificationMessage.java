@@ -0,0 +1,17 @@
+package com.example.demo.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 다른 서버에 연결된 회원에게 전달할 알림 (알림은 이미 저장되어 있으므로 전송에 필요한 값만 보냄)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterNotificationMessage {
+    private Long siteUserId;
+    private Long notificationId;
+    private String content;
+}
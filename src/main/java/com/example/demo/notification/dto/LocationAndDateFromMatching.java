@@ -1,13 +1,25 @@
 package com.example.demo.notification.dto;
 
+import com.example.demo.entity.Matching;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+// 날씨 예보 조회 단위 (같은 날짜, 같은 격자의 매칭은 같은 값이라서 한 번만 조회)
 @Getter
 @Builder
+@EqualsAndHashCode
 public class LocationAndDateFromMatching {
 
     private String baseDate;
     private String nx;
     private String ny;
+
+    public static LocationAndDateFromMatching fromMatching(Matching matching, String baseDate) {
+        return LocationAndDateFromMatching.builder()
+                .baseDate(baseDate)
+                .nx(String.valueOf((int) Math.round(matching.getLat())))
+                .ny(String.valueOf((int) Math.round(matching.getLon())))
+                .build();
+    }
 }
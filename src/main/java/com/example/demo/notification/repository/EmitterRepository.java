@@ -1,30 +1,132 @@
 package com.example.demo.notification.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+// 회원마다 여러 기기(탭)의 SSE 연결을 보관
+// 회원 id 로 샤드를 나눠서 하트비트, 정리 작업이 한 샤드씩 순회하는 동안 다른 샤드의 연결/해제가 막히지 않도록 함
 @Repository
 public class EmitterRepository {
 
-    private Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, Map<SseEmitter, Connection>>[] shards;
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final Clock clock;
 
+    @Autowired
+    public EmitterRepository(MeterRegistry meterRegistry,
+                             @Value("${notification.sse.shards:16}") int shardCount) {
+        this(meterRegistry, shardCount, Clock.systemUTC());
+    }
+
+    // 테스트에서 연결, 전송 시각을 고정할 수 있도록 시계를 주입
+    @SuppressWarnings("unchecked")
+    EmitterRepository(MeterRegistry meterRegistry, int shardCount, Clock clock) {
+        this.clock = clock;
+        this.shards = new Map[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        meterRegistry.gauge("notification.sse.connections", connectionCount);
+        meterRegistry.gauge("notification.sse.pending.bytes", pendingBytes);
+    }
+
+    // 연결/해제를 같은 키에 대한 compute 안에서 처리해서 해제 중인 목록에 새 연결이 들어가지 않도록 함
     public SseEmitter save(Long userId, SseEmitter sseEmitter) {
-        emitters.put(getKey(userId), sseEmitter);
+        shard(userId).compute(userId, (key, emitters) -> {
+            Map<SseEmitter, Connection> connections = emitters == null ? new ConcurrentHashMap<>() : emitters;
+            if (connections.put(sseEmitter, new Connection(clock.millis())) == null) {
+                connectionCount.incrementAndGet();
+            }
+            return connections;
+        });
         return sseEmitter;
     }
 
-    private String getKey(Long userId) {
-        return "Emitter:UID:" + userId;
+    public List<SseEmitter> findAll(Long userId) {
+        Map<SseEmitter, Connection> emitters = shard(userId).get(userId);
+        return emitters == null ? List.of() : List.copyOf(emitters.keySet());
+    }
+
+    public List<Long> findAllUserIds() {
+        List<Long> userIds = new ArrayList<>();
+        for (Map<Long, Map<SseEmitter, Connection>> shard : shards) {
+            userIds.addAll(shard.keySet());
+        }
+        return userIds;
+    }
+
+    // 회원의 마지막 연결이 삭제되었으면 true
+    public boolean delete(Long userId, SseEmitter sseEmitter) {
+        boolean[] lastRemoved = {false};
+        shard(userId).computeIfPresent(userId, (key, emitters) -> {
+            if (emitters.remove(sseEmitter) != null) {
+                connectionCount.decrementAndGet();
+                lastRemoved[0] = emitters.isEmpty();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+        return lastRemoved[0];
+    }
+
+    // 전송 전후로 호출해서 느린 클라이언트에 쓰는 중인 바이트 수와 마지막 전송 시각을 기록
+    public void beforeWrite(long bytes) {
+        pendingBytes.addAndGet(bytes);
     }
 
-    public Optional<SseEmitter> get(Long userId) {
-        return Optional.ofNullable(emitters.get(getKey(userId)));
+    public void afterWrite(Long userId, SseEmitter sseEmitter, long bytes, boolean succeed) {
+        pendingBytes.addAndGet(-bytes);
+        if (!succeed) {
+            return;
+        }
+        Map<SseEmitter, Connection> emitters = shard(userId).get(userId);
+        Connection connection = emitters == null ? null : emitters.get(sseEmitter);
+        if (connection != null) {
+            connection.lastWriteMillis = clock.millis();
+        }
     }
 
-    public void delete(Long userId) {
-        emitters.remove(getKey(userId));
+    public void forEach(BiConsumer<Long, SseEmitter> action) {
+        for (Map<Long, Map<SseEmitter, Connection>> shard : shards) {
+            shard.forEach((userId, emitters) -> emitters.keySet().forEach(emitter -> action.accept(userId, emitter)));
+        }
+    }
+
+    // 마지막으로 전송에 성공한 뒤 idleMillis 이상 지난 연결
+    public void forEachStale(long idleMillis, BiConsumer<Long, SseEmitter> action) {
+        long lastWriteBeforeMillis = clock.millis() - idleMillis;
+        for (Map<Long, Map<SseEmitter, Connection>> shard : shards) {
+            shard.forEach((userId, emitters) -> emitters.forEach((emitter, connection) -> {
+                if (connection.lastWriteMillis < lastWriteBeforeMillis) {
+                    action.accept(userId, emitter);
+                }
+            }));
+        }
+    }
+
+    public long count() {
+        return connectionCount.get();
+    }
+
+    private Map<Long, Map<SseEmitter, Connection>> shard(Long userId) {
+        return shards[(int) Math.floorMod(userId, (long) shards.length)];
+    }
+
+    private static class Connection {
+        private volatile long lastWriteMillis;
+
+        private Connection(long lastWriteMillis) {
+            this.lastWriteMillis = lastWriteMillis;
+        }
     }
 }
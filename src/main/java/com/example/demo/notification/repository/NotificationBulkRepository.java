@@ -0,0 +1,80 @@
+package com.example.demo.notification.repository;
+
+import com.example.demo.entity.Notification;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// 여러 명에게 같은 알림을 보낼 때 INSERT 를 한 커넥션, 한 문장으로 모아서 처리
+// ID 가 IDENTITY 라서 JPA 로는 배치 INSERT 가 되지 않으므로 JDBC 배치로 저장하고 행마다 생성된 키를 받아옴
+// (다중 VALUES INSERT 는 innodb_autoinc_lock_mode=2 에서 키가 연속이라는 보장이 없어서 사용하지 않음,
+//  같은 이유로 rewriteBatchedStatements 는 켜지 않아야 함)
+// 오래된 알림 삭제도 엔티티를 조회하지 않고 SQL 로 처리
+@Repository
+@RequiredArgsConstructor
+public class NotificationBulkRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO NOTIFICATION "
+            + "(SITE_USER_ID, MATCHING_ID, NOTIFICATION_TYPE, CONTENT, CREATE_TIME) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Notification> saveAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Notification>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Notification notification : notifications) {
+                    statement.setLong(1, notification.getSiteUser().getId());
+                    if (notification.getMatching() == null) {
+                        statement.setObject(2, null);
+                    } else {
+                        statement.setLong(2, notification.getMatching().getId());
+                    }
+                    statement.setString(3, notification.getNotificationType().name());
+                    statement.setString(4, notification.getContent());
+                    statement.setTimestamp(5, Timestamp.valueOf(now));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                // 배치의 각 INSERT 가 받은 키를 실행 순서대로 반환
+                List<Notification> saved = new ArrayList<>(notifications.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Notification notification : notifications) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("generated keys are fewer than inserted notifications");
+                        }
+                        saved.add(Notification.builder()
+                                .id(keys.getLong(1))
+                                .siteUser(notification.getSiteUser())
+                                .matching(notification.getMatching())
+                                .notificationType(notification.getNotificationType())
+                                .content(notification.getContent())
+                                .createTime(now)
+                                .build());
+                    }
+                }
+                return saved;
+            }
+        });
+    }
+
+    // 알림 id 는 저장 순서대로 증가하므로 오래된 알림이 PK 앞쪽에 모여 있어 앞에서부터 정해진 개수만 잠그고 삭제
+    public int deleteCreatedBefore(LocalDateTime dateTime, int limit) {
+        return jdbcTemplate.update("DELETE FROM NOTIFICATION WHERE CREATE_TIME < ? ORDER BY ID LIMIT ?",
+                Timestamp.valueOf(dateTime), limit);
+    }
+}
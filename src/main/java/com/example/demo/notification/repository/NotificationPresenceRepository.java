@@ -0,0 +1,111 @@
+package com.example.demo.notification.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+// 회원의 SSE 연결을 가진 서버 목록 (회원별 sorted set, score 는 만료 시각)
+// 서버가 비정상 종료되어 해제하지 못해도 하트비트로 갱신되지 않으면 만료된 것으로 보고 무시
+@Slf4j
+@Repository
+public class NotificationPresenceRepository {
+
+    private static final String KEY_PREFIX = "notification:presence:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    @Getter
+    private final String nodeId;
+    @Getter
+    private final boolean enabled;
+    private final Duration ttl;
+
+    public NotificationPresenceRepository(RedisTemplate<String, String> redisTemplate,
+                                          @Value("${notification.cluster.node-id:}") String nodeId,
+                                          @Value("${notification.cluster.enabled:true}") boolean enabled,
+                                          @Value("${notification.cluster.presence-ttl-millis:90000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    public void register(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String key = KEY_PREFIX + userId;
+            redisTemplate.opsForZSet().add(key, nodeId, expireAt());
+            redisTemplate.expire(key, ttl);
+        } catch (RuntimeException e) {
+            log.warn("failed to register notification presence -> " + userId, e);
+        }
+    }
+
+    public void unregister(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(KEY_PREFIX + userId, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("failed to unregister notification presence -> " + userId, e);
+        }
+    }
+
+    // 하트비트마다 이 서버에 연결된 회원 전체를 한 번에 갱신하고, 그 사이 만료된 다른 서버는 정리
+    public void refresh(Collection<Long> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        double now = System.currentTimeMillis();
+        double expireAt = expireAt();
+        byte[] member = nodeId.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long userId : userIds) {
+                    byte[] key = (KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zAdd(key, expireAt, member);
+                    connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+                    connection.keyCommands().pExpire(key, ttl.toMillis());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("failed to refresh notification presence -> " + userIds.size(), e);
+        }
+    }
+
+    // 이 서버를 제외하고 연결이 살아 있는 서버 (조회에 실패하면 로컬 전송만 하도록 비어 있는 목록)
+    public Set<String> findRemoteNodes(Long userId) {
+        if (!enabled) {
+            return Set.of();
+        }
+        try {
+            Set<String> nodes = redisTemplate.opsForZSet()
+                    .rangeByScore(KEY_PREFIX + userId, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            if (nodes == null || nodes.isEmpty()) {
+                return Set.of();
+            }
+            Set<String> remoteNodes = new HashSet<>(nodes);
+            remoteNodes.remove(nodeId);
+            return remoteNodes;
+        } catch (RuntimeException e) {
+            log.warn("failed to read notification presence -> " + userId, e);
+            return Set.of();
+        }
+    }
+
+    private double expireAt() {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+}
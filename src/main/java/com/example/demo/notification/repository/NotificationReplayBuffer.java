@@ -0,0 +1,120 @@
+package com.example.demo.notification.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+// SSE 재연결 시 놓친 알림만 다시 보내기 위해 회원별 최근 알림을 보관하는 버퍼
+// 여러 서버에서 같은 회원에게 알림을 보내므로 Redis 를 원본으로 사용하고, 로컬 버퍼는 Redis 를 쓰지 않는 단일 서버 환경에서만 사용
+// 알림 id 를 점수로 정렬해서 넘치면 가장 작은 id 부터 밀어냄
+// 서버마다 커밋 순서가 달라 늦게 들어오는 id 가 있으므로 구간이 빠짐없다고 보장하지 않음 (호출한 쪽에서 DB 의 id 와 맞춰 봄)
+@Slf4j
+@Repository
+public class NotificationReplayBuffer {
+
+    private static final String KEY_PREFIX = "notification:replay:zset:";
+    private static final char SEPARATOR = '|';
+
+    private final Cache<Long, NavigableMap<Long, String>> localBuffers;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int capacity;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    public NotificationReplayBuffer(RedisTemplate<String, String> redisTemplate,
+                                    @Value("${notification.replay.capacity:50}") int capacity,
+                                    @Value("${notification.replay.max-users:100000}") long maxUsers,
+                                    @Value("${notification.replay.local-ttl-minutes:30}") long localTtlMinutes,
+                                    @Value("${notification.replay.redis-enabled:true}") boolean redisEnabled,
+                                    @Value("${notification.replay.redis-ttl-hours:24}") long redisTtlHours) {
+        this.localBuffers = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(localTtlMinutes))
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.capacity = capacity;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+    }
+
+    public void append(Long userId, long notificationId, String content) {
+        if (!redisEnabled) {
+            NavigableMap<Long, String> buffer = localBuffers.get(userId, key -> new TreeMap<>());
+            synchronized (buffer) {
+                buffer.put(notificationId, content);
+                while (buffer.size() > capacity) {
+                    buffer.pollFirstEntry();
+                }
+            }
+            return;
+        }
+
+        try {
+            String key = KEY_PREFIX + userId;
+            redisTemplate.opsForZSet().add(key, notificationId + String.valueOf(SEPARATOR) + content, notificationId);
+            redisTemplate.opsForZSet().removeRange(key, 0, -(capacity + 1));
+            redisTemplate.expire(key, redisTtl);
+        } catch (RuntimeException e) {
+            log.warn("failed to append notification to redis replay buffer -> " + userId, e);
+        }
+    }
+
+    public Optional<List<ReplayEvent>> findAllAfter(Long userId, long lastEventId) {
+        if (redisEnabled) {
+            return getFromRedis(userId).flatMap(events -> tail(events, lastEventId));
+        }
+
+        NavigableMap<Long, String> buffer = localBuffers.getIfPresent(userId);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        List<ReplayEvent> events = new ArrayList<>();
+        synchronized (buffer) {
+            buffer.forEach((id, content) -> events.add(new ReplayEvent(id, content)));
+        }
+        return tail(events, lastEventId);
+    }
+
+    // 버퍼의 가장 오래된 알림이 Last-Event-ID 이하여야 그 사이에 밀려난 알림이 없음 (events 는 id 오름차순)
+    private static Optional<List<ReplayEvent>> tail(List<ReplayEvent> events, long lastEventId) {
+        if (events.isEmpty() || events.get(0).id() > lastEventId) {
+            return Optional.empty();
+        }
+        return Optional.of(events.stream()
+                .filter(event -> event.id() > lastEventId)
+                .toList());
+    }
+
+    // Redis 를 읽지 못하면 구간을 보장할 수 없으므로 DB 조회로 넘김
+    private Optional<List<ReplayEvent>> getFromRedis(Long userId) {
+        try {
+            Set<String> values = redisTemplate.opsForZSet().range(KEY_PREFIX + userId, 0, -1);
+            if (values == null) {
+                return Optional.empty();
+            }
+            return Optional.of(values.stream()
+                    .map(value -> {
+                        int separator = value.indexOf(SEPARATOR);
+                        return new ReplayEvent(Long.parseLong(value.substring(0, separator)),
+                                value.substring(separator + 1));
+                    })
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("failed to read redis replay buffer -> " + userId, e);
+            return Optional.empty();
+        }
+    }
+
+    public record ReplayEvent(long id, String content) {
+    }
+}
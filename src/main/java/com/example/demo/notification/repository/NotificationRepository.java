@@ -1,14 +1,46 @@
 package com.example.demo.notification.repository;
 
 import com.example.demo.entity.Notification;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findAllBySiteUser_Email(String email);
-    void deleteAllByCreateTimeBefore(LocalDateTime threeDaysBeforeNow);
-}
\ No newline at end of file
+
+    // SSE 재연결 시 Last-Event-ID 이후에 놓친 알림
+    List<Notification> findTop100BySiteUser_IdAndIdGreaterThanOrderByIdAsc(Long siteUserId, Long lastEventId);
+
+    // 재연결 시 버퍼에 빠진 알림이 없는지 확인 (회원 id, 알림 id 인덱스만 읽음)
+    @Query("SELECT n.id FROM Notification n WHERE n.siteUser.id = :siteUserId AND n.id > :lastEventId "
+            + "ORDER BY n.id")
+    List<Long> findAllIdsBySiteUserIdAfter(@Param("siteUserId") Long siteUserId,
+                                           @Param("lastEventId") Long lastEventId,
+                                           Pageable pageable);
+
+    // 알림함 (회원 id, 알림 id 인덱스로 커서 이전 구간만 조회, 매칭은 함께 조회)
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.matching "
+            + "WHERE n.siteUser.id = :siteUserId AND n.id < :cursor ORDER BY n.id DESC")
+    List<Notification> findAllBySiteUserIdBefore(@Param("siteUserId") Long siteUserId,
+                                                 @Param("cursor") Long cursor,
+                                                 Pageable pageable);
+
+    long countBySiteUser_IdAndReadFalse(Long siteUserId);
+
+    // 이미 읽은 알림은 제외해서 읽지 않은 알림 수를 정확히 줄일 수 있도록 변경된 행 수 반환
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true "
+            + "WHERE n.siteUser.id = :siteUserId AND n.id IN :ids AND n.read = false")
+    int markRead(@Param("siteUserId") Long siteUserId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.siteUser.id = :siteUserId AND n.read = false")
+    int markAllRead(@Param("siteUserId") Long siteUserId);
+}
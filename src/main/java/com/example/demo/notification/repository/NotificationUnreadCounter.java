@@ -0,0 +1,86 @@
+package com.example.demo.notification.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+// 회원별 읽지 않은 알림 수 (배지 조회가 DB 를 거치지 않도록 Redis 에 보관)
+// 키가 없을 때 증감하면 DB 와 어긋나므로 키가 있을 때만 증감하고, 없으면 조회한 쪽이 DB 에서 세어서 채움
+// 채우는 사이에 저장된 알림은 빠질 수 있으므로 만료 시간을 두어 주기적으로 다시 셈
+@Slf4j
+@Repository
+public class NotificationUnreadCounter {
+
+    private static final String KEY_PREFIX = "notification:unread:";
+
+    private static final RedisScript<Long> INCREASE_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "local count = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+                    + "if count < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') count = 0 end "
+                    + "return count end "
+                    + "return -1", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration ttl;
+
+    public NotificationUnreadCounter(RedisTemplate<String, String> redisTemplate,
+                                     @Value("${notification.unread.ttl-hours:6}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    public Optional<Long> get(Long userId) {
+        try {
+            String count = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            return count == null ? Optional.empty() : Optional.of(Long.parseLong(count));
+        } catch (RuntimeException e) {
+            log.warn("failed to read unread notification count -> " + userId, e);
+            return Optional.empty();
+        }
+    }
+
+    // 다른 요청이 먼저 채웠으면 덮어쓰지 않음
+    public void init(Long userId, long count) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + userId, String.valueOf(count), ttl);
+        } catch (RuntimeException e) {
+            log.warn("failed to init unread notification count -> " + userId, e);
+        }
+    }
+
+    // 회원 id -> 새로 저장된 알림 수
+    public void increase(Map<Long, Long> countsByUserId) {
+        countsByUserId.forEach(this::add);
+    }
+
+    public void decrease(Long userId, long count) {
+        if (count > 0) {
+            add(userId, -count);
+        }
+    }
+
+    private void add(Long userId, long delta) {
+        try {
+            redisTemplate.execute(INCREASE_IF_EXISTS, List.of(KEY_PREFIX + userId), String.valueOf(delta));
+        } catch (RuntimeException e) {
+            // 값이 어긋날 수 있으므로 지워서 다음 조회 때 다시 셈
+            log.warn("failed to update unread notification count -> " + userId, e);
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+        } catch (RuntimeException e) {
+            log.warn("failed to evict unread notification count -> " + userId, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.notification.service;
+
+import com.example.demo.entity.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// OutboxRelay 가 저장한 알림을 큐에 넣고, 워커 스레드가 SSE 로 전송
+// SSE 클라이언트가 느리거나 끊겨도 릴레이와 참가 신청, 수락 등의 요청은 지연되지 않음
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final BlockingQueue<Notification> queue;
+    private final NotificationService notificationService;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long drainTimeoutSeconds;
+    private volatile boolean running = true;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter sent;
+    private final Counter sendFailed;
+
+    public NotificationDispatcher(NotificationService notificationService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.queue.capacity:10000}") int capacity,
+                                  @Value("${notification.queue.workers:2}") int workerCount,
+                                  @Value("${notification.queue.batch-size:100}") int batchSize,
+                                  @Value("${notification.queue.offer-timeout-millis:50}") long offerTimeoutMillis,
+                                  @Value("${notification.queue.drain-timeout-seconds:10}") long drainTimeoutSeconds) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.notificationService = notificationService;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(workerCount, 1),
+                runnable -> new Thread(runnable, "notification-worker-" + threadNumber.incrementAndGet()));
+
+        this.enqueued = counter(meterRegistry, "enqueued");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.sent = counter(meterRegistry, "sent");
+        this.sendFailed = counter(meterRegistry, "send_failed");
+        meterRegistry.gauge("notification.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::work);
+        }
+    }
+
+    public void enqueue(Notification notification) {
+        try {
+            // 큐가 가득 차면 잠깐 기다리고(backpressure), 그래도 자리가 없으면 버림
+            if (queue.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("notification queue is full, dropped -> siteUserId: " + notification.getSiteUser().getId()
+                + ", type: " + notification.getNotificationType());
+    }
+
+    // 종료 중에도 큐가 빌 때까지 처리
+    private void work() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("notification worker failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 한 명에게 전송이 실패해도 나머지는 계속 전송 (알림은 이미 저장되어 있으므로 목록 조회로 확인 가능)
+    private void process(List<Notification> batch) {
+        for (Notification notification : batch) {
+            try {
+                notificationService.send(notification.getSiteUser().getId(), notification);
+                sent.increment();
+            } catch (RuntimeException e) {
+                sendFailed.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("notification queue was not drained, remaining -> " + queue.size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("notification.queue")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
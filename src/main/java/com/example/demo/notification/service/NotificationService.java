@@ -5,15 +5,21 @@ import com.example.demo.entity.Notification;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.notification.dto.NotificationDto;
 import com.example.demo.type.NotificationType;
+import java.util.List;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface NotificationService {
 
-    SseEmitter connectNotification(Long userId);
+    SseEmitter connectNotification(Long userId, Long lastEventId);
 
     void send(Long userId, Notification notification);
 
-    Notification createNotification(SiteUser siteUser, Matching matching, NotificationType notificationType);
+    void deliverLocally(Long userId, Long notificationId, String content);
 
-    void createAndSendNotification(SiteUser siteUser, Matching matching, NotificationType notificationType);
+    // source 는 알림을 만든 상태 변경, 같은 source 로 다시 호출되면 알림은 한 번만 저장됨
+    void createAndSendNotification(SiteUser siteUser, Matching matching, NotificationType notificationType,
+                                   String source);
+
+    void createAndSendNotifications(List<SiteUser> siteUsers, Matching matching, NotificationType notificationType,
+                                    String source);
 }
@@ -6,15 +6,26 @@ import com.example.demo.entity.Matching;
 import com.example.demo.entity.Notification;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
-import com.example.demo.notification.dto.NotificationDto;
+import com.example.demo.notification.cluster.NotificationClusterPublisher;
 import com.example.demo.notification.repository.EmitterRepository;
+import com.example.demo.notification.repository.NotificationPresenceRepository;
+import com.example.demo.notification.repository.NotificationReplayBuffer;
+import com.example.demo.notification.repository.NotificationReplayBuffer.ReplayEvent;
 import com.example.demo.notification.repository.NotificationRepository;
+import com.example.demo.outbox.service.OutboxService;
 import com.example.demo.type.NotificationType;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
@@ -22,64 +33,187 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
-    private final static Long DEFAULT_TIMEOUT = 3600000L * 3;
     private final static String NOTIFICATION_NAME = "notify";
+    private final static String HEARTBEAT = "heartbeat";
+    private final static int REPLAY_PAGE_SIZE = 100; // findTop100 과 같은 값
 
     private final EmitterRepository emitterRepository;
     private final NotificationRepository notificationRepository;
+    private final OutboxService outboxService;
+    private final NotificationReplayBuffer notificationReplayBuffer;
+    private final NotificationPresenceRepository notificationPresenceRepository;
+    private final NotificationClusterPublisher notificationClusterPublisher;
+
+    // 하트비트로 끊긴 연결을 찾으므로 연결 유지 시간은 짧게 두고 브라우저가 재연결하도록 함
+    @Value("${notification.sse.timeout-millis:1800000}")
+    private long timeoutMillis;
+
+    @Value("${notification.sse.stale-after-millis:90000}")
+    private long staleAfterMillis;
 
     @Override
-    public SseEmitter connectNotification(Long userId) {
-        SseEmitter sseEmitter = new SseEmitter(DEFAULT_TIMEOUT);
+    public SseEmitter connectNotification(Long userId, Long lastEventId) {
+        SseEmitter sseEmitter = new SseEmitter(timeoutMillis);
         emitterRepository.save(userId, sseEmitter);
+        notificationPresenceRepository.register(userId);
         log.info("emitter created.");
 
-        sseEmitter.onTimeout(() -> emitterRepository.delete(userId));
-        sseEmitter.onCompletion(() -> emitterRepository.delete(userId));
-        try {
-            sseEmitter
-                    .send(SseEmitter.event()
-                            .id("")
-                            .name(NOTIFICATION_NAME)
-                            .data("Connection succeed"));
-        } catch (IOException e) {
+        // 같은 회원의 다른 기기(탭) 연결은 유지하고 끊긴 연결만 삭제
+        sseEmitter.onTimeout(() -> disconnect(userId, sseEmitter));
+        sseEmitter.onCompletion(() -> disconnect(userId, sseEmitter));
+        sseEmitter.onError(e -> disconnect(userId, sseEmitter));
+
+        // 연결 이벤트에 id 를 넣으면 브라우저의 Last-Event-ID 가 초기화되므로 id 없이 전송
+        String data = "Connection succeed";
+        if (!write(userId, sseEmitter, SseEmitter.event()
+                .name(NOTIFICATION_NAME)
+                .data(data), data.length())) {
             throw new RacketPuncherException(NOTIFICATION_CONNECTION_FAILED);
         }
+
+        if (lastEventId != null) {
+            replay(userId, sseEmitter, lastEventId);
+        }
         return sseEmitter;
     }
 
+    // 재연결 시 놓친 알림만 다시 전송 (버퍼에 구간이 모두 없으면 DB 에서 알림 id 범위로 조회)
+    // 여러 서버의 OutboxRelay 가 id 순서와 다르게 커밋하거나 버퍼 저장에 실패할 수 있으므로,
+    // 버퍼에 구간이 있어도 DB 의 id 목록과 맞을 때만 버퍼를 사용
+    private void replay(Long userId, SseEmitter sseEmitter, long lastEventId) {
+        Optional<List<ReplayEvent>> buffered = notificationReplayBuffer.findAllAfter(userId, lastEventId)
+                .filter(events -> containsAllCommitted(userId, lastEventId, events));
+        if (buffered.isPresent()) {
+            writeReplayEvents(userId, sseEmitter, buffered.get());
+            return;
+        }
+
+        // 한 번에 100개씩, 마지막으로 보낸 id 이후를 이어서 조회해서 놓친 알림을 모두 전송
+        long lastSentId = lastEventId;
+        List<Notification> page;
+        do {
+            page = notificationRepository.findTop100BySiteUser_IdAndIdGreaterThanOrderByIdAsc(userId, lastSentId);
+            List<ReplayEvent> events = page.stream()
+                    .map(notification -> new ReplayEvent(notification.getId(), notification.getContent()))
+                    .toList();
+            if (!writeReplayEvents(userId, sseEmitter, events)) {
+                return;
+            }
+            if (!page.isEmpty()) {
+                lastSentId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+    }
+
+    private boolean containsAllCommitted(Long userId, long lastEventId, List<ReplayEvent> events) {
+        List<Long> committedIds = notificationRepository.findAllIdsBySiteUserIdAfter(userId, lastEventId,
+                PageRequest.of(0, REPLAY_PAGE_SIZE));
+        if (committedIds.size() == REPLAY_PAGE_SIZE) {
+            return false;
+        }
+        Set<Long> bufferedIds = events.stream().map(ReplayEvent::id).collect(Collectors.toSet());
+        return bufferedIds.containsAll(committedIds);
+    }
+
+    private boolean writeReplayEvents(Long userId, SseEmitter sseEmitter, List<ReplayEvent> events) {
+        for (ReplayEvent event : events) {
+            if (!write(userId, sseEmitter, SseEmitter.event().id(String.valueOf(event.id()))
+                    .name(NOTIFICATION_NAME)
+                    .data(event.content()), event.content().getBytes(StandardCharsets.UTF_8).length)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 연결된 기기 중 하나라도 전송에 성공하면 성공
+    // 다른 서버에 연결된 기기는 해당 서버 채널로 보내고, 그 서버가 자기 연결로 전송
     @Override
     public void send(Long userId, Notification notification) {
-        emitterRepository.get(userId).ifPresentOrElse(sseEmitter -> {
-            try {
-                sseEmitter.send(SseEmitter.event().id(notification.getId().toString())
-                        .name(NOTIFICATION_NAME)
-                        .data(notification.getNotificationType().getMessage()));
-                log.info("emitter send succeed");
-            } catch (IOException e) {
-                emitterRepository.delete(userId);
-                throw new RacketPuncherException(NOTIFICATION_CONNECTION_FAILED);
-            }
-        }, () -> log.info("No emitter found"));
+        Set<String> remoteNodes = notificationPresenceRepository.findRemoteNodes(userId);
+        boolean published = false;
+        for (String nodeId : remoteNodes) {
+            published |= notificationClusterPublisher.publish(nodeId, userId, notification);
+        }
+
+        if (remoteNodes.isEmpty() && emitterRepository.findAll(userId).isEmpty()) {
+            log.info("No emitter found");
+            return;
+        }
+
+        boolean delivered = writeAll(userId, notification.getId(), notification.getContent());
+        if (!delivered && !published) {
+            throw new RacketPuncherException(NOTIFICATION_CONNECTION_FAILED);
+        }
+        log.info("emitter send succeed");
+    }
+
+    @Override
+    public void deliverLocally(Long userId, Long notificationId, String content) {
+        writeAll(userId, notificationId, content);
+    }
+
+    private boolean writeAll(Long userId, Long notificationId, String content) {
+        long bytes = content.getBytes(StandardCharsets.UTF_8).length;
+        boolean delivered = false;
+        for (SseEmitter sseEmitter : emitterRepository.findAll(userId)) {
+            delivered |= write(userId, sseEmitter, SseEmitter.event().id(notificationId.toString())
+                    .name(NOTIFICATION_NAME)
+                    .data(content), bytes); // WEATHER 메시지는 공유 상태라 생성 시점의 내용으로 전송
+        }
+        return delivered;
+    }
+
+    // 프록시 등이 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트를 보내고, 끊긴 연결은 이때 정리
+    @Scheduled(fixedDelayString = "${notification.sse.heartbeat-millis:30000}")
+    public void sendHeartbeats() {
+        emitterRepository.forEach((userId, sseEmitter) ->
+                write(userId, sseEmitter, SseEmitter.event().comment(HEARTBEAT), HEARTBEAT.length()));
+        // 연결 중 해제와 겹쳐 목록에서 빠진 회원도 여기서 다시 등록됨
+        notificationPresenceRepository.refresh(emitterRepository.findAllUserIds());
+    }
+
+    // 하트비트도 전송되지 않은 채 오래된 연결(쓰기가 멈춘 느린 클라이언트 등)을 정리
+    @Scheduled(fixedDelayString = "${notification.sse.reaper-millis:60000}")
+    public void reapStaleEmitters() {
+        emitterRepository.forEachStale(staleAfterMillis, (userId, sseEmitter) -> {
+            disconnect(userId, sseEmitter);
+            sseEmitter.complete();
+            log.info("stale emitter removed -> " + userId);
+        });
+    }
+
+    // 이 서버에 남은 연결이 없으면 다른 서버에서 보내지 않도록 목록에서 제외
+    private void disconnect(Long userId, SseEmitter sseEmitter) {
+        if (emitterRepository.delete(userId, sseEmitter)) {
+            notificationPresenceRepository.unregister(userId);
+        }
+    }
+
+    private boolean write(Long userId, SseEmitter sseEmitter, SseEmitter.SseEventBuilder event, long bytes) {
+        emitterRepository.beforeWrite(bytes);
+        boolean succeed = false;
+        try {
+            sseEmitter.send(event);
+            succeed = true;
+        } catch (IOException | IllegalStateException e) { // IllegalStateException: 이미 완료된 연결
+            disconnect(userId, sseEmitter);
+        } finally {
+            emitterRepository.afterWrite(userId, sseEmitter, bytes, succeed);
+        }
+        return succeed;
     }
 
-    @Transactional
+    // 호출한 쪽 트랜잭션에서 OUTBOX 에 저장하고, 저장과 전송은 OutboxRelay 가 커밋된 메시지만 처리
     @Override
-    public Notification createNotification(SiteUser siteUser, Matching matching, NotificationType notificationType) {
-        var notificationDto = NotificationDto.builder()
-                .siteUser(siteUser)
-                .matching(matching)
-                .notificationType(notificationType)
-                .content(notificationType.getMessage())
-                .build();
-
-        return notificationRepository.save(Notification.fromDto(notificationDto));
+    public void createAndSendNotification(SiteUser siteUser, Matching matching, NotificationType notificationType,
+                                          String source) {
+        outboxService.saveNotification(siteUser, matching, notificationType, source);
     }
 
-    @Transactional
     @Override
-    public void createAndSendNotification(SiteUser siteUser, Matching matching, NotificationType notificationType) {
-        var notification = createNotification(siteUser, matching, notificationType);
-        send(siteUser.getId(), notification);
+    public void createAndSendNotifications(List<SiteUser> siteUsers, Matching matching,
+                                           NotificationType notificationType, String source) {
+        outboxService.saveNotifications(siteUsers, matching, notificationType, source);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.example.demo.openfeign.service.address;
+
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.openfeign.dto.address.AddressResponseDto;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+// 주소 자동완성용 인메모리 접두어 인덱스
+// 주소의 각 단어 시작 위치부터의 문자열을 정렬 맵의 키로 넣어서 "테헤란로 1" 처럼 중간부터 입력해도 찾을 수 있도록 함
+// 원격 API 결과는 무한히 쌓이지 않도록 인메모리와 Redis 모두 최대 개수까지만 보관
+@Slf4j
+@Component
+public class AddressIndex {
+
+    private static final String REDIS_KEY = "address:juso"; // 도로명주소 API 응답 누적 (재기동 시 적재)
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = '\uffff';
+
+    private final MatchingRepository matchingRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int maxSize;
+
+    private final ConcurrentSkipListMap<String, AddressResponseDto> index = new ConcurrentSkipListMap<>();
+    private final Map<String, AddressResponseDto> addressesByRoadAddr = new ConcurrentHashMap<>();
+
+    public AddressIndex(MatchingRepository matchingRepository,
+                        RedisTemplate<String, String> redisTemplate,
+                        @Value("${address.index.max-size:50000}") int maxSize) {
+        this.matchingRepository = matchingRepository;
+        this.redisTemplate = redisTemplate;
+        this.maxSize = maxSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        matchingRepository.findDistinctLocations()
+                .forEach(location -> add(AddressResponseDto.builder().roadAddr(location).build()));
+
+        try {
+            Set<String> stored = redisTemplate.opsForSet().members(REDIS_KEY);
+            if (stored != null) {
+                stored.forEach(value -> add(fromRedisValue(value)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("failed to load addresses from redis", e);
+        }
+        log.info("address index loaded -> " + addressesByRoadAddr.size());
+    }
+
+    // 입력한 문자열로 시작하는 단어를 포함한 주소를 최대 limit 개 반환
+    public List<AddressResponseDto> search(String keyword, int limit) {
+        String prefix = normalize(keyword);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, AddressResponseDto> result = new LinkedHashMap<>();
+        for (AddressResponseDto address : index.subMap(prefix, prefix + MAX_CHAR).values()) {
+            result.putIfAbsent(address.getRoadAddr(), address);
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    // 원격 API 결과를 응답 이후에 인덱스와 Redis 에 반영
+    @Async
+    public void merge(List<AddressResponseDto> addresses) {
+        List<String> values = new ArrayList<>();
+        for (AddressResponseDto address : addresses) {
+            if (add(address)) {
+                values.add(toRedisValue(address));
+            }
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForSet().add(REDIS_KEY, values.toArray(String[]::new));
+            trimRedis();
+        } catch (RuntimeException e) {
+            log.warn("failed to store addresses to redis", e);
+        }
+    }
+
+    // 최대 개수를 넘으면 넘친 만큼 임의로 제거 (재조회되면 다시 추가됨)
+    private void trimRedis() {
+        Long size = redisTemplate.opsForSet().size(REDIS_KEY);
+        if (size != null && size > maxSize) {
+            redisTemplate.opsForSet().pop(REDIS_KEY, size - maxSize);
+        }
+    }
+
+    public int size() {
+        return addressesByRoadAddr.size();
+    }
+
+    // 이미 같은 정보로 들어 있으면 false, 우편번호 등 정보가 더 많은 결과는 기존 항목을 대체
+    private synchronized boolean add(AddressResponseDto address) {
+        if (address.getRoadAddr() == null || address.getRoadAddr().isBlank()) {
+            return false;
+        }
+        String roadAddr = normalize(address.getRoadAddr());
+        AddressResponseDto previous = addressesByRoadAddr.get(roadAddr);
+        if (previous == null && addressesByRoadAddr.size() >= maxSize) {
+            return false;
+        }
+        if (previous != null) {
+            if (previous.getZipNo() != null || address.getZipNo() == null) {
+                return false;
+            }
+            removeKeys(roadAddr, previous);
+        }
+
+        addressesByRoadAddr.put(roadAddr, address);
+        keysOf(roadAddr, address).forEach(key -> index.put(key, address));
+        return true;
+    }
+
+    private void removeKeys(String roadAddr, AddressResponseDto address) {
+        keysOf(roadAddr, address).forEach(index::remove);
+    }
+
+    private static List<String> keysOf(String roadAddr, AddressResponseDto address) {
+        List<String> keys = new ArrayList<>();
+        addSuffixKeys(keys, roadAddr, roadAddr);
+        if (address.getJibunAddr() != null && !address.getJibunAddr().isBlank()) {
+            addSuffixKeys(keys, normalize(address.getJibunAddr()), roadAddr);
+        }
+        return keys;
+    }
+
+    private static void addSuffixKeys(List<String> keys, String text, String roadAddr) {
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                keys.add(text.substring(i) + KEY_SEPARATOR + roadAddr);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private static String toRedisValue(AddressResponseDto address) {
+        return String.join(FIELD_SEPARATOR, address.getRoadAddr(),
+                nullToEmpty(address.getJibunAddr()), nullToEmpty(address.getZipNo()));
+    }
+
+    private static AddressResponseDto fromRedisValue(String value) {
+        String[] tokens = value.split(FIELD_SEPARATOR, -1);
+        return AddressResponseDto.builder()
+                .roadAddr(tokens[0])
+                .jibunAddr(tokens.length > 1 && !tokens[1].isEmpty() ? tokens[1] : null)
+                .zipNo(tokens.length > 2 && !tokens[2].isEmpty() ? tokens[2] : null)
+                .build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AddressServiceImpl implements AddressService {
 
     private final AddressApiFeignClient addressApiFeignClient;
+    private final AddressIndex addressIndex;
 
     @Value("${address-api.key}")
     private String apiKey;
@@ -24,11 +25,24 @@ public class AddressServiceImpl implements AddressService {
     @Override
     public List<AddressResponseDto> getAddressService(String keyword) {
         AddressRequestDto addressRequestDto = AddressRequestDto.fromKeyword(keyword);
+        int limit = addressRequestDto.getCountPerPage();
+        List<AddressResponseDto> localAddresses = addressIndex.search(keyword, limit);
+        if (!localAddresses.isEmpty()) { // 로컬 인덱스에 있으면 API 호출 생략
+            return localAddresses;
+        }
+
+        // 로컬에 없는 주소만 API 로 조회하고 다음 검색을 위해 인덱스에 추가
+        List<AddressResponseDto> remoteAddresses = getRemoteAddresses(addressRequestDto);
+        addressIndex.merge(remoteAddresses);
+        return remoteAddresses;
+    }
+
+    private List<AddressResponseDto> getRemoteAddresses(AddressRequestDto addressRequestDto) {
         JusoResponse jusoResponse = addressApiFeignClient
                 .getAddress(apiKey,
                         addressRequestDto.getCurrentPage(),
                         addressRequestDto.getCountPerPage(),
-                        keyword,
+                        addressRequestDto.getKeyword(),
                         addressRequestDto.getResultType(),
                         addressRequestDto.getHstryYn(),
                         addressRequestDto.getFirstSort());
@@ -42,4 +56,4 @@ public class AddressServiceImpl implements AddressService {
                         .build())
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.example.demo.openfeign.service.geocode;
+
+import com.example.demo.matching.dto.GeocodeDto;
+
+public interface GeocodeService {
+
+    GeocodeDto geocode(String address);
+
+}
@@ -0,0 +1,159 @@
+package com.example.demo.openfeign.service.geocode;
+
+import static com.example.demo.exception.type.ErrorCode.LAT_AND_LON_NOT_FOUND;
+
+import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.dto.DocumentForAddressDto;
+import com.example.demo.matching.dto.GeocodeDto;
+import com.example.demo.matching.dto.LatAndLonResponseDto;
+import com.example.demo.matching.dto.RegionForAddressDto;
+import com.example.demo.matching.filter.Region;
+import com.example.demo.openfeign.feignclient.LatAndLonApiFeignClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+// 주소 -> 위경도, 지역 변환 결과 캐시 (로컬 LRU -> Redis -> 카카오 API 순으로 조회)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeocodeServiceImpl implements GeocodeService {
+
+    private static final String KEY_PREFIX = "geocode:";
+    private static final Duration REDIS_TTL = Duration.ofDays(30);
+
+    private final LatAndLonApiFeignClient latAndLonApiFeignClient;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${kakao.client_id}")
+    private String apiKey;
+
+    private final Cache<String, GeocodeDto> localCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    // 찾을 수 없는 주소는 잠시만 기억 (주소 데이터가 갱신될 수 있으므로 Redis 에는 저장하지 않음)
+    private final Cache<String, Boolean> notFoundCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    // 같은 주소를 동시에 조회하면 API 는 한 번만 호출하고 결과를 공유
+    private final Map<String, CompletableFuture<GeocodeDto>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public GeocodeDto geocode(String address) {
+        String key = normalize(address);
+
+        GeocodeDto cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (notFoundCache.getIfPresent(key) != null) {
+            throw new RacketPuncherException(LAT_AND_LON_NOT_FOUND);
+        }
+
+        CompletableFuture<GeocodeDto> future = new CompletableFuture<>();
+        CompletableFuture<GeocodeDto> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            GeocodeDto geocodeDto = load(key);
+            localCache.put(key, geocodeDto);
+            future.complete(geocodeDto);
+            return geocodeDto;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private GeocodeDto load(String key) {
+        GeocodeDto stored = getFromRedis(key);
+        if (stored != null) {
+            return stored;
+        }
+
+        LatAndLonResponseDto latAndLonResponse = latAndLonApiFeignClient.getLatAndLon(key, "KakaoAK " + apiKey);
+        if (latAndLonResponse == null || latAndLonResponse.getDocuments() == null
+                || latAndLonResponse.getDocuments().isEmpty()) {
+            notFoundCache.put(key, Boolean.TRUE);
+            throw new RacketPuncherException(LAT_AND_LON_NOT_FOUND);
+        }
+
+        GeocodeDto geocodeDto = toGeocodeDto(key, latAndLonResponse.getDocuments().get(0));
+        putToRedis(key, geocodeDto);
+        return geocodeDto;
+    }
+
+    private static GeocodeDto toGeocodeDto(String address, DocumentForAddressDto document) {
+        try {
+            double lon = Double.parseDouble(document.getX()); // 경도
+            double lat = Double.parseDouble(document.getY()); // 위도
+            RegionForAddressDto regionDto = document.getAddress();
+            Region region = regionDto == null ? Region.fromAddress(address)
+                    : Region.from(regionDto.getRegion1DepthName(), regionDto.getRegion2DepthName());
+            return new GeocodeDto(lat, lon, region);
+        } catch (Exception e) {
+            throw new RacketPuncherException(LAT_AND_LON_NOT_FOUND);
+        }
+    }
+
+    // Redis 장애 시에는 API 를 직접 호출
+    private GeocodeDto getFromRedis(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            if (value == null) {
+                return null;
+            }
+            String[] tokens = value.split(",", -1); // 위도,경도,지역
+            Region region = tokens[2].isEmpty() ? null : Region.valueOf(tokens[2]);
+            return new GeocodeDto(Double.parseDouble(tokens[0]), Double.parseDouble(tokens[1]), region);
+        } catch (RuntimeException e) {
+            log.warn("failed to read geocode from redis -> " + key, e);
+            return null;
+        }
+    }
+
+    private void putToRedis(String key, GeocodeDto geocodeDto) {
+        String region = geocodeDto.getRegion() == null ? "" : geocodeDto.getRegion().name();
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key,
+                    geocodeDto.getLat() + "," + geocodeDto.getLon() + "," + region, REDIS_TTL);
+        } catch (RuntimeException e) {
+            log.warn("failed to write geocode to redis -> " + key, e);
+        }
+    }
+
+    private static GeocodeDto join(CompletableFuture<GeocodeDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 앞뒤 공백과 연속된 공백을 정리해서 같은 주소는 같은 키가 되도록 함
+    private static String normalize(String address) {
+        if (address == null || address.isBlank()) {
+            throw new RacketPuncherException(LAT_AND_LON_NOT_FOUND);
+        }
+        return address.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -3,6 +3,8 @@ package com.example.demo.openfeign.service.weather;
 import com.example.demo.entity.Matching;
 import com.example.demo.openfeign.dto.weather.WeatherResponseDto;
 import com.example.demo.notification.dto.LocationAndDateFromMatching;
+import java.util.Collection;
+import java.util.Map;
 
 public interface WeatherService {
 
@@ -10,4 +12,8 @@ public interface WeatherService {
 
     WeatherResponseDto getWeatherResponseDtoByMatching(Matching matching);
 
+    // 조회 단위별 날씨 (조회에 실패한 단위는 결과에 없음)
+    Map<LocationAndDateFromMatching, WeatherResponseDto> getWeathers(
+            Collection<LocationAndDateFromMatching> locationAndDates);
+
 }
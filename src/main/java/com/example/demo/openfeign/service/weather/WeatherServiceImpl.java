@@ -11,37 +11,67 @@ import com.example.demo.openfeign.dto.weather.WeatherResponseDto;
 import com.example.demo.openfeign.feignclient.WeatherApiFeignClient;
 import com.example.demo.type.PrecipitationType;
 import com.example.demo.util.dateformatter.DateFormatter;
+import jakarta.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @Transactional
-@RequiredArgsConstructor
 public class WeatherServiceImpl implements WeatherService {
     private final WeatherApiFeignClient weatherApiFeignClient;
 
+    // 공공데이터 API 호출 제한을 넘지 않도록 동시에 호출하는 수를 제한
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
     @Value("${weather-api.key}")
     private String apiKey;
 
+    public WeatherServiceImpl(WeatherApiFeignClient weatherApiFeignClient,
+                              @Value("${weather-api.max-concurrency:4}") int maxConcurrency) {
+        this.weatherApiFeignClient = weatherApiFeignClient;
+        this.permits = new Semaphore(Math.max(maxConcurrency, 1));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(maxConcurrency, 1),
+                runnable -> new Thread(runnable, "weather-api-" + threadNumber.incrementAndGet()));
+    }
+
     @Override
     public WeatherResponseDto getWeather(LocationAndDateFromMatching
                                                  locationAndDateFromMatching) {
         WeatherRequestDto weatherRequestDto
                 = WeatherRequestDto.fromLocationAndDate(locationAndDateFromMatching);
-        WeatherResponse weatherResponse = weatherApiFeignClient
-                .getWeather(apiKey,
-                        weatherRequestDto.getNumOfRows(),
-                        weatherRequestDto.getPageNo(),
-                        weatherRequestDto.getDataType(),
-                        weatherRequestDto.getBaseDate(),
-                        weatherRequestDto.getBaseTime(),
-                        weatherRequestDto.getNx(),
-                        weatherRequestDto.getNy());
+        WeatherResponse weatherResponse;
+        permits.acquireUninterruptibly();
+        try {
+            weatherResponse = weatherApiFeignClient
+                    .getWeather(apiKey,
+                            weatherRequestDto.getNumOfRows(),
+                            weatherRequestDto.getPageNo(),
+                            weatherRequestDto.getDataType(),
+                            weatherRequestDto.getBaseDate(),
+                            weatherRequestDto.getBaseTime(),
+                            weatherRequestDto.getNx(),
+                            weatherRequestDto.getNy());
+        } finally {
+            permits.release();
+        }
 
         List<Item> items = weatherResponse.getResponse()
                 .getBody().getItems().getItem();
@@ -64,16 +94,36 @@ public class WeatherServiceImpl implements WeatherService {
 
     @Override
     public WeatherResponseDto getWeatherResponseDtoByMatching(Matching matching) {
-        String nx = String.valueOf((int) Math.round(matching.getLat()));
-        String ny = String.valueOf((int) Math.round(matching.getLon()));
-        var locationAndDateFromMatching
-                = LocationAndDateFromMatching.builder()
-                .baseDate(LocalDateTime.now().format(formForWeather))
-                .nx(nx)
-                .ny(ny)
-                .build();
+        var locationAndDateFromMatching = LocationAndDateFromMatching.fromMatching(matching,
+                LocalDateTime.now().format(formForWeather));
 
         var weatherDto = getWeather(locationAndDateFromMatching);
         return weatherDto;
     }
+
+    @Override
+    public Map<LocationAndDateFromMatching, WeatherResponseDto> getWeathers(
+            Collection<LocationAndDateFromMatching> locationAndDates) {
+        Map<LocationAndDateFromMatching, CompletableFuture<WeatherResponseDto>> futures = new HashMap<>();
+        for (LocationAndDateFromMatching locationAndDate : new HashSet<>(locationAndDates)) {
+            futures.put(locationAndDate, CompletableFuture.supplyAsync(() -> getWeather(locationAndDate), executor));
+        }
+
+        // 한 곳의 조회가 실패해도 나머지 결과는 사용
+        Map<LocationAndDateFromMatching, WeatherResponseDto> weathers = new HashMap<>();
+        futures.forEach((locationAndDate, future) -> {
+            try {
+                weathers.put(locationAndDate, future.join());
+            } catch (CompletionException e) {
+                log.warn("failed to get weather -> " + locationAndDate.getBaseDate() + ", "
+                        + locationAndDate.getNx() + ", " + locationAndDate.getNy(), e.getCause());
+            }
+        });
+        return weathers;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.demo.outbox.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSystemMessagePayload {
+    private String matchingId;
+    private String content;
+    private String sentTime; // DynamoDB 정렬 키, 다시 전달되어도 같은 항목을 덮어쓰도록 저장 시점에 고정
+}
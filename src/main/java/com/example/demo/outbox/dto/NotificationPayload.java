@@ -0,0 +1,18 @@
+package com.example.demo.outbox.dto;
+
+import com.example.demo.type.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPayload {
+    private Long siteUserId;
+    private Long matchingId; // 특정 매칭과 관련없는 알림의 경우 null
+    private NotificationType notificationType;
+    private String content; // WEATHER 메시지는 공유 상태라 저장 시점의 내용을 보관
+}
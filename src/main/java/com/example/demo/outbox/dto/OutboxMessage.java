@@ -0,0 +1,13 @@
+package com.example.demo.outbox.dto;
+
+import com.example.demo.type.OutboxEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+    private Long id;
+    private OutboxEventType eventType;
+    private String payload;
+}
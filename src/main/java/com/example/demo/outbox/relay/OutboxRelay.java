@@ -0,0 +1,186 @@
+package com.example.demo.outbox.relay;
+
+import com.example.demo.chat.service.ChatNotificationService;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.Notification;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.notification.repository.NotificationBulkRepository;
+import com.example.demo.notification.repository.NotificationReplayBuffer;
+import com.example.demo.notification.repository.NotificationUnreadCounter;
+import com.example.demo.notification.service.NotificationDispatcher;
+import com.example.demo.outbox.dto.ChatSystemMessagePayload;
+import com.example.demo.outbox.dto.NotificationPayload;
+import com.example.demo.outbox.dto.OutboxMessage;
+import com.example.demo.outbox.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// OUTBOX 에 커밋된 메시지를 모아서 전달 (최소 한 번 전달)
+// 알림 INSERT 와 처리 완료 표시는 같은 트랜잭션이라 알림이 중복 저장되지 않고,
+// 채팅 시스템 메시지는 DynamoDB 키(매칭 id, 전송 시각)가 고정이라 다시 전달되어도 같은 항목을 덮어씀
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final NotificationReplayBuffer notificationReplayBuffer;
+    private final ChatNotificationService chatNotificationService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int retentionDays;
+
+    private final Counter relayed;
+    private final Counter failed;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       NotificationBulkRepository notificationBulkRepository,
+                       NotificationDispatcher notificationDispatcher,
+                       NotificationUnreadCounter notificationUnreadCounter,
+                       NotificationReplayBuffer notificationReplayBuffer,
+                       ChatNotificationService chatNotificationService,
+                       EntityManager entityManager,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-attempts:5}") int maxAttempts,
+                       @Value("${outbox.retention-days:3}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.notificationReplayBuffer = notificationReplayBuffer;
+        this.chatNotificationService = chatNotificationService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+
+        this.relayed = Counter.builder("outbox.relay").tag("result", "relayed").register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay").tag("result", "failed").register(meterRegistry);
+    }
+
+    // 한 번에 가져온 개수가 가득 차면 밀린 메시지가 있는 것이므로 바로 다음 묶음을 처리
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-millis:500}")
+    public void relay() {
+        int relayedCount;
+        do {
+            relayedCount = relayBatch();
+        } while (relayedCount == batchSize);
+    }
+
+    @Scheduled(cron = "${outbox.cleanup.cron:0 40 0 * * *}") // 매일 00:40분에 수행
+    public void deleteProcessedMessages() {
+        int deleted = outboxRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("processed outbox messages deleted -> " + deleted);
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> claimed = new ArrayList<>();
+        List<Notification> saved = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                claimed.addAll(outboxRepository.findUnprocessedForUpdate(batchSize, maxAttempts));
+                saved.addAll(deliver(claimed));
+            });
+        } catch (RuntimeException e) {
+            // 묶음 중 하나 때문에 전체가 실패하지 않도록 하나씩 다시 처리
+            log.warn("outbox batch failed, retrying one by one -> " + claimed.size(), e);
+            claimed.forEach(message -> relayOne(message.getId()));
+            return claimed.size();
+        }
+
+        // SSE 전송과 읽지 않은 알림 수 증가는 커밋 후에 (전송이 느려도 OUTBOX 잠금을 오래 잡지 않도록)
+        afterCommit(saved);
+        return claimed.size();
+    }
+
+    private void relayOne(long id) {
+        List<Notification> saved = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository
+                    .findUnprocessedByIdForUpdate(id, maxAttempts)
+                    .ifPresent(message -> saved.addAll(deliver(List.of(message)))));
+        } catch (RuntimeException e) {
+            // 최대 시도 횟수를 넘으면 더 이상 가져오지 않음 (OUTBOX 에 남아 있으므로 확인 후 재처리 가능)
+            failed.increment();
+            outboxRepository.increaseAttempts(id);
+            log.error("failed to relay outbox message -> " + id, e);
+            return;
+        }
+        afterCommit(saved);
+    }
+
+    private void afterCommit(List<Notification> saved) {
+        if (saved.isEmpty()) {
+            return;
+        }
+        notificationUnreadCounter.increase(saved.stream()
+                .collect(Collectors.groupingBy(notification -> notification.getSiteUser().getId(),
+                        Collectors.counting())));
+        // 전송 큐가 가득 차서 버려진 알림도 재연결 시 다시 보낼 수 있도록 큐에 넣기 전에 버퍼에 보관
+        saved.forEach(notification -> notificationReplayBuffer.append(notification.getSiteUser().getId(),
+                notification.getId(), notification.getContent()));
+        saved.forEach(notificationDispatcher::enqueue);
+    }
+
+    private List<Notification> deliver(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        List<Notification> notifications = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            switch (message.getEventType()) {
+                case NOTIFICATION -> notifications.add(toNotification(read(message, NotificationPayload.class)));
+                case CHAT_SYSTEM_MESSAGE -> chatNotificationService
+                        .deliverSystemMessage(read(message, ChatSystemMessagePayload.class));
+            }
+        }
+
+        List<Notification> saved = notificationBulkRepository.saveAll(notifications);
+        outboxRepository.markProcessed(messages.stream().map(OutboxMessage::getId).toList());
+        relayed.increment(messages.size());
+        return saved;
+    }
+
+    // 알림 저장에는 id 만 필요하므로 회원, 매칭은 조회하지 않고 참조만 사용
+    private Notification toNotification(NotificationPayload payload) {
+        return Notification.builder()
+                .siteUser(entityManager.getReference(SiteUser.class, payload.getSiteUserId()))
+                .matching(payload.getMatchingId() == null
+                        ? null : entityManager.getReference(Matching.class, payload.getMatchingId()))
+                .notificationType(payload.getNotificationType())
+                .content(payload.getContent())
+                .build();
+    }
+
+    private <T> T read(OutboxMessage message, Class<T> payloadType) {
+        try {
+            return objectMapper.readValue(message.getPayload(), payloadType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid outbox payload -> " + message.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.outbox.repository;
+
+import com.example.demo.outbox.dto.OutboxMessage;
+import com.example.demo.type.OutboxEventType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// 호출한 쪽의 트랜잭션에 참여해서 상태 변경과 같은 트랜잭션으로 저장됨
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 같은 멱등성 키가 이미 있으면 무시 (중복 키 예외로 호출한 쪽 트랜잭션이 롤백되지 않도록)
+    public void save(OutboxEventType eventType, String idempotencyKey, String payload) {
+        jdbcTemplate.update("INSERT INTO OUTBOX (EVENT_TYPE, IDEMPOTENCY_KEY, PAYLOAD, ATTEMPTS, CREATE_TIME) "
+                        + "VALUES (:eventType, :idempotencyKey, :payload, 0, :createTime) "
+                        + "ON DUPLICATE KEY UPDATE ID = ID",
+                Map.of("eventType", eventType.name(),
+                        "idempotencyKey", idempotencyKey,
+                        "payload", payload,
+                        "createTime", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    // 멱등성 키 -> 내용, 한 번의 배치로 저장
+    public void saveAll(OutboxEventType eventType, Map<String, String> payloadsByIdempotencyKey) {
+        if (payloadsByIdempotencyKey.isEmpty()) {
+            return;
+        }
+        Timestamp createTime = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO OUTBOX (EVENT_TYPE, IDEMPOTENCY_KEY, PAYLOAD, ATTEMPTS, CREATE_TIME) "
+                        + "VALUES (:eventType, :idempotencyKey, :payload, 0, :createTime) "
+                        + "ON DUPLICATE KEY UPDATE ID = ID",
+                payloadsByIdempotencyKey.entrySet().stream()
+                        .map(entry -> new MapSqlParameterSource()
+                                .addValue("eventType", eventType.name())
+                                .addValue("idempotencyKey", entry.getKey())
+                                .addValue("payload", entry.getValue())
+                                .addValue("createTime", createTime))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    // 여러 서버의 릴레이가 서로 다른 메시지를 가져가도록 잠긴 행은 건너뜀
+    public List<OutboxMessage> findUnprocessedForUpdate(int limit, int maxAttempts) {
+        return jdbcTemplate.query("SELECT ID, EVENT_TYPE, PAYLOAD FROM OUTBOX "
+                        + "WHERE PROCESSED_TIME IS NULL AND ATTEMPTS < :maxAttempts "
+                        + "ORDER BY ID LIMIT :limit FOR UPDATE SKIP LOCKED",
+                Map.of("maxAttempts", maxAttempts, "limit", limit),
+                OutboxRepository::toOutboxMessage);
+    }
+
+    public Optional<OutboxMessage> findUnprocessedByIdForUpdate(long id, int maxAttempts) {
+        return jdbcTemplate.query("SELECT ID, EVENT_TYPE, PAYLOAD FROM OUTBOX "
+                                + "WHERE ID = :id AND PROCESSED_TIME IS NULL AND ATTEMPTS < :maxAttempts "
+                                + "FOR UPDATE SKIP LOCKED",
+                        Map.of("id", id, "maxAttempts", maxAttempts),
+                        OutboxRepository::toOutboxMessage)
+                .stream()
+                .findFirst();
+    }
+
+    public void markProcessed(Collection<Long> ids) {
+        jdbcTemplate.update("UPDATE OUTBOX SET PROCESSED_TIME = :processedTime WHERE ID IN (:ids)",
+                Map.of("processedTime", Timestamp.valueOf(LocalDateTime.now()), "ids", ids));
+    }
+
+    public void increaseAttempts(long id) {
+        jdbcTemplate.update("UPDATE OUTBOX SET ATTEMPTS = ATTEMPTS + 1 WHERE ID = :id", Map.of("id", id));
+    }
+
+    public int deleteProcessedBefore(LocalDateTime dateTime) {
+        return jdbcTemplate.update("DELETE FROM OUTBOX WHERE PROCESSED_TIME < :dateTime",
+                Map.of("dateTime", Timestamp.valueOf(dateTime)));
+    }
+
+    private static OutboxMessage toOutboxMessage(ResultSet rs, int rowNum) throws SQLException {
+        return new OutboxMessage(rs.getLong("ID"),
+                OutboxEventType.valueOf(rs.getString("EVENT_TYPE")),
+                rs.getString("PAYLOAD"));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.outbox.service;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.type.NotificationType;
+import java.util.List;
+
+public interface OutboxService {
+
+    void saveNotification(SiteUser siteUser, Matching matching, NotificationType notificationType, String source);
+
+    void saveNotifications(List<SiteUser> siteUsers, Matching matching, NotificationType notificationType,
+                           String source);
+
+    void saveChatSystemMessage(String matchingId, String content, String idempotencyKey);
+}
@@ -0,0 +1,86 @@
+package com.example.demo.outbox.service;
+
+import static com.example.demo.util.dateformatter.DateFormatter.formForDateTime;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.outbox.dto.ChatSystemMessagePayload;
+import com.example.demo.outbox.dto.NotificationPayload;
+import com.example.demo.outbox.repository.OutboxRepository;
+import com.example.demo.type.NotificationType;
+import com.example.demo.type.OutboxEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+// 알림, 채팅 시스템 메시지를 상태 변경과 같은 트랜잭션으로 OUTBOX 에 저장 (전달은 OutboxRelay 가 담당)
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // source 는 알림을 만든 상태 변경 (신청 상태 변경, 매칭 수정, 매칭 상태 전이 등)
+    @Override
+    public void saveNotification(SiteUser siteUser, Matching matching, NotificationType notificationType,
+                                 String source) {
+        outboxRepository.save(OutboxEventType.NOTIFICATION,
+                notificationKey(siteUser, matching, notificationType, source),
+                toJson(buildNotificationPayload(siteUser, matching, notificationType)));
+    }
+
+    @Override
+    public void saveNotifications(List<SiteUser> siteUsers, Matching matching, NotificationType notificationType,
+                                  String source) {
+        Map<String, String> payloads = new LinkedHashMap<>();
+        siteUsers.forEach(siteUser -> payloads.put(notificationKey(siteUser, matching, notificationType, source),
+                toJson(buildNotificationPayload(siteUser, matching, notificationType))));
+        outboxRepository.saveAll(OutboxEventType.NOTIFICATION, payloads);
+    }
+
+    private static NotificationPayload buildNotificationPayload(SiteUser siteUser, Matching matching,
+                                                                NotificationType notificationType) {
+        return NotificationPayload.builder()
+                .siteUserId(siteUser.getId())
+                .matchingId(matching == null ? null : matching.getId())
+                .notificationType(notificationType)
+                .content(notificationType.getMessage())
+                .build();
+    }
+
+    // 같은 상태 변경으로 같은 회원에게 가는 알림은 같은 키 (작업이 다시 실행되어도 한 번만 저장)
+    // 같은 전이가 다시 일어나면(수락 -> 대기 -> 수락) source 가 달라지므로 새 알림
+    private static String notificationKey(SiteUser siteUser, Matching matching, NotificationType notificationType,
+                                          String source) {
+        String transition = notificationType.name() + ":" + (matching == null ? "" : matching.getId())
+                + ":" + siteUser.getId() + ":" + source;
+        return "notification:" + UUID.nameUUIDFromBytes(transition.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void saveChatSystemMessage(String matchingId, String content, String idempotencyKey) {
+        var payload = ChatSystemMessagePayload.builder()
+                .matchingId(matchingId)
+                .content(content)
+                .sentTime(formForDateTime.format(LocalDateTime.now()))
+                .build();
+
+        outboxRepository.save(OutboxEventType.CHAT_SYSTEM_MESSAGE, idempotencyKey, toJson(payload));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("failed to serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.apply.repository.ApplyRepository;
+import com.example.demo.chat.service.ChatNotificationService;
+import com.example.demo.entity.Apply;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.notification.service.NotificationService;
+import com.example.demo.scheduler.dto.DateTimeInfo;
+import com.example.demo.scheduler.lock.SchedulerLease;
+import com.example.demo.scheduler.repository.SchedulerFailureRepository;
+import com.example.demo.scheduler.repository.SchedulerWatermarkRepository;
+import com.example.demo.type.ApplyStatus;
+import com.example.demo.type.NotificationType;
+import com.example.demo.type.RecruitStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+// 모집 마감, 경기 종료 처리
+// 평소에는 MatchingDeadlineTimer 가 시각에 맞춰 전달한 매칭을 처리하고, 스케줄러의 주기적인 조회는 빠진 매칭을 처리
+// 대상 매칭 id 를 페이지 단위로 조회하고, 페이지를 묶음으로 나눠 묶음마다 짧은 트랜잭션으로 병렬 처리
+// 한 묶음이 실패해도 그 묶음만 롤백되고 나머지는 계속 처리 (실패한 묶음은 매칭 하나씩 다시 처리해서 실패한 매칭만 골라냄)
+// 실패한 매칭은 SCHEDULER_FAILURE 에 시도 횟수를 남기고, 최대 시도 횟수에 도달하면 건너뛰어서 한 매칭 때문에 작업 전체가 멈추지 않도록 함
+@Slf4j
+@Component
+public class MatchingConfirmJob {
+
+    public static final String JOB_NAME = "matching-confirm";
+
+    private final MatchingRepository matchingRepository;
+    private final ApplyRepository applyRepository;
+    private final NotificationService notificationService;
+    private final ChatNotificationService chatNotificationService;
+    private final SchedulerWatermarkRepository schedulerWatermarkRepository;
+    private final SchedulerFailureRepository schedulerFailureRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int pageSize;
+    private final int chunkSize;
+    private final long shutdownTimeoutSeconds;
+    private final Duration maxWindow;
+    private final Duration initialLookback;
+    private final int maxAttempts;
+
+    private final Map<MatchingTransition, Queue<Long>> fired = new EnumMap<>(MatchingTransition.class);
+
+    // 마지막 주기적인 조회에서 이 서버가 잠금을 얻은 shard (타이머는 모든 서버에서 울리므로 이 shard 의 매칭만 처리)
+    private volatile List<SchedulerLease> timerLeases = List.of();
+
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Counter notLeased;
+
+    public MatchingConfirmJob(MatchingRepository matchingRepository,
+                              ApplyRepository applyRepository,
+                              NotificationService notificationService,
+                              ChatNotificationService chatNotificationService,
+                              SchedulerWatermarkRepository schedulerWatermarkRepository,
+                              SchedulerFailureRepository schedulerFailureRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${scheduler.confirm.parallelism:4}") int parallelism,
+                              @Value("${scheduler.confirm.page-size:500}") int pageSize,
+                              @Value("${scheduler.confirm.chunk-size:50}") int chunkSize,
+                              @Value("${scheduler.confirm.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds,
+                              @Value("${scheduler.confirm.max-window-minutes:60}") long maxWindowMinutes,
+                              @Value("${scheduler.confirm.initial-lookback-minutes:1440}") long initialLookbackMinutes,
+                              @Value("${scheduler.confirm.max-attempts:3}") int maxAttempts) {
+        this.matchingRepository = matchingRepository;
+        this.applyRepository = applyRepository;
+        this.notificationService = notificationService;
+        this.chatNotificationService = chatNotificationService;
+        this.schedulerWatermarkRepository = schedulerWatermarkRepository;
+        this.schedulerFailureRepository = schedulerFailureRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.chunkSize = chunkSize;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.maxWindow = Duration.ofMinutes(maxWindowMinutes);
+        this.initialLookback = Duration.ofMinutes(initialLookbackMinutes);
+        this.maxAttempts = maxAttempts;
+
+        // 스케줄러 스레드와 별도로 두고, 동시에 잡는 DB 커넥션 수를 병렬 수로 제한
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(parallelism, 1),
+                runnable -> new Thread(runnable, "matching-confirm-" + threadNumber.incrementAndGet()));
+
+        for (MatchingTransition transition : MatchingTransition.values()) {
+            fired.put(transition, new ConcurrentLinkedQueue<>());
+        }
+
+        this.processed = counter(meterRegistry, "processed");
+        this.failed = counter(meterRegistry, "failed");
+        this.deadLettered = counter(meterRegistry, "dead-lettered");
+        this.notLeased = counter(meterRegistry, "not-leased");
+    }
+
+    // 잠금의 shard 에 속한 매칭만 처리
+    public void confirm(DateTimeInfo dateTimeInfo, SchedulerLease lease) {
+        confirmDueMatches(dateTimeInfo.getRecruitDueDateTime(), lease);
+
+        process("finish", lease, afterId -> matchingRepository.findIdsByRecruitStatusFinished(RecruitStatus.CONFIRMED,
+                dateTimeInfo.getToday(), dateTimeInfo.getCurrentTime(), afterId, page()),
+                this::changeRecruitStatusesToFinished);
+
+        process("finish-weather-issue", lease, afterId -> matchingRepository.findIdsByRecruitStatusFinished(
+                RecruitStatus.WEATHER_ISSUE, dateTimeInfo.getToday(), dateTimeInfo.getCurrentTime(), afterId, page()),
+                this::changeRecruitStatusesToFinished);
+
+        process("chat-close", lease, afterId -> matchingRepository.findIdsWithEndTimeWithinLastHour(afterId, page()),
+                this::sendChatRoomWillClose);
+    }
+
+    // 마지막으로 처리한 시각 이후부터 지금까지 모집이 마감된 매칭을 처리 (실행이 밀려도 빠지는 매칭이 없도록)
+    // 밀린 구간은 최대 구간 크기씩 나눠 처리하고, 구간의 매칭이 모두 성공하거나 최대 시도 횟수에 도달해야 다음 구간으로 넘어감
+    // 실패한 구간은 다음 실행에서 다시 처리 (이미 확정/실패한 매칭은 상태가 바뀌지 않으므로 다시 처리해도 같은 결과)
+    // 처리 기록은 shard 별로 보관 (shard 수를 바꾸면 새 기록이므로 처음 조회 범위부터 다시 처리)
+    private void confirmDueMatches(LocalDateTime now, SchedulerLease lease) {
+        LocalDateTime watermark = schedulerWatermarkRepository.find(lease.getName())
+                .orElse(now.minus(initialLookback));
+
+        while (watermark.isBefore(now)) {
+            LocalDateTime from = watermark;
+            LocalDateTime to = from.plus(maxWindow).isBefore(now) ? from.plus(maxWindow) : now;
+
+            boolean succeed = process("confirm", lease, afterId -> matchingRepository.findIdsByRecruitDueDateTimeBetween(
+                    from, to, afterId, page()), this::changeStatusOfMatches);
+            if (!succeed) {
+                log.warn("matching confirm stopped, will retry from -> " + from);
+                return;
+            }
+            schedulerWatermarkRepository.save(lease.getName(), to, lease.getFencingToken());
+            watermark = to;
+        }
+    }
+
+    // 한 페이지의 묶음이 모두 끝난 뒤 다음 페이지를 조회해서 메모리에는 한 페이지만 유지
+    // 모든 매칭이 성공하거나 최대 시도 횟수에 도달하면 true, 잠금을 잃으면 다른 서버가 이어서 처리하도록 멈춤
+    private boolean process(String step, SchedulerLease lease, LongFunction<List<Long>> findPage,
+                            Consumer<List<Long>> handleChunk) {
+        AtomicBoolean succeed = new AtomicBoolean(true);
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            if (!lease.isValid()) {
+                log.warn("matching " + step + " step is stopped, scheduler lock is lost -> " + lease.getName());
+                return false;
+            }
+            List<Long> page = findPage.apply(afterId);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> matchingIds = page.stream().filter(lease::owns).toList();
+
+            CompletableFuture.allOf(partition(matchingIds).stream()
+                            .map(chunk -> CompletableFuture.runAsync(() -> {
+                                if (!processOrIsolate(step, chunk, handleChunk)) {
+                                    succeed.set(false);
+                                }
+                            }, workers))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+
+            total += matchingIds.size();
+            afterId = page.get(page.size() - 1);
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        log.info("matching " + step + " step is finished -> " + total);
+        return succeed.get();
+    }
+
+    // 묶음이 실패하면 매칭 하나씩 다시 처리해서 실패한 매칭만 시도 횟수를 기록
+    private boolean processOrIsolate(String step, List<Long> chunk, Consumer<List<Long>> handleChunk) {
+        if (chunk.size() > 1) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> handleChunk.accept(chunk));
+                processed.increment(chunk.size());
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("matching " + step + " chunk failed, retrying one by one -> " + chunk, e);
+            }
+        }
+
+        boolean done = true;
+        for (Long matchingId : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> handleChunk.accept(List.of(matchingId)));
+                processed.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                done &= recordFailure(step, matchingId, e);
+            }
+        }
+        return done;
+    }
+
+    // 최대 시도 횟수에 도달했으면 더 이상 다시 처리하지 않으므로 true
+    private boolean recordFailure(String step, Long matchingId, RuntimeException cause) {
+        try {
+            int attempts = schedulerFailureRepository.recordFailure(JOB_NAME + ":" + step, matchingId, cause.toString());
+            if (attempts >= maxAttempts) {
+                deadLettered.increment();
+                log.error("matching " + step + " skipped after " + attempts + " attempts -> " + matchingId, cause);
+                return true;
+            }
+            log.error("matching " + step + " failed (" + attempts + "/" + maxAttempts + ") -> " + matchingId, cause);
+        } catch (RuntimeException e) {
+            log.error("failed to record matching " + step + " failure -> " + matchingId, e);
+        }
+        return false;
+    }
+
+    private boolean processChunk(String step, List<Long> chunk, Consumer<List<Long>> handleChunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> handleChunk.accept(chunk));
+            processed.increment(chunk.size());
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment(chunk.size());
+            log.error("matching " + step + " chunk failed -> " + chunk, e);
+            return false;
+        }
+    }
+
+    // 타이머가 시각에 맞춰 전달한 매칭을 모아서 묶음 단위로 처리
+    // 실패한 묶음은 스케줄러의 주기적인 조회에서 다시 처리됨
+    // 다른 서버가 잠금을 얻은 shard 의 매칭은 그 서버의 타이머가, 아무도 얻지 못한 shard 는 다음 조회가 처리
+    public void fire(MatchingTransition transition, Long matchingId) {
+        if (timerLeases.stream().noneMatch(lease -> lease.isValid() && lease.owns(matchingId))) {
+            notLeased.increment();
+            return;
+        }
+        fired.get(transition).add(matchingId);
+        workers.execute(() -> drain(transition));
+    }
+
+    // 다음 조회까지 유지 (잠금을 하나도 얻지 못했으면 이 서버의 타이머는 처리하지 않음)
+    public void assignTimerShards(List<SchedulerLease> leases) {
+        timerLeases = List.copyOf(leases);
+    }
+
+    private void drain(MatchingTransition transition) {
+        Queue<Long> queue = fired.get(transition);
+        List<Long> chunk = new ArrayList<>(chunkSize);
+        Long matchingId;
+        while (chunk.size() < chunkSize && (matchingId = queue.poll()) != null) {
+            chunk.add(matchingId);
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(transition.name(), chunk, handler(transition));
+        }
+    }
+
+    private Consumer<List<Long>> handler(MatchingTransition transition) {
+        return switch (transition) {
+            case CONFIRM -> this::changeStatusOfMatches;
+            case FINISH -> this::changeRecruitStatusesToFinished;
+            case CHAT_CLOSE -> this::sendChatRoomWillClose;
+        };
+    }
+
+    // 타이머가 전달한 뒤 매칭이 수정되었을 수 있으므로 시각과 상태를 다시 확인
+    private void changeStatusOfMatches(List<Long> matchingIds) {
+        List<Matching> matches = matchingRepository.findAllWithSiteUserByIdInForUpdate(matchingIds);
+        Map<Long, List<SiteUser>> acceptedUsers = findAcceptedUsers(matchingIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (Matching matching : matches) {
+            if (matching.getRecruitDueDateTime().isAfter(now)) {
+                continue;
+            }
+            List<SiteUser> siteUsers = acceptedUsers.getOrDefault(matching.getId(), List.of());
+
+            if (RecruitStatus.FULL.equals(matching.getRecruitStatus())) {
+                matching.changeRecruitStatus(RecruitStatus.CONFIRMED);
+                log.info("matching succeed -> " + matching.getId());
+                notificationService.createAndSendNotifications(siteUsers, matching, NotificationType.MATCHING_CLOSED,
+                        statusSource(matching));
+            } else if (RecruitStatus.OPEN.equals(matching.getRecruitStatus())) {
+                matching.changeRecruitStatus(RecruitStatus.FAILED);
+                log.info("matching failed -> " + matching.getId());
+                notificationService.createAndSendNotifications(siteUsers, matching, NotificationType.MATCHING_FAILED,
+                        statusSource(matching));
+            }
+        }
+    }
+
+    // 확정된 매칭과 날씨 이슈가 있었지만 인원이 찬 매칭을 종료
+    private void changeRecruitStatusesToFinished(List<Long> matchingIds) {
+        List<Matching> matches = matchingRepository.findAllWithSiteUserByIdInForUpdate(matchingIds);
+        Map<Long, List<SiteUser>> acceptedUsers = findAcceptedUsers(matchingIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (Matching matching : matches) {
+            if (matching.getDate().atTime(matching.getEndTime()).isAfter(now)) {
+                continue;
+            }
+            boolean finished = RecruitStatus.CONFIRMED.equals(matching.getRecruitStatus())
+                    || (RecruitStatus.WEATHER_ISSUE.equals(matching.getRecruitStatus())
+                    && Objects.equals(matching.getRecruitNum(), matching.getAcceptedNum()));
+            if (finished) {
+                changeRecruitStatusToFinished(matching, acceptedUsers.getOrDefault(matching.getId(), List.of()));
+            }
+        }
+    }
+
+    private void changeRecruitStatusToFinished(Matching matching, List<SiteUser> siteUsers) {
+        matching.changeRecruitStatus(RecruitStatus.FINISHED);
+        log.info("matching finished -> " + matching.getId());
+        notificationService.createAndSendNotifications(siteUsers, matching, NotificationType.MATCHING_FINISHED,
+                statusSource(matching));
+    }
+
+    // 매칭 상태는 앞으로만 바뀌므로 바뀐 상태로 알림을 구분 (다시 처리되어도 알림은 한 번)
+    private static String statusSource(Matching matching) {
+        return "status:" + matching.getRecruitStatus();
+    }
+
+    private void sendChatRoomWillClose(List<Long> matchingIds) {
+        matchingIds.forEach(matchingId -> chatNotificationService.notifyChatRoomWillClose(String.valueOf(matchingId)));
+    }
+
+    // 묶음의 확정 신청자를 한 번에 조회해서 매칭 id 별로 나눔 (매칭은 먼저 조회해 두어서 다시 조회하지 않음)
+    private Map<Long, List<SiteUser>> findAcceptedUsers(List<Long> matchingIds) {
+        return applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(matchingIds, ApplyStatus.ACCEPTED)
+                .stream()
+                .collect(Collectors.groupingBy(apply -> apply.getMatching().getId(),
+                        Collectors.mapping(Apply::getSiteUser, Collectors.toList())));
+    }
+
+    private List<List<Long>> partition(List<Long> matchingIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < matchingIds.size(); from += chunkSize) {
+            chunks.add(matchingIds.subList(from, Math.min(from + chunkSize, matchingIds.size())));
+        }
+        return chunks;
+    }
+
+    private PageRequest page() {
+        return PageRequest.of(0, pageSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("scheduler.matching.confirm")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.index.MatchingIndex;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.scheduler.dto.MatchingDeadline;
+import com.example.demo.type.RecruitStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+// 매칭마다 모집 마감, 경기 종료 시각에 타이머를 걸어 시각이 되면 MatchingConfirmJob 에 전달
+// 매분 전체를 조회하지 않고 시각이 된 매칭만 처리하며, 매칭이 수정되면 인덱스처럼 타이머를 다시 걸음
+// 메모리를 제한하기 위해 가까운 시각(horizon)만 걸어 두고 주기적으로 다시 적재
+// 서버 재시작 등으로 빠진 매칭은 스케줄러의 주기적인 조회에서 처리
+// 모든 서버가 같은 타이머를 걸지만, 처리는 그 매칭의 shard 잠금을 얻은 서버만 함 (MatchingConfirmJob.fire)
+@Slf4j
+@Component
+public class MatchingDeadlineTimer implements MatchingIndex {
+
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final List<RecruitStatus> CONFIRM_STATUSES = List.of(RecruitStatus.OPEN, RecruitStatus.FULL);
+    private static final List<RecruitStatus> FINISH_STATUSES =
+            List.of(RecruitStatus.CONFIRMED, RecruitStatus.WEATHER_ISSUE);
+
+    private final MatchingConfirmJob matchingConfirmJob;
+    private final MatchingRepository matchingRepository;
+    private final HashedWheelTimer timer;
+    private final Duration horizon;
+
+    // 매칭 id -> 걸려 있는 타이머
+    private final Map<Long, List<Timeout>> timeouts = new ConcurrentHashMap<>();
+
+    private final Counter fired;
+
+    public MatchingDeadlineTimer(MatchingConfirmJob matchingConfirmJob,
+                                 MatchingRepository matchingRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${scheduler.timer.tick-millis:100}") long tickMillis,
+                                 @Value("${scheduler.timer.horizon-hours:24}") long horizonHours) {
+        this.matchingConfirmJob = matchingConfirmJob;
+        this.matchingRepository = matchingRepository;
+        this.horizon = Duration.ofHours(horizonHours);
+        this.timer = new HashedWheelTimer(runnable -> {
+            Thread thread = new Thread(runnable, "matching-deadline-timer");
+            thread.setDaemon(true);
+            return thread;
+        }, tickMillis, TimeUnit.MILLISECONDS);
+
+        this.fired = Counter.builder("scheduler.timer.fired").register(meterRegistry);
+        Gauge.builder("scheduler.timer.pending", timeouts, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public void upsert(Matching matching) {
+        schedule(MatchingDeadline.fromEntity(matching));
+    }
+
+    @Override
+    public void remove(Long matchingId) {
+        List<Timeout> previous = timeouts.remove(matchingId);
+        if (previous != null) {
+            previous.forEach(Timeout::cancel);
+        }
+    }
+
+    // 기동 시 적재는 reload 에서 직접 처리
+    @Override
+    public void completeLoading() {
+    }
+
+    // 가까운 시각 안에 모집이 마감되거나 경기가 끝나는 매칭을 다시 적재
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${scheduler.timer.reload-millis:3600000}",
+            fixedDelayString = "${scheduler.timer.reload-millis:3600000}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(horizon);
+
+        int loaded = load((afterId, page) -> matchingRepository.findDeadlinesByRecruitDueDateTimeBetween(
+                CONFIRM_STATUSES, now, until, afterId, page));
+        loaded += load((afterId, page) -> matchingRepository.findDeadlinesByDateBetween(
+                FINISH_STATUSES, now.toLocalDate(), until.toLocalDate(), afterId, page));
+        log.info("matching deadline timers loaded -> " + loaded);
+    }
+
+    private int load(BiFunction<Long, PageRequest, List<MatchingDeadline>> findPage) {
+        PageRequest page = PageRequest.of(0, LOAD_PAGE_SIZE);
+        long afterId = 0L;
+        int loaded = 0;
+        while (true) {
+            List<MatchingDeadline> deadlines = findPage.apply(afterId, page);
+            deadlines.forEach(this::schedule);
+            loaded += deadlines.size();
+            if (deadlines.size() < LOAD_PAGE_SIZE) {
+                return loaded;
+            }
+            afterId = deadlines.get(deadlines.size() - 1).getId();
+        }
+    }
+
+    // 기존 타이머를 취소하고 현재 상태에 맞는 타이머를 다시 걸음
+    private void schedule(MatchingDeadline deadline) {
+        LocalDateTime now = LocalDateTime.now();
+        timeouts.compute(deadline.getId(), (matchingId, previous) -> {
+            if (previous != null) {
+                previous.forEach(Timeout::cancel);
+            }
+
+            List<Timeout> scheduled = new ArrayList<>(2);
+            if (CONFIRM_STATUSES.contains(deadline.getRecruitStatus())) {
+                newTimeout(matchingId, MatchingTransition.CONFIRM, deadline.getRecruitDueDateTime(), now, scheduled);
+            } else if (FINISH_STATUSES.contains(deadline.getRecruitStatus())) {
+                LocalDateTime endDateTime = deadline.getEndDateTime();
+                newTimeout(matchingId, MatchingTransition.FINISH, endDateTime, now, scheduled);
+                newTimeout(matchingId, MatchingTransition.CHAT_CLOSE, endDateTime, now, scheduled);
+            }
+            return scheduled.isEmpty() ? null : scheduled;
+        });
+    }
+
+    // 이미 지난 시각은 스케줄러가, horizon 밖의 시각은 다음 적재가 처리
+    private void newTimeout(Long matchingId, MatchingTransition transition, LocalDateTime at,
+                            LocalDateTime now, List<Timeout> scheduled) {
+        if (at == null || !at.isAfter(now) || at.isAfter(now.plus(horizon))) {
+            return;
+        }
+        long delayMillis = Duration.between(now, at).toMillis();
+        scheduled.add(timer.newTimeout(timeout -> fire(matchingId, transition), delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private void fire(Long matchingId, MatchingTransition transition) {
+        // 모든 타이머가 끝난 매칭은 정리
+        timeouts.computeIfPresent(matchingId, (id, scheduled) ->
+                scheduled.stream().allMatch(Timeout::isExpired) ? null : scheduled);
+        fired.increment();
+        try {
+            matchingConfirmJob.fire(transition, matchingId);
+        } catch (RuntimeException e) {
+            log.warn("failed to fire matching " + transition + " -> " + matchingId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.stop();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.scheduler;
+
+// 시각에 맞춰 처리해야 하는 매칭 상태 변경
+public enum MatchingTransition {
+    CONFIRM,    // 모집 마감 시각: FULL -> CONFIRMED, OPEN -> FAILED
+    FINISH,     // 경기 종료 시각: CONFIRMED(또는 인원이 찬 WEATHER_ISSUE) -> FINISHED
+    CHAT_CLOSE  // 경기 종료 시각: 채팅방 비활성화 안내
+}
@@ -0,0 +1,103 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.notification.repository.NotificationBulkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 보관 기간이 지난 알림을 정해진 개수씩 나눠서 삭제 (묶음마다 트랜잭션을 커밋해서 잠금을 짧게 유지)
+// 한 번에 쓸 수 있는 시간을 넘기면 멈추고, 남은 알림은 다음 실행에서 이어서 삭제
+@Slf4j
+@Component
+public class NotificationPurgeJob {
+
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final Duration timeBudget;
+    private final long pauseMillis;
+
+    private final Counter deleted;
+    private final Counter completed;
+    private final Counter budgetExhausted;
+    private final Timer duration;
+
+    public NotificationPurgeJob(NotificationBulkRepository notificationBulkRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${notification.purge.retention-days:3}") int retentionDays,
+                                @Value("${notification.purge.chunk-size:1000}") int chunkSize,
+                                @Value("${notification.purge.time-budget-seconds:300}") long timeBudgetSeconds,
+                                @Value("${notification.purge.pause-millis:50}") long pauseMillis) {
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.timeBudget = Duration.ofSeconds(timeBudgetSeconds);
+        this.pauseMillis = pauseMillis;
+
+        this.deleted = Counter.builder("notification.purge.deleted").register(meterRegistry);
+        this.completed = Counter.builder("notification.purge").tag("result", "completed").register(meterRegistry);
+        this.budgetExhausted = Counter.builder("notification.purge").tag("result", "budget_exhausted")
+                .register(meterRegistry);
+        this.duration = Timer.builder("notification.purge.duration").register(meterRegistry);
+    }
+
+    public long purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + timeBudget.toNanos();
+        long total = 0;
+
+        try {
+            while (true) {
+                Integer count = transactionTemplate.execute(
+                        status -> notificationBulkRepository.deleteCreatedBefore(cutoff, chunkSize));
+                int chunkDeleted = count == null ? 0 : count;
+                total += chunkDeleted;
+                deleted.increment(chunkDeleted);
+
+                if (chunkDeleted < chunkSize) {
+                    completed.increment();
+                    break;
+                }
+                if (System.nanoTime() >= deadline) {
+                    budgetExhausted.increment();
+                    log.warn("notification purge stopped by time budget, deleted -> " + total);
+                    break;
+                }
+                // 복제 지연과 다른 요청의 잠금 대기가 쌓이지 않도록 묶음 사이에 잠깐 쉼
+                if (!pause()) {
+                    break;
+                }
+            }
+        } finally {
+            duration.record(Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+
+        log.info("notification purge is finished, deleted -> " + total);
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
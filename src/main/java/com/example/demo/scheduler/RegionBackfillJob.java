@@ -0,0 +1,46 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.filter.Region;
+import com.example.demo.matching.repository.MatchingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// REGION 컬럼이 비어 있는 기존 매칭의 지역을 주소 문자열로부터 채움 (500건 단위 트랜잭션)
+@Slf4j
+@Component
+public class RegionBackfillJob {
+
+    private final MatchingRepository matchingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RegionBackfillJob(MatchingRepository matchingRepository, PlatformTransactionManager transactionManager) {
+        this.matchingRepository = matchingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRegions() {
+        long lastId = 0L;
+
+        while (true) {
+            final long fromId = lastId;
+            Long chunkLastId = transactionTemplate.execute(status -> {
+                List<Matching> chunk = matchingRepository.findTop500ByRegionIsNullAndIdGreaterThanOrderByIdAsc(fromId);
+                chunk.forEach(matching -> matching.updateRegion(Region.fromAddress(matching.getLocation())));
+                return chunk.isEmpty() ? null : chunk.get(chunk.size() - 1).getId();
+            });
+            if (chunkLastId == null) {
+                break;
+            }
+            lastId = chunkLastId;
+        }
+        log.info("region backfill is finished, last matching id -> " + lastId);
+    }
+}
@@ -1,14 +1,16 @@
 package com.example.demo.scheduler;
 
 import com.example.demo.apply.repository.ApplyRepository;
-import com.example.demo.chat.service.ChatNotificationService;
 import com.example.demo.entity.Apply;
 import com.example.demo.entity.Matching;
 import com.example.demo.matching.repository.MatchingRepository;
-import com.example.demo.notification.repository.NotificationRepository;
+import com.example.demo.notification.dto.LocationAndDateFromMatching;
 import com.example.demo.notification.service.NotificationService;
+import com.example.demo.openfeign.dto.weather.WeatherResponseDto;
 import com.example.demo.openfeign.service.weather.WeatherService;
 import com.example.demo.scheduler.dto.DateTimeInfo;
+import com.example.demo.scheduler.lock.SchedulerLease;
+import com.example.demo.scheduler.lock.SchedulerLock;
 import com.example.demo.type.ApplyStatus;
 import com.example.demo.type.NotificationType;
 import com.example.demo.type.RecruitStatus;
@@ -23,9 +25,11 @@ import org.springframework.util.CollectionUtils;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static com.example.demo.type.PrecipitationType.NICE;
 import static com.example.demo.util.dateformatter.DateFormatter.*;
@@ -38,8 +42,9 @@ public class Scheduler {
     private final NotificationService notificationService;
     private final ApplyRepository applyRepository;
     private final WeatherService weatherService;
-    private final NotificationRepository notificationRepository;
-    private final ChatNotificationService chatNotificationService;
+    private final NotificationPurgeJob notificationPurgeJob;
+    private final MatchingConfirmJob matchingConfirmJob;
+    private final SchedulerLock schedulerLock;
 
     @Async
     public CompletableFuture<DateTimeInfo> getTimes() {
@@ -65,90 +70,15 @@ public class Scheduler {
         log.info("Schedule for confirming matching is finished at  " + LocalDateTime.now().format(formForDateTime));
     }
 
-    @Transactional
+    // 매칭 id 의 해시로 나눈 shard 를 서버들이 나눠 처리
+    // 타이머도 이번 조회에서 잠금을 얻은 shard 의 매칭만 처리하도록 넘김
     public void confirmResultsOfMatches(DateTimeInfo dateTimeInfo) {
-        List<Matching> matchesForConfirm
-                = matchingRepository.findAllByRecruitDueDateTime(dateTimeInfo.getRecruitDueDateTime());
-
-        List<Matching> confirmedMatchesForFinish
-                = matchingRepository
-                .findAllByRecruitStatusFinished(RecruitStatus.CONFIRMED, dateTimeInfo.getToday(), dateTimeInfo.getCurrentTime());
-
-        List<Matching> weatherIssueMatchesForFinish
-                = matchingRepository
-                .findAllByRecruitStatusFinished(RecruitStatus.WEATHER_ISSUE, dateTimeInfo.getToday(), dateTimeInfo.getCurrentTime());
-
-        List<Matching> matchesEndedWithinOneHour
-                = matchingRepository.findAllWithEndTimeWithinLastHour();
-
-        if (!CollectionUtils.isEmpty(matchesForConfirm)) {
-            changeStatusOfMatches(matchesForConfirm);
-        }
-
-        if (!CollectionUtils.isEmpty(confirmedMatchesForFinish)) {
-            changeRecruitStatusesToFinished(confirmedMatchesForFinish);
-        }
-
-        if (!CollectionUtils.isEmpty(weatherIssueMatchesForFinish)) {
-            changeRecruitStatusIfMatchingFinished(weatherIssueMatchesForFinish);
-        }
-
-        if (!CollectionUtils.isEmpty(matchesEndedWithinOneHour)) {
-            sendChatRoomWillClose(matchesEndedWithinOneHour);
-        }
-    }
-
-    private void changeRecruitStatusesToFinished(List<Matching> matchesForFinish) {
-        matchesForFinish.forEach(this::changeRecruitStatusToFinished);
-    }
-
-    private void changeRecruitStatusIfMatchingFinished(List<Matching> weatherIssueMatches) {
-        weatherIssueMatches.forEach(matching -> {
-            if (Objects.equals(matching.getRecruitNum(), matching.getAcceptedNum())) {
-                changeRecruitStatusToFinished(matching);
-            }
+        List<SchedulerLease> leases = new ArrayList<>();
+        schedulerLock.runSharded(MatchingConfirmJob.JOB_NAME, lease -> {
+            leases.add(lease);
+            matchingConfirmJob.confirm(dateTimeInfo, lease);
         });
-
-    }
-
-    private void changeRecruitStatusToFinished(Matching matching) {
-        matching.changeRecruitStatus(RecruitStatus.FINISHED);
-        log.info("matching finished -> " + matching.getId());
-
-        var applies = applyRepository
-                .findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.ACCEPTED);
-
-        for (Apply apply : applies) {
-            notificationService.createNotification(apply.getSiteUser(), matching,
-                    NotificationType.MATCHING_FINISHED);
-        }
-    }
-
-    private void changeStatusOfMatches(List<Matching> matchesForConfirm) {
-        matchesForConfirm
-                .forEach(matching
-                        -> {
-                    var applies = applyRepository
-                            .findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.ACCEPTED);
-
-                    if (RecruitStatus.FULL.equals(matching.getRecruitStatus())) {
-                        matching.changeRecruitStatus(RecruitStatus.CONFIRMED);
-                        log.info("matching succeed -> " + matching.getId());
-
-                        for (Apply apply : applies) {
-                            notificationService.createNotification(apply.getSiteUser(), matching,
-                                    NotificationType.MATCHING_CLOSED);
-                        }
-                    }
-                    if (RecruitStatus.OPEN.equals(matching.getRecruitStatus())) {
-                        matching.changeRecruitStatus(RecruitStatus.FAILED);
-                        log.info("matching failed -> " + matching.getId());
-                        for (Apply apply : applies) {
-                            notificationService.createNotification(apply.getSiteUser(), matching,
-                                    NotificationType.MATCHING_FAILED);
-                        }
-                    }
-                });
+        matchingConfirmJob.assignTimerShards(leases);
     }
 
     @Transactional
@@ -158,54 +88,63 @@ public class Scheduler {
         LocalDate matchingDate = LocalDate.parse(now, formForDate);
         log.info("scheduler for weather notification is started at " + now);
 
-        List<Matching> matchesForWeatherNotification
-                = matchingRepository.findAllByDate(matchingDate);
+        schedulerLock.run("weather-notification", lease -> {
+            List<Matching> matchesForWeatherNotification
+                    = matchingRepository.findAllByDate(matchingDate);
 
-        if (!CollectionUtils.isEmpty(matchesForWeatherNotification)) {
-            saveWeatherNotification(matchesForWeatherNotification);
-        }
+            if (!CollectionUtils.isEmpty(matchesForWeatherNotification)) {
+                saveWeatherNotification(matchesForWeatherNotification);
+            }
+        });
     }
 
-    @Transactional
     @Scheduled(cron = "${scheduler.cron.notification.delete}") // 매일 00:30분에 수행
     public void deleteNotifications() {
-        LocalDateTime threeDaysBeforeNow = LocalDateTime.now().minusDays(3);
         log.info("scheduler for notification deleting is started at " + LocalDateTime.now()
                 .format(formForDateTime));
 
-        notificationRepository.deleteAllByCreateTimeBefore(threeDaysBeforeNow);
+        schedulerLock.run("notification-purge", lease -> notificationPurgeJob.purge());
     }
 
+    // 같은 날짜, 같은 예보 격자의 매칭은 묶어서 한 번만 조회하고 결과를 나눠 씀
     private void saveWeatherNotification(List<Matching> matchesForWeatherNotification) {
-        matchesForWeatherNotification.forEach(
-                matching -> {
-                    var weatherDto = weatherService.getWeatherResponseDtoByMatching(matching);
-
-                    var applies = applyRepository
-                            .findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.ACCEPTED);
-
-                    if (!NICE.equals(weatherDto.getPrecipitationType())) {
-                        log.info("강수 확률: " + weatherDto.getPrecipitationProbability()
-                                + ", 예상 날씨: " + weatherDto.getPrecipitationType().getMessage());
-                        matching.changeRecruitStatus(RecruitStatus.WEATHER_ISSUE);
-
-                        for (Apply apply : applies) {
-                            notificationService.createNotification(apply.getSiteUser(), matching,
-                                    NotificationType.makeWeatherIssueMessage(weatherDto));
-                            return;
-                        }
-                    }
-
-                    for (Apply apply : applies) {
-                        notificationService.createNotification(apply.getSiteUser(), matching,
-                                NotificationType.makeWeatherMessage());
-                    }
-                }
-        );
+        String baseDate = LocalDateTime.now().format(formForWeather);
+        Map<LocationAndDateFromMatching, List<Matching>> matchesByLocation = matchesForWeatherNotification.stream()
+                .collect(Collectors.groupingBy(
+                        matching -> LocationAndDateFromMatching.fromMatching(matching, baseDate)));
+        Map<LocationAndDateFromMatching, WeatherResponseDto> weathers =
+                weatherService.getWeathers(matchesByLocation.keySet());
+        log.info("weather fetched -> " + weathers.size() + " locations for "
+                + matchesForWeatherNotification.size() + " matches");
+
+        matchesByLocation.forEach((location, matches) -> {
+            WeatherResponseDto weatherDto = weathers.get(location);
+            if (weatherDto == null) {
+                return;
+            }
+            matches.forEach(matching -> sendWeatherNotification(matching, weatherDto));
+        });
     }
 
-    private void sendChatRoomWillClose(List<Matching> matchesEndedWithinOneHour) {
-        matchesEndedWithinOneHour.forEach(
-                m -> chatNotificationService.notifyChatRoomWillClose(String.valueOf(m.getId())));
+    private void sendWeatherNotification(Matching matching, WeatherResponseDto weatherDto) {
+        var applies = applyRepository
+                .findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.ACCEPTED);
+
+        if (!NICE.equals(weatherDto.getPrecipitationType())) {
+            log.info("강수 확률: " + weatherDto.getPrecipitationProbability()
+                    + ", 예상 날씨: " + weatherDto.getPrecipitationType().getMessage());
+            matching.changeRecruitStatus(RecruitStatus.WEATHER_ISSUE);
+
+            for (Apply apply : applies) {
+                notificationService.createAndSendNotification(apply.getSiteUser(), matching,
+                        NotificationType.makeWeatherIssueMessage(weatherDto), "weather:" + matching.getDate());
+                return;
+            }
+        }
+
+        for (Apply apply : applies) {
+            notificationService.createAndSendNotification(apply.getSiteUser(), matching,
+                    NotificationType.makeWeatherMessage(), "weather:" + matching.getDate());
+        }
     }
-}
\ No newline at end of file
+}
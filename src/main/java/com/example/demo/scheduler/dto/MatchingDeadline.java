@@ -0,0 +1,30 @@
+package com.example.demo.scheduler.dto;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.type.RecruitStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// 상태 변경 시각 계산에 필요한 값만 조회 (회원 등 연관 엔티티는 조회하지 않음)
+@Getter
+@AllArgsConstructor
+public class MatchingDeadline {
+    private Long id;
+    private RecruitStatus recruitStatus;
+    private LocalDateTime recruitDueDateTime;
+    private LocalDate date;
+    private LocalTime endTime;
+
+    public static MatchingDeadline fromEntity(Matching matching) {
+        return new MatchingDeadline(matching.getId(), matching.getRecruitStatus(),
+                matching.getRecruitDueDateTime(), matching.getDate(), matching.getEndTime());
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return date.atTime(endTime);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.scheduler.lock;
+
+import lombok.Getter;
+
+// 작업이 잠금을 가지고 있는 동안의 정보
+// 여러 서버가 나눠 처리할 때는 매칭 id 의 해시로 담당 범위(shard)를 나눔
+@Getter
+public class SchedulerLease {
+
+    private final String name;
+    private final int shardIndex;
+    private final int shardCount;
+    private final long fencingToken;  // 0 이면 잠금 없이 실행 중
+    private volatile boolean valid = true;
+
+    SchedulerLease(String name, int shardIndex, int shardCount, long fencingToken) {
+        this.name = name;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.fencingToken = fencingToken;
+    }
+
+    // 잠금을 쓰지 않을 때 (서버가 하나뿐인 환경)
+    public static SchedulerLease unlocked(String jobName) {
+        return new SchedulerLease(jobName, 0, 1, 0L);
+    }
+
+    // shard 가 하나면 작업 이름 그대로 사용해서 기존 잠금, 처리 기록과 이어짐
+    static String nameOf(String jobName, int shardIndex, int shardCount) {
+        return shardCount == 1 ? jobName : jobName + ":" + shardIndex + "/" + shardCount;
+    }
+
+    public boolean owns(Long matchingId) {
+        return Math.floorMod(Long.hashCode(matchingId), shardCount) == shardIndex;
+    }
+
+    // 연장에 실패하면 다른 서버가 잠금을 얻었을 수 있으므로 이후 처리를 멈춤
+    void revoke() {
+        valid = false;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.scheduler.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 여러 서버에서 같은 스케줄러 작업이 동시에 실행되지 않도록 잠금을 얻은 서버만 실행
+// 작업이 lease 보다 오래 걸려도 잠금을 유지하도록 실행 중에는 주기적으로 연장
+@Slf4j
+@Component
+public class SchedulerLock {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final ScheduledExecutorService renewer;
+    private final boolean enabled;
+    private final Duration lease;
+    private final Duration minHold;
+    private final int shardCount;
+
+    private final Counter acquired;
+    private final Counter skipped;
+    private final Counter lost;
+
+    public SchedulerLock(SchedulerLockRepository schedulerLockRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${scheduler.lock.enabled:true}") boolean enabled,
+                         @Value("${scheduler.lock.lease-millis:30000}") long leaseMillis,
+                         @Value("${scheduler.lock.min-hold-millis:10000}") long minHoldMillis,
+                         @Value("${scheduler.lock.shards:1}") int shardCount) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.enabled = enabled;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.minHold = Duration.ofMillis(minHoldMillis);
+        this.shardCount = Math.max(shardCount, 1);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lock-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.acquired = counter(meterRegistry, "acquired");
+        this.skipped = counter(meterRegistry, "skipped");
+        this.lost = counter(meterRegistry, "lost");
+    }
+
+    // 한 서버만 실행
+    public void run(String jobName, Consumer<SchedulerLease> task) {
+        if (!enabled) {
+            task.accept(SchedulerLease.unlocked(jobName));
+            return;
+        }
+        runLocked(jobName, 0, 1, task);
+    }
+
+    // shard 마다 잠금을 얻은 서버가 그 shard 를 처리 (서버가 늘면 여러 shard 가 동시에 처리됨)
+    // 서버마다 시작 shard 를 달리해서 같은 shard 를 두고 경쟁하지 않도록 함
+    public void runSharded(String jobName, Consumer<SchedulerLease> task) {
+        if (!enabled) {
+            task.accept(SchedulerLease.unlocked(jobName));
+            return;
+        }
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            runLocked(jobName, (start + i) % shardCount, shardCount, task);
+        }
+    }
+
+    private void runLocked(String jobName, int shardIndex, int shardCount, Consumer<SchedulerLease> task) {
+        String name = SchedulerLease.nameOf(jobName, shardIndex, shardCount);
+        String owner = UUID.randomUUID().toString();
+
+        Optional<Long> fencingToken = schedulerLockRepository.acquire(name, owner, lease);
+        if (fencingToken.isEmpty()) {
+            skipped.increment();
+            log.info("scheduler lock is held by other node -> " + name);
+            return;
+        }
+        acquired.increment();
+
+        SchedulerLease schedulerLease = new SchedulerLease(name, shardIndex, shardCount, fencingToken.get());
+        long renewMillis = Math.max(lease.toMillis() / 3, 1L);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(schedulerLease, owner),
+                renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        long startedAt = System.currentTimeMillis();
+        try {
+            task.accept(schedulerLease);
+        } finally {
+            renewal.cancel(false);
+            long elapsedMillis = System.currentTimeMillis() - startedAt;
+            schedulerLockRepository.release(name, owner, minHold.minusMillis(elapsedMillis));
+        }
+    }
+
+    private void renew(SchedulerLease schedulerLease, String owner) {
+        if (!schedulerLease.isValid()) {
+            return;
+        }
+        if (!schedulerLockRepository.renew(schedulerLease.getName(), owner, lease)) {
+            schedulerLease.revoke();
+            lost.increment();
+            log.warn("scheduler lock is lost -> " + schedulerLease.getName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("scheduler.lock")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.scheduler.lock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+// 스케줄러 작업별 잠금 (값은 잠금을 얻은 쪽의 owner, 만료 시간은 lease)
+// 잠금을 얻을 때마다 이전보다 큰 fencing token 을 발급 (Redis 데이터가 사라져도 줄어들지 않도록 Redis 시각 이상으로 발급)
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLockRepository {
+
+    private static final String LOCK_PREFIX = "scheduler:lock:";
+    private static final String FENCE_PREFIX = "scheduler:fence:";
+
+    private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>(
+            "if not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return -1 end "
+                    + "local time = redis.call('TIME') "
+                    + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+                    + "local token = math.max(tonumber(redis.call('GET', KEYS[2]) or '0') + 1, now) "
+                    + "redis.call('SET', KEYS[2], string.format('%d', token)) "
+                    + "return token", Long.class);
+
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end "
+                    + "return 0", Long.class);
+
+    // 최소 유지 시간이 남아 있으면 지우지 않고 남은 시간만큼 유지 (시각이 조금 어긋난 다른 서버가 다시 실행하지 않도록)
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end "
+                    + "if tonumber(ARGV[2]) > 0 then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end "
+                    + "return redis.call('DEL', KEYS[1])", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 잠금을 얻으면 fencing token, 다른 서버가 가지고 있거나 Redis 오류면 비어 있음 (중복 실행보다 건너뛰는 쪽이 안전)
+    public Optional<Long> acquire(String name, String owner, Duration lease) {
+        try {
+            Long token = redisTemplate.execute(ACQUIRE, List.of(LOCK_PREFIX + name, FENCE_PREFIX + name),
+                    owner, String.valueOf(lease.toMillis()));
+            return token == null || token < 0 ? Optional.empty() : Optional.of(token);
+        } catch (RuntimeException e) {
+            log.warn("failed to acquire scheduler lock -> " + name, e);
+            return Optional.empty();
+        }
+    }
+
+    // 아직 잠금을 가지고 있으면 만료 시간을 연장
+    public boolean renew(String name, String owner, Duration lease) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW, List.of(LOCK_PREFIX + name),
+                    owner, String.valueOf(lease.toMillis()));
+            return renewed != null && renewed == 1L;
+        } catch (RuntimeException e) {
+            log.warn("failed to renew scheduler lock -> " + name, e);
+            return false;
+        }
+    }
+
+    public void release(String name, String owner, Duration remainingHold) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(LOCK_PREFIX + name),
+                    owner, String.valueOf(Math.max(remainingHold.toMillis(), 0L)));
+        } catch (RuntimeException e) {
+            // 풀지 못해도 lease 가 지나면 만료됨
+            log.warn("failed to release scheduler lock -> " + name, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.scheduler.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// 스케줄러 작업에서 처리에 실패한 대상별 시도 횟수 (최대 시도 횟수에 도달한 대상은 건너뛰고 진행)
+@Repository
+@RequiredArgsConstructor
+public class SchedulerFailureRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1023;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 실패 횟수를 1 늘리고 누적 실패 횟수를 반환
+    public int recordFailure(String jobName, long targetId, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jdbcTemplate.update("INSERT INTO SCHEDULER_FAILURE (JOB_NAME, TARGET_ID, ATTEMPTS, LAST_ERROR, UPDATE_TIME) "
+                        + "VALUES (?, ?, 1, ?, ?) ON DUPLICATE KEY UPDATE "
+                        + "ATTEMPTS = ATTEMPTS + 1, LAST_ERROR = VALUES(LAST_ERROR), UPDATE_TIME = VALUES(UPDATE_TIME)",
+                jobName, targetId, lastError, Timestamp.valueOf(LocalDateTime.now()));
+        Integer attempts = jdbcTemplate.queryForObject(
+                "SELECT ATTEMPTS FROM SCHEDULER_FAILURE WHERE JOB_NAME = ? AND TARGET_ID = ?",
+                Integer.class, jobName, targetId);
+        return attempts == null ? 1 : attempts;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.scheduler.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// 스케줄러 작업별로 어느 시각까지 처리했는지 보관 (실행이 밀리거나 건너뛰어도 다음 실행이 이어서 처리)
+@Repository
+@RequiredArgsConstructor
+public class SchedulerWatermarkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<LocalDateTime> find(String jobName) {
+        return jdbcTemplate.query("SELECT WATERMARK FROM SCHEDULER_WATERMARK WHERE JOB_NAME = ?",
+                        (rs, rowNum) -> rs.getTimestamp("WATERMARK").toLocalDateTime(), jobName)
+                .stream()
+                .findFirst();
+    }
+
+    // 뒤로 돌아가지 않도록 더 늦은 시각일 때만 갱신
+    // 잠금을 잃은 뒤에 늦게 저장하는 쪽이 덮어쓰지 않도록 fencing token 이 저장된 값보다 작으면 무시 (0 은 잠금 없이 실행)
+    public void save(String jobName, LocalDateTime watermark, long fencingToken) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO SCHEDULER_WATERMARK (JOB_NAME, WATERMARK, FENCING_TOKEN, UPDATE_TIME) "
+                        + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                        + "UPDATE_TIME = IF((VALUES(FENCING_TOKEN) = 0 OR VALUES(FENCING_TOKEN) >= FENCING_TOKEN) "
+                        + "AND VALUES(WATERMARK) > WATERMARK, VALUES(UPDATE_TIME), UPDATE_TIME), "
+                        + "WATERMARK = IF(VALUES(FENCING_TOKEN) = 0 OR VALUES(FENCING_TOKEN) >= FENCING_TOKEN, "
+                        + "GREATEST(WATERMARK, VALUES(WATERMARK)), WATERMARK), "
+                        + "FENCING_TOKEN = GREATEST(FENCING_TOKEN, VALUES(FENCING_TOKEN))",
+                jobName, Timestamp.valueOf(watermark), fencingToken, now);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.siteuser.controller;
 import com.example.demo.aws.S3Uploader;
 import com.example.demo.common.ResponseDto;
 import com.example.demo.common.ResponseUtil;
+import com.example.demo.matching.dto.CursorPageDto;
 import com.example.demo.siteuser.dto.*;
 import com.example.demo.siteuser.service.SiteUserService;
 import java.security.Principal;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -71,6 +73,33 @@ public class SiteUserController {
         return  ResponseUtil.SUCCESS(result);
     }
 
+    @GetMapping("/notifications/inbox")
+    public ResponseDto<CursorPageDto<NotificationDto>> getNotificationInbox(
+            Principal principal,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false, defaultValue = "20") int size) {
+        var email = principal.getName();
+        var result = siteUserService.getNotificationInbox(email, cursor, size);
+
+        return ResponseUtil.SUCCESS(result);
+    }
+
+    @GetMapping("/notifications/unread-count")
+    public ResponseDto<Long> getUnreadNotificationCount(Principal principal) {
+        var email = principal.getName();
+        var result = siteUserService.getUnreadNotificationCount(email);
+
+        return ResponseUtil.SUCCESS(result);
+    }
+
+    @PatchMapping("/notifications/read")
+    public void readNotifications(@RequestBody(required = false) ReadNotificationsDto readNotificationsDto,
+                                  Principal principal) {
+        var email = principal.getName();
+        siteUserService.readNotifications(email,
+                readNotificationsDto == null ? null : readNotificationsDto.getNotificationIds());
+    }
+
     @GetMapping("/review/{matchingId}")
     public ResponseDto<List<ReviewPageInfoDto>> getReviewPageInfo(Principal principal, @PathVariable Long matchingId) {
         var email = principal.getName();
@@ -1,5 +1,6 @@
 package com.example.demo.siteuser.dto;
 
+import com.example.demo.entity.Matching;
 import com.example.demo.entity.Notification;
 import lombok.*;
 
@@ -9,17 +10,22 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class NotificationDto {
-    private Long matchingId;
+    private Long id;
+    private Long matchingId; // 특정 매칭과 관련없는 알림의 경우 null
     private String title;
     private String content;
     private String createTime;
+    private boolean read;
 
     public static NotificationDto fromEntity(Notification notification) {
+        Matching matching = notification.getMatching();
         return NotificationDto.builder()
-                .matchingId(notification.getMatching().getId())
-                .title(notification.getMatching().getTitle())
+                .id(notification.getId())
+                .matchingId(matching == null ? null : matching.getId())
+                .title(matching == null ? null : matching.getTitle())
                 .content(notification.getContent())
                 .createTime(notification.getCreateTime().toString())
+                .read(notification.isRead())
                 .build();
     }
 }
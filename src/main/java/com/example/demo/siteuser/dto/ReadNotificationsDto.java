@@ -0,0 +1,17 @@
+package com.example.demo.siteuser.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReadNotificationsDto {
+    private List<Long> notificationIds; // 비어 있으면 전체 읽음 처리
+}
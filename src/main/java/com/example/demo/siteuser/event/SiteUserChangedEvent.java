@@ -0,0 +1,10 @@
+package com.example.demo.siteuser.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SiteUserChangedEvent {
+    private final Long siteUserId;
+}
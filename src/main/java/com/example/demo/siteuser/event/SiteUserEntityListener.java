@@ -0,0 +1,20 @@
+package com.example.demo.siteuser.event;
+
+import com.example.demo.entity.SiteUser;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// 회원 정보(프로필, 매너 점수 등) 변경을 이벤트로 발행 -> 커밋 이후 캐시 무효화
+@Component
+@RequiredArgsConstructor
+public class SiteUserEntityListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostUpdate
+    public void onUpdate(SiteUser siteUser) {
+        applicationEventPublisher.publishEvent(new SiteUserChangedEvent(siteUser.getId()));
+    }
+}
@@ -3,6 +3,8 @@ package com.example.demo.siteuser.repository;
 import com.example.demo.entity.SiteUser;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,6 +12,11 @@ import java.util.Optional;
 @Repository
 public interface SiteUserRepository extends JpaRepository<SiteUser, Long> {
     Optional<SiteUser> findByEmail(String email);
+
+    // 회원 id 만 필요한 조회 (이메일 인덱스만 읽음)
+    @Query("SELECT s.id FROM SiteUser s WHERE s.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
     Optional<SiteUser> findByPhoneNumber(String phoneNumber);
     Optional<SiteUser> findByEmailAndPhoneNumber(String email, String phoneNumber);
     boolean existsByEmail(String email);
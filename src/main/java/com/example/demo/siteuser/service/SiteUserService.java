@@ -1,6 +1,7 @@
 package com.example.demo.siteuser.service;
 
 import com.example.demo.entity.SiteUser;
+import com.example.demo.matching.dto.CursorPageDto;
 import com.example.demo.siteuser.dto.*;
 
 import java.util.List;
@@ -13,6 +14,9 @@ public interface SiteUserService {
     List<AppliedMatchingDto> getMatchingAppliedBySiteUser(String email);
     SiteUser updateSiteUserInfo(String email, UpdateSiteUserInfoDto updateSiteUserInfoDto);
     List<NotificationDto> getNotifications(String email);
+    CursorPageDto<NotificationDto> getNotificationInbox(String email, Long cursor, int size);
+    long getUnreadNotificationCount(String email);
+    void readNotifications(String email, List<Long> notificationIds);
     List<ReviewPageInfoDto> getReviewPageInfo(String email, Long matchingId);
     void review(String email, Long matchingId, List<InputReviewDto> inputReviewDtos);
 }
\ No newline at end of file
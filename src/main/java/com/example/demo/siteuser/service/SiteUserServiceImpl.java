@@ -9,8 +9,10 @@ import com.example.demo.entity.Matching;
 import com.example.demo.entity.Review;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.dto.CursorPageDto;
 import com.example.demo.matching.repository.MatchingRepository;
 import com.example.demo.notification.repository.NotificationRepository;
+import com.example.demo.notification.repository.NotificationUnreadCounter;
 import com.example.demo.siteuser.dto.*;
 import com.example.demo.siteuser.repository.ReviewRepository;
 import com.example.demo.siteuser.repository.SiteUserRepository;
@@ -23,9 +25,12 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.ObjectUtils;
 
 @Service
@@ -38,6 +43,9 @@ public class SiteUserServiceImpl implements SiteUserService {
     private final FindEntity findEntity;
     private final PasswordEncoder passwordEncoder;
     private final ReviewRepository reviewRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+
+    private static final int MAX_INBOX_PAGE_SIZE = 50;
 
     private static void validatePassword(UpdateSiteUserInfoDto updateSiteUserInfoDto) {
         if (!updateSiteUserInfoDto.getPassword().equals(updateSiteUserInfoDto.getCheckPassword())) {
@@ -120,6 +128,61 @@ public class SiteUserServiceImpl implements SiteUserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageDto<NotificationDto> getNotificationInbox(String email, Long cursor, int size) {
+        Long siteUserId = getSiteUserId(email);
+        int limit = Math.min(Math.max(size, 1), MAX_INBOX_PAGE_SIZE);
+
+        // 한 건 더 조회해서 다음 페이지가 있는지 확인
+        List<NotificationDto> notifications = notificationRepository
+                .findAllBySiteUserIdBefore(siteUserId, cursor == null ? Long.MAX_VALUE : cursor,
+                        PageRequest.of(0, limit + 1))
+                .stream().map(NotificationDto::fromEntity)
+                .collect(Collectors.toList());
+
+        if (notifications.size() <= limit) {
+            return CursorPageDto.of(notifications, null, null);
+        }
+        List<NotificationDto> content = notifications.subList(0, limit);
+        return CursorPageDto.of(content, String.valueOf(content.get(limit - 1).getId()), null);
+    }
+
+    @Override
+    public long getUnreadNotificationCount(String email) {
+        Long siteUserId = getSiteUserId(email);
+        return notificationUnreadCounter.get(siteUserId).orElseGet(() -> {
+            long count = notificationRepository.countBySiteUser_IdAndReadFalse(siteUserId);
+            notificationUnreadCounter.init(siteUserId, count);
+            return count;
+        });
+    }
+
+    @Override
+    @Transactional
+    public void readNotifications(String email, List<Long> notificationIds) {
+        Long siteUserId = getSiteUserId(email);
+        int read = ObjectUtils.isEmpty(notificationIds)
+                ? notificationRepository.markAllRead(siteUserId)
+                : notificationRepository.markRead(siteUserId, notificationIds);
+
+        // 롤백되면 카운터만 줄어든 채로 남으므로 읽지 않은 알림 수 증가(OutboxRelay)와 같이 커밋 후에 반영
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificationUnreadCounter.decrease(siteUserId, read);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notificationUnreadCounter.decrease(siteUserId, read);
+            }
+        });
+    }
+
+    private Long getSiteUserId(String email) {
+        return siteUserRepository.findIdByEmail(email)
+                .orElseThrow(() -> new RacketPuncherException(EMAIL_NOT_FOUND));
+    }
+
     @Override
     public List<ReviewPageInfoDto> getReviewPageInfo(String email, Long matchingId) {
         var subjectUser = siteUserRepository.findByEmail(email)
@@ -0,0 +1,5 @@
+package com.example.demo.type;
+
+public enum OutboxEventType {
+    NOTIFICATION, CHAT_SYSTEM_MESSAGE
+}
@@ -4,12 +4,14 @@ import com.example.demo.matching.dto.LocationDto;
 
 public class GeometryUtil {
 
+    private static final double EARTH_RADIUS = 6371.01; // km
+
     // 위도, 경도, 거리, 방향이 주어지면 방향으로 거리만큼 떨어진 위경도를 계산하여 리턴
     public static LocationDto calculate(Double baseLatitude, Double baseLongitude, Double distance, Double bearing) {
         Double radianLatitude = toRadian(baseLatitude);
         Double radianLongitude = toRadian(baseLongitude);
         Double radianAngle = toRadian(bearing);
-        Double distanceRadius = distance / 6371.01;
+        Double distanceRadius = distance / EARTH_RADIUS;
 
         Double latitude = Math.asin(sin(radianLatitude) * cos(distanceRadius) +
                 cos(radianLatitude) * sin(distanceRadius) * cos(radianAngle));
@@ -20,6 +22,15 @@ public class GeometryUtil {
         return new LocationDto(toDegree(latitude), toDegree(longitude));
     }
 
+    // 두 위경도 좌표 사이의 거리(km) - 하버사인 공식
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double deltaLat = toRadian(lat2 - lat1);
+        double deltaLon = toRadian(lon2 - lon1);
+        double a = Math.pow(Math.sin(deltaLat / 2), 2)
+                + Math.cos(toRadian(lat1)) * Math.cos(toRadian(lat2)) * Math.pow(Math.sin(deltaLon / 2), 2);
+        return 2 * EARTH_RADIUS * Math.asin(Math.sqrt(a));
+    }
+
     private static Double toRadian(Double coordinate) {
         return coordinate * Math.PI / 180.0;
     }
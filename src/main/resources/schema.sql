@@ -6,6 +6,9 @@ DROP TABLE IF EXISTS MATCHING;
 DROP TABLE IF EXISTS APPLY;
 DROP TABLE IF EXISTS NOTIFICATION;
 DROP TABLE IF EXISTS REVIEW;
+DROP TABLE IF EXISTS OUTBOX;
+DROP TABLE IF EXISTS SCHEDULER_WATERMARK;
+DROP TABLE IF EXISTS SCHEDULER_FAILURE;
 
 CREATE TABLE `SITE_USER`
 (
@@ -23,7 +26,8 @@ CREATE TABLE `SITE_USER`
     `AGE_GROUP`         VARCHAR(50)   NOT NULL COMMENT 'TWENTIES, THIRTIES , FORTIES , SENIOR',
     `PROFILE_IMG`       VARCHAR(1023) NULL,
     `AUTH_TYPE`         VARCHAR(50)   NOT NULL COMMENT 'GENERAL, KAKAO',
-    `CREATE_DATE`       TIMESTAMP     NOT NULL COMMENT 'YYYY-MM-DD HH:MM:SS'
+    `CREATE_DATE`       TIMESTAMP     NOT NULL COMMENT 'YYYY-MM-DD HH:MM:SS',
+    UNIQUE KEY `UK_SITE_USER_EMAIL` (`EMAIL`)
 );
 
 CREATE TABLE `MATCHING`
@@ -35,6 +39,7 @@ CREATE TABLE `MATCHING`
     `LOCATION`              varchar(255)  NOT NULL,
     `LAT`                   DOUBLE        NOT NULL COMMENT '위도',
     `LON`                   DOUBLE        NOT NULL COMMENT '경도',
+    `REGION`                VARCHAR(50)   NULL COMMENT '필터용 지역 코드 (GANGNAM, SUWON, ...)',
     `LOCATION_IMG`          varchar(1023) NULL,
     `DATE`                  DATE          NOT NULL COMMENT 'YYYY-MM-DD',
     `START_TIME`            TIME          NOT NULL COMMENT 'HH:MM:SS',
@@ -48,7 +53,14 @@ CREATE TABLE `MATCHING`
     `RECRUIT_STATUS`        VARCHAR(50) DEFAULT 'OPEN',
     `CREATE_TIME`           TIMESTAMP COMMENT 'YYYY-MM-DD HH:MM:SS',
     `MATCHING_TYPE`         VARCHAR(50)   NOT NULL COMMENT 'SINGLE, DOUBLE, MIXED_DOUBLE, OTHER',
-    `ACCEPTED_NUM`          INT         DEFAULT 1
+    `ACCEPTED_NUM`          INT         DEFAULT 1,
+    `UPDATE_COUNT`          INT         DEFAULT 0 NOT NULL COMMENT '수정할 때마다 1 증가 (알림 중복 방지 키)',
+    `LOCATION_POINT`        POINT         AS (ST_SRID(POINT(`LON`, `LAT`), 4326)) STORED NOT NULL SRID 4326 COMMENT '공간 인덱스용 (x = 경도, y = 위도)',
+    SPATIAL INDEX `IDX_MATCHING_LOCATION_POINT` (`LOCATION_POINT`),
+    INDEX `IDX_MATCHING_REGION` (`REGION`),
+    INDEX `IDX_MATCHING_CREATE_TIME` (`CREATE_TIME`, `ID`),
+    INDEX `IDX_MATCHING_RECRUIT_DUE_DATE_TIME` (`RECRUIT_DUE_DATE_TIME`, `ID`),
+    INDEX `IDX_MATCHING_DATE` (`DATE`, `RECRUIT_STATUS`)
 );
 
 CREATE TABLE `APPLY`
@@ -57,17 +69,52 @@ CREATE TABLE `APPLY`
     `MATCHING_ID`  BIGINT                        NOT NULL,
     `SITE_USER_ID` BIGINT                        NOT NULL,
     `CREATE_TIME`  TIMESTAMP                     NOT NULL COMMENT 'YYYY-MM-DD HH:MM:SS',
-    `APPLY_STATUS` VARCHAR(50) DEFAULT 'PENDING' NOT NULL COMMENT 'PENDING, ACCEPTED, CANCELED'
+    `APPLY_STATUS` VARCHAR(50) DEFAULT 'PENDING' NOT NULL COMMENT 'PENDING, ACCEPTED, CANCELED',
+    `STATUS_VERSION` INT       DEFAULT 0         NOT NULL COMMENT '상태가 바뀔 때마다 1 증가 (알림 중복 방지 키)'
 );
 
 CREATE TABLE `NOTIFICATION`
 (
     `ID`                BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
-    `SITE_USER_ID`      VARCHAR(255) NOT NULL,
+    `SITE_USER_ID`      BIGINT       NOT NULL,
     `MATCHING_ID`       BIGINT       NULL COMMENT '*특정 매칭과 관련없는 알림의 경우 null',
     `NOTIFICATION_TYPE` VARCHAR(50)  NOT NULL,
     `CONTENT`           VARCHAR(255) NOT NULL,
-    `CREATE_TIME`       TIMESTAMP    NOT NULL
+    `IS_READ`           TINYINT(1)   NOT NULL DEFAULT 0,
+    `CREATE_TIME`       TIMESTAMP    NOT NULL,
+    INDEX `IDX_NOTIFICATION_SITE_USER_ID` (`SITE_USER_ID`, `ID`),
+    INDEX `IDX_NOTIFICATION_SITE_USER_ID_IS_READ` (`SITE_USER_ID`, `IS_READ`)
+);
+
+CREATE TABLE `OUTBOX`
+(
+    `ID`              BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    `EVENT_TYPE`      VARCHAR(50)  NOT NULL COMMENT 'NOTIFICATION, CHAT_SYSTEM_MESSAGE',
+    `IDEMPOTENCY_KEY` VARCHAR(255) NOT NULL,
+    `PAYLOAD`         JSON         NOT NULL,
+    `ATTEMPTS`        INT          NOT NULL DEFAULT 0,
+    `CREATE_TIME`     TIMESTAMP    NOT NULL,
+    `PROCESSED_TIME`  TIMESTAMP    NULL COMMENT '*전달 전에는 null',
+    UNIQUE KEY `UK_OUTBOX_IDEMPOTENCY_KEY` (`IDEMPOTENCY_KEY`),
+    INDEX `IDX_OUTBOX_PROCESSED_TIME` (`PROCESSED_TIME`, `ID`)
+);
+
+CREATE TABLE `SCHEDULER_WATERMARK`
+(
+    `JOB_NAME`      VARCHAR(100) NOT NULL PRIMARY KEY,
+    `WATERMARK`     TIMESTAMP    NOT NULL COMMENT '이 시각까지 처리 완료',
+    `FENCING_TOKEN` BIGINT       NOT NULL DEFAULT 0 COMMENT '마지막으로 저장한 잠금의 fencing token',
+    `UPDATE_TIME`   TIMESTAMP    NOT NULL
+);
+
+CREATE TABLE `SCHEDULER_FAILURE`
+(
+    `JOB_NAME`    VARCHAR(100)  NOT NULL,
+    `TARGET_ID`   BIGINT        NOT NULL,
+    `ATTEMPTS`    INT           NOT NULL COMMENT '최대 시도 횟수에 도달하면 더 이상 처리하지 않음 (확인 후 수동 처리)',
+    `LAST_ERROR`  VARCHAR(1023) NULL,
+    `UPDATE_TIME` TIMESTAMP     NOT NULL,
+    PRIMARY KEY (`JOB_NAME`, `TARGET_ID`)
 );
 
 CREATE TABLE `REVIEW`
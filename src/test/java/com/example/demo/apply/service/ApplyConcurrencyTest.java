@@ -0,0 +1,210 @@
+package com.example.demo.apply.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.demo.apply.repository.ApplyRepository;
+import com.example.demo.common.TestFixtures;
+import com.example.demo.entity.Apply;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.notification.repository.NotificationRepository;
+import com.example.demo.siteuser.repository.SiteUserRepository;
+import com.example.demo.type.ApplyStatus;
+import com.example.demo.type.RecruitStatus;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 실제 DB 에 동시에 신청/수락/취소 요청을 보내서 확정 인원이 정원을 넘지 않는지 확인
+@Slf4j
+@SpringBootTest
+class ApplyConcurrencyTest {
+
+    private static final int APPLICANT_COUNT = 200;
+    private static final int RECRUIT_NUM = 4;
+    private static final Duration MAX_ELAPSED = Duration.ofSeconds(30); // 요청 전체가 끝나야 하는 시간
+
+    @Autowired
+    private ApplyService applyService;
+
+    @Autowired
+    private ApplyRepository applyRepository;
+
+    @Autowired
+    private MatchingRepository matchingRepository;
+
+    @Autowired
+    private SiteUserRepository siteUserRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final List<SiteUser> siteUsers = new ArrayList<>();
+    private final List<Apply> applies = new ArrayList<>();
+    private Matching matching;
+
+    @AfterEach
+    void tearDown() {
+        siteUsers.forEach(siteUser -> notificationRepository.deleteAll(
+                notificationRepository.findAllBySiteUser_Email(siteUser.getEmail())));
+        if (matching != null) {
+            applyRepository.deleteAll(applyRepository.findAllByMatching_Id(matching.getId()));
+            matchingRepository.deleteById(matching.getId());
+        }
+        siteUserRepository.deleteAll(siteUsers);
+    }
+
+    @Test
+    void acceptConcurrentlyNeverExceedsRecruitNum() throws InterruptedException {
+        // given
+        SiteUser organizer = saveSiteUser("organizer");
+        matching = matchingRepository.save(TestFixtures.matching(organizer, RECRUIT_NUM));
+        for (int i = 0; i < APPLICANT_COUNT; i++) {
+            applies.add(saveApply(saveSiteUser("applicant" + i)));
+        }
+
+        // when - 주최자가 여러 신청을 동시에 하나씩 수락
+        AtomicInteger overed = new AtomicInteger();
+        runConcurrently(applies, apply -> {
+            try {
+                applyService.accept(organizer.getEmail(), List.of(), List.of(apply.getId()), matching.getId());
+            } catch (RacketPuncherException e) {
+                overed.incrementAndGet();
+            }
+        });
+
+        // then - 주최자 1명 + 수락 3명에서 멈춰야 함
+        Matching result = matchingRepository.findById(matching.getId()).orElseThrow();
+        assertEquals(RECRUIT_NUM, result.getAcceptedNum());
+        assertEquals(RecruitStatus.FULL, result.getRecruitStatus());
+        assertEquals(RECRUIT_NUM - 1, countAccepted());
+        assertEquals(APPLICANT_COUNT - (RECRUIT_NUM - 1), overed.get());
+    }
+
+    @Test
+    void applyAndCancelConcurrentlyKeepsOneApplyPerUser() throws InterruptedException {
+        // given - 절반은 이미 신청해 둔 상태에서 취소하고, 나머지 절반은 동시에 새로 신청
+        SiteUser organizer = saveSiteUser("organizer");
+        matching = matchingRepository.save(TestFixtures.matching(organizer, RECRUIT_NUM));
+        List<Apply> targets = new ArrayList<>();
+        List<SiteUser> newApplicants = new ArrayList<>();
+        for (int i = 0; i < APPLICANT_COUNT; i++) {
+            SiteUser applicant = saveSiteUser("applicant" + i);
+            if (i % 2 == 0) {
+                targets.add(saveApply(applicant));
+            } else {
+                newApplicants.add(applicant);
+                targets.add(Apply.builder().siteUser(applicant).build()); // 아직 저장되지 않은 신청
+            }
+        }
+
+        // when
+        AtomicInteger failed = new AtomicInteger();
+        runConcurrently(targets, target -> {
+            try {
+                if (target.getId() != null) {
+                    applyService.cancel(target.getId());
+                } else {
+                    applyService.apply(target.getSiteUser().getEmail(), matching.getId());
+                }
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        });
+
+        // then - 모든 요청이 성공하고, 새 신청자는 대기 중인 신청이 하나씩만 있어야 함
+        assertEquals(0, failed.get());
+        assertEquals(newApplicants.size(),
+                applyRepository.findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.PENDING).size());
+        assertEquals(APPLICANT_COUNT - newApplicants.size(),
+                applyRepository.findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.CANCELED).size());
+    }
+
+    @Test
+    void acceptAndCancelConcurrentlyKeepsAcceptedNumConsistent() throws InterruptedException {
+        // given - 정원이 찬 상태에서 확정된 신청자는 취소하고, 대기 중인 신청은 동시에 수락
+        SiteUser organizer = saveSiteUser("organizer");
+        matching = matchingRepository.save(TestFixtures.matching(organizer, RECRUIT_NUM));
+        for (int i = 0; i < APPLICANT_COUNT; i++) {
+            applies.add(saveApply(saveSiteUser("applicant" + i)));
+        }
+        List<Long> firstAccepted = applies.subList(0, RECRUIT_NUM - 1).stream().map(Apply::getId).toList();
+        applyService.accept(organizer.getEmail(), List.of(), firstAccepted, matching.getId());
+
+        // when
+        runConcurrently(applies, apply -> {
+            try {
+                if (firstAccepted.contains(apply.getId())) {
+                    applyService.cancel(apply.getId());
+                } else {
+                    applyService.accept(organizer.getEmail(), List.of(), List.of(apply.getId()), matching.getId());
+                }
+            } catch (RacketPuncherException e) {
+                // 정원 초과, 충돌로 실패한 요청은 롤백되어야 함
+            }
+        });
+
+        // then - 확정 인원은 항상 주최자 + 실제로 수락된 신청 수와 같아야 함
+        Matching result = matchingRepository.findById(matching.getId()).orElseThrow();
+        assertEquals(1 + countAccepted(), result.getAcceptedNum());
+        assertEquals(result.getAcceptedNum() == RECRUIT_NUM ? RecruitStatus.FULL : RecruitStatus.OPEN,
+                result.getRecruitStatus());
+    }
+
+    // 모든 요청이 제한 시간 안에 끝났는지 확인 (처리량은 비교용으로 기록만 함)
+    private void runConcurrently(List<Apply> targets, Consumer<Apply> task)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(targets.size());
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(targets.size());
+        for (Apply target : targets) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.accept(target);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        boolean completed = done.await(MAX_ELAPSED.toMillis(), TimeUnit.MILLISECONDS);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        executor.shutdownNow();
+
+        log.info(targets.size() + " concurrent requests -> " + elapsedMillis + "ms ("
+                + targets.size() * 1000L / Math.max(elapsedMillis, 1) + " req/s)");
+        assertTrue(completed, "requests not completed within " + MAX_ELAPSED);
+    }
+
+    private long countAccepted() {
+        return applyRepository.findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.ACCEPTED).size();
+    }
+
+    private SiteUser saveSiteUser(String name) {
+        SiteUser siteUser = siteUserRepository.save(TestFixtures.siteUser(name));
+        siteUsers.add(siteUser);
+        return siteUser;
+    }
+
+    private Apply saveApply(SiteUser siteUser) {
+        return applyRepository.save(TestFixtures.apply(matching, siteUser, ApplyStatus.PENDING));
+    }
+}
@@ -2,8 +2,12 @@ package com.example.demo.apply.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -13,13 +17,17 @@ import com.example.demo.entity.Apply;
 import com.example.demo.entity.Matching;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.event.MatchingChangedEvent;
+import com.example.demo.matching.repository.MatchingRepository;
 import com.example.demo.notification.service.NotificationService;
 import com.example.demo.siteuser.repository.SiteUserRepository;
 import com.example.demo.type.AgeGroup;
 import com.example.demo.type.ApplyStatus;
 import com.example.demo.type.GenderType;
 import com.example.demo.type.MatchingType;
+import com.example.demo.type.NotificationType;
 import com.example.demo.type.Ntrp;
+import com.example.demo.type.PenaltyType;
 import com.example.demo.type.RecruitStatus;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,12 +35,14 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.annotation.Commit;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +60,12 @@ class ApplyServiceTest {
     @Mock
     private SiteUserRepository siteUserRepository;
 
+    @Mock
+    private MatchingRepository matchingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ApplyServiceImpl applyService;
 
@@ -141,14 +157,89 @@ class ApplyServiceTest {
 
         Apply apply = getApply(matching, siteUserForApply);
 
-        given(findEntity.findApply(1L))
+        given(findEntity.findApplyForUpdate(1L))
                 .willReturn(apply);
 
+        given(applyRepository.changeApplyStatus(1L, ApplyStatus.PENDING, ApplyStatus.CANCELED))
+                .willReturn(1);
+
         // when
         applyService.cancel(1L);
 
         // then
         assertEquals(ApplyStatus.CANCELED, apply.getApplyStatus());
+        verify(matchingRepository, never()).decreaseAcceptedNum(anyLong()); // 대기 중인 신청은 확정 인원 변경 없음
+    }
+
+    @Test
+    void applyCancelAcceptedApplyOfFullMatching() {
+        //given
+        SiteUser siteUser = getSiteUser();
+
+        SiteUser siteUserForApply = getSiteUserForApply();
+
+        Matching matching = getMatching(siteUser);
+
+        Apply apply = getApply(matching, siteUserForApply);
+        apply.changeApplyStatus(ApplyStatus.ACCEPTED);
+
+        given(findEntity.findApplyForUpdate(1L))
+                .willReturn(apply);
+
+        given(applyRepository.changeApplyStatus(1L, ApplyStatus.ACCEPTED, ApplyStatus.CANCELED))
+                .willReturn(1);
+
+        given(matchingRepository.decreaseAcceptedNumOfFullMatching(1L))
+                .willReturn(1);
+
+        SiteUser reloadedSiteUser = SiteUser.builder()
+                .id(2L)
+                .mannerScore(0)
+                .build();
+
+        given(siteUserRepository.findById(2L))
+                .willReturn(Optional.of(reloadedSiteUser));
+
+        // when
+        applyService.cancel(1L);
+
+        // then
+        assertEquals(ApplyStatus.CANCELED, apply.getApplyStatus());
+        assertEquals(PenaltyType.CANCEL_APPLY.getScore(), reloadedSiteUser.getMannerScore());
+        verify(eventPublisher, times(1)).publishEvent(any(MatchingChangedEvent.class));
+    }
+
+    @Test
+    void applyCancelReadsLatestStatusWithLock() {
+        //given
+        SiteUser siteUser = getSiteUser();
+
+        SiteUser siteUserForApply = getSiteUserForApply();
+
+        Matching matching = getMatching(siteUser);
+
+        Apply acceptedApply = getApply(matching, siteUserForApply);
+        acceptedApply.changeApplyStatus(ApplyStatus.ACCEPTED); // 트랜잭션 시작 후 주최자가 수락함
+
+        given(findEntity.findApplyForUpdate(1L))
+                .willReturn(acceptedApply);
+
+        given(applyRepository.changeApplyStatus(1L, ApplyStatus.ACCEPTED, ApplyStatus.CANCELED))
+                .willReturn(1);
+
+        given(matchingRepository.decreaseAcceptedNumOfFullMatching(1L))
+                .willReturn(0);
+
+        given(matchingRepository.decreaseAcceptedNum(1L))
+                .willReturn(1);
+
+        // when
+        Apply canceled = applyService.cancel(1L);
+
+        // then
+        assertEquals(ApplyStatus.CANCELED, canceled.getApplyStatus());
+        verify(findEntity, never()).findApply(anyLong());
+        verify(matchingRepository, times(1)).decreaseAcceptedNum(1L);
     }
 
     @Test
@@ -162,7 +253,7 @@ class ApplyServiceTest {
 
         Apply apply = getApply(matching, siteUserForApply);
 
-        given(findEntity.findApply(1L))
+        given(findEntity.findApplyForUpdate(1L))
                 .willReturn(apply);
         // when
         RacketPuncherException exception = assertThrows(RacketPuncherException.class,
@@ -184,7 +275,7 @@ class ApplyServiceTest {
         apply.changeApplyStatus(ApplyStatus.ACCEPTED);
 
 
-        given(findEntity.findApply(1L))
+        given(findEntity.findApplyForUpdate(1L))
                 .willReturn(apply);
 
         // when
@@ -206,7 +297,7 @@ class ApplyServiceTest {
 
         Apply apply = getCancelApply(matching, siteUserForApply);
 
-        given(findEntity.findApply(1L))
+        given(findEntity.findApplyForUpdate(1L))
                 .willReturn(apply);
         // when
         RacketPuncherException exception = assertThrows(RacketPuncherException.class,
@@ -234,21 +325,116 @@ class ApplyServiceTest {
         List<Long> confirmedList = new ArrayList<>();
         confirmedList.add(2L);
 
-        given(findEntity.findApply(1L))
-                .willReturn(Apply.builder()
+        SiteUser siteUserForApply = getSiteUserForApply();
+
+        given(applyRepository.findAllByIdInAndMatchingIdForUpdate(Set.of(1L, 2L), 1L))
+                .willReturn(List.of(Apply.builder().id(1L).build(), Apply.builder().id(2L).build()));
+
+        given(applyRepository.findAllWithSiteUserByIdInAndMatchingId(Set.of(1L, 2L), 1L))
+                .willReturn(List.of(
+                        Apply.builder()
+                                .id(1L)
+                                .siteUser(getSiteUser())
+                                .applyStatus(ApplyStatus.PENDING)
+                                .build(),
+                        Apply.builder()
+                                .id(2L)
+                                .siteUser(siteUserForApply)
+                                .applyStatus(ApplyStatus.PENDING)
+                                .build()));
+
+        given(applyRepository.changeApplyStatuses(List.of(2L), ApplyStatus.PENDING, ApplyStatus.ACCEPTED))
+                .willReturn(1);
+
+        given(matchingRepository.addAcceptedNum(1L, 1))
+                .willReturn(1);
+
+        // when
+        applyService.accept(getSiteUser().getEmail(), appliedList, confirmedList, 1L);
+
+        // then
+        verify(applyRepository, never()).changeApplyStatuses(any(), eq(ApplyStatus.ACCEPTED), eq(ApplyStatus.PENDING));
+        verify(matchingRepository, times(1)).addAcceptedNum(1L, 1);
+        verify(notificationService, times(1))
+                .createAndSendNotifications(eq(List.of(siteUserForApply)), any(Matching.class),
+                        eq(NotificationType.ACCEPT_APPLY), eq("apply:2:1"));
+    }
+
+    @Test
+    void applyAcceptWithDuplicatedApplyIds() {
+        //given
+        given(findEntity.findMatching(1L))
+                .willReturn(Matching.builder()
                         .id(1L)
+                        .siteUser(getSiteUser())
+                        .recruitStatus(RecruitStatus.OPEN)
+                        .recruitNum(4)
+                        .date(LocalDate.now())
                         .build());
 
-        given(findEntity.findApply(2L))
-                .willReturn(Apply.builder()
-                        .id(2L)
+        SiteUser siteUserForApply = getSiteUserForApply();
+
+        given(applyRepository.findAllByIdInAndMatchingIdForUpdate(Set.of(2L), 1L))
+                .willReturn(List.of(Apply.builder().id(2L).build()));
+
+        given(applyRepository.findAllWithSiteUserByIdInAndMatchingId(Set.of(2L), 1L))
+                .willReturn(List.of(
+                        Apply.builder()
+                                .id(2L)
+                                .siteUser(siteUserForApply)
+                                .applyStatus(ApplyStatus.PENDING)
+                                .build()));
+
+        given(applyRepository.changeApplyStatuses(List.of(2L), ApplyStatus.PENDING, ApplyStatus.ACCEPTED))
+                .willReturn(1);
+
+        given(matchingRepository.addAcceptedNum(1L, 1))
+                .willReturn(1);
+
+        // when - 같은 신청 id 가 두 번 들어와도 충돌로 실패하지 않음
+        applyService.accept(getSiteUser().getEmail(), List.of(), List.of(2L, 2L), 1L);
+
+        // then
+        verify(matchingRepository, times(1)).addAcceptedNum(1L, 1);
+        verify(notificationService, times(1))
+                .createAndSendNotifications(eq(List.of(siteUserForApply)), any(Matching.class),
+                        eq(NotificationType.ACCEPT_APPLY), anyString());
+    }
+
+    @Test
+    void applyAcceptFailedByConcurrentOverRecruitNumber() {
+        //given
+        given(findEntity.findMatching(1L))
+                .willReturn(Matching.builder()
+                        .id(1L)
+                        .siteUser(getSiteUser())
+                        .recruitStatus(RecruitStatus.OPEN)
+                        .recruitNum(4)
+                        .date(LocalDate.now())
                         .build());
 
+        given(applyRepository.findAllByIdInAndMatchingIdForUpdate(Set.of(2L), 1L))
+                .willReturn(List.of(Apply.builder().id(2L).build()));
+
+        given(applyRepository.findAllWithSiteUserByIdInAndMatchingId(Set.of(2L), 1L))
+                .willReturn(List.of(Apply.builder()
+                        .id(2L)
+                        .siteUser(getSiteUserForApply())
+                        .applyStatus(ApplyStatus.PENDING)
+                        .build()));
+
+        given(applyRepository.changeApplyStatuses(List.of(2L), ApplyStatus.PENDING, ApplyStatus.ACCEPTED))
+                .willReturn(1);
+
+        given(matchingRepository.addAcceptedNum(1L, 1))
+                .willReturn(0); // 다른 요청이 먼저 정원을 채움
+
         // when
-        applyService.accept(getSiteUser().getEmail(), appliedList, confirmedList, 1L);
+        RacketPuncherException exception = assertThrows(RacketPuncherException.class,
+                () -> applyService.accept(getSiteUser().getEmail(), List.of(), List.of(2L), 1L));
 
         // then
-        verify(findEntity, times(3)).findApply(anyLong());
+        assertEquals("모집 인원보다 많은 인원을 수락할 수 없습니다.", exception.getMessage());
     }
 
     @Test
@@ -6,6 +6,8 @@ import com.example.demo.chat.repository.LastReadTimeId;
 import com.example.demo.chat.repository.LastReadTimeRepository;
 import com.example.demo.entity.ChatMessage;
 import com.example.demo.entity.SiteUser;
+import com.example.demo.outbox.dto.ChatSystemMessagePayload;
+import com.example.demo.outbox.service.OutboxService;
 import com.example.demo.siteuser.repository.SiteUserRepository;
 import com.example.demo.type.AgeGroup;
 import com.example.demo.type.GenderType;
@@ -22,6 +24,7 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
@@ -45,6 +48,9 @@ class ChatNotificationServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private ChatNotificationService chatNotificationService;
 
@@ -59,15 +65,13 @@ class ChatNotificationServiceTest {
                 .willReturn(Optional.of(siteUser));
         given(lastReadTimeRepository.existsById(any(LastReadTimeId.class)))
                 .willReturn(false);
-        given(applicationContext.getBean(SimpMessagingTemplate.class))
-                .willReturn(messagingTemplate);
 
         // when
         chatNotificationService.notifyUserConnection(matchingId, userEmail);
 
         // then
-        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/" + matchingId), any(ChatMessageResponseDto.class));
-        verify(chatMessageRepository, times(1)).save(any(ChatMessage.class));
+        verify(outboxService, times(1)).saveChatSystemMessage(matchingId, "nickName님이 입장했습니다.",
+                "chat:enter:" + matchingId + ":" + siteUser.getId());
     }
 
     @Test
@@ -75,11 +79,29 @@ class ChatNotificationServiceTest {
         // given
         String matchingId = "1L";
 
+        // when
+        chatNotificationService.notifyChatRoomWillClose(matchingId);
+
+        // then
+        verify(outboxService, times(1)).saveChatSystemMessage(eq(matchingId), anyString(),
+                eq("chat:close:" + matchingId));
+    }
+
+    @Test
+    void deliverSystemMessage() {
+        // given
+        String matchingId = "1L";
+        ChatSystemMessagePayload payload = ChatSystemMessagePayload.builder()
+                .matchingId(matchingId)
+                .content("매칭이 종료되었으므로, 24시간 후 채팅방이 비활성화됩니다.")
+                .sentTime("2023-11-15 12:00")
+                .build();
+
         given(applicationContext.getBean(SimpMessagingTemplate.class))
                 .willReturn(messagingTemplate);
 
         // when
-        chatNotificationService.notifyChatRoomWillClose(matchingId);
+        chatNotificationService.deliverSystemMessage(payload);
 
         // then
         verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/" + matchingId), any(ChatMessageResponseDto.class));
@@ -0,0 +1,76 @@
+package com.example.demo.common;
+
+import com.example.demo.entity.Apply;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.type.AgeGroup;
+import com.example.demo.type.ApplyStatus;
+import com.example.demo.type.AuthType;
+import com.example.demo.type.GenderType;
+import com.example.demo.type.MatchingType;
+import com.example.demo.type.Ntrp;
+import com.example.demo.type.RecruitStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// 실제 DB 를 쓰는 통합 테스트에서 저장할 회원, 매칭, 신청 (저장과 정리는 각 테스트에서)
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    // 테스트끼리 겹치지 않도록 이메일에 시각을 붙임
+    public static SiteUser siteUser(String name) {
+        return SiteUser.builder()
+                .password("1234")
+                .nickname(name)
+                .siteUserName(name)
+                .email(name + System.nanoTime() + "@fixture.test")
+                .phoneNumber("010-1234-5678")
+                .mannerScore(0)
+                .gender(GenderType.FEMALE)
+                .ntrp(Ntrp.ADVANCE)
+                .address("안양시")
+                .zipCode("12345")
+                .ageGroup(AgeGroup.TWENTIES)
+                .authType(AuthType.GENERAL)
+                .build();
+    }
+
+    public static Matching matching(SiteUser organizer, int recruitNum) {
+        return matching(organizer, recruitNum, 37.5, 127.0);
+    }
+
+    // 모집 중이고 주최자만 확정된 매칭
+    public static Matching matching(SiteUser organizer, int recruitNum, double lat, double lon) {
+        return Matching.builder()
+                .siteUser(organizer)
+                .title("fixture")
+                .content("content")
+                .location("location")
+                .lat(lat)
+                .lon(lon)
+                .date(LocalDate.now().plusDays(7))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(12, 0))
+                .recruitDueDateTime(LocalDateTime.now().plusDays(6))
+                .recruitNum(recruitNum)
+                .cost(1000)
+                .isReserved(true)
+                .ntrp(Ntrp.ADVANCE)
+                .age(AgeGroup.TWENTIES)
+                .recruitStatus(RecruitStatus.OPEN)
+                .matchingType(MatchingType.DOUBLE)
+                .acceptedNum(1)
+                .build();
+    }
+
+    public static Apply apply(Matching matching, SiteUser siteUser, ApplyStatus applyStatus) {
+        return Apply.builder()
+                .matching(matching)
+                .siteUser(siteUser)
+                .applyStatus(applyStatus)
+                .build();
+    }
+}
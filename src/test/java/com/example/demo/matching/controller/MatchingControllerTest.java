@@ -7,6 +7,7 @@ import com.example.demo.aws.S3Uploader;
 import com.example.demo.entity.Matching;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.matching.dto.*;
+import com.example.demo.matching.filter.CursorSortKey;
 import com.example.demo.matching.service.MatchingService;
 import com.example.demo.openfeign.dto.address.AddressResponseDto;
 import com.example.demo.openfeign.service.address.AddressService;
@@ -29,8 +30,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -205,6 +208,20 @@ class MatchingControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void getMatchingListByCursorWithoutBody() throws Exception {
+        //given
+        given(matchingService.getMatchingByFilterAfter(any(FilterDto.class), eq(CursorSortKey.CREATE_TIME),
+                isNull(), eq(5), eq(false)))
+                .willReturn(CursorPageDto.of(List.of(getMatchingPreviewDto()), null, null));
+
+        //when
+        //then - 본문이 없으면 빈 필터로 조회
+        mockMvc.perform(post("/api/matches/list/cursor"))
+                .andExpect(status().isOk())
+                .andDo(print());
+    }
+
     private Matching getMatchingEntity(){
         return Matching.builder()
                 .createTime(LocalDateTime.now())
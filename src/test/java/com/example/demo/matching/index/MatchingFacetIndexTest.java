@@ -0,0 +1,103 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.dto.FilterDto;
+import com.example.demo.matching.filter.Region;
+import com.example.demo.type.MatchingType;
+import com.example.demo.type.RecruitStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatchingFacetIndexTest {
+
+    private final MatchingFacetIndex matchingFacetIndex = new MatchingFacetIndex();
+
+    @Test
+    void sortByRequestedDirection() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        matchingFacetIndex.upsert(getMatching(1L, now.minusHours(2), now.plusDays(3)));
+        matchingFacetIndex.upsert(getMatching(2L, now.minusHours(1), now.plusDays(1)));
+        matchingFacetIndex.upsert(getMatching(3L, now.minusHours(3), now.plusDays(2)));
+
+        // when
+        List<Long> byCreateTimeDesc = matchingFacetIndex
+                .search(FilterDto.empty(), PageRequest.of(0, 5, Sort.by("createTime").descending())).matchingIds();
+        List<Long> byRecruitDueDateTimeAsc = matchingFacetIndex
+                .search(FilterDto.empty(), PageRequest.of(0, 5, Sort.by("recruitDueDateTime").ascending())).matchingIds();
+
+        // then
+        assertEquals(List.of(2L, 1L, 3L), byCreateTimeDesc);
+        assertEquals(List.of(2L, 3L, 1L), byRecruitDueDateTimeAsc);
+    }
+
+    @Test
+    void returnOnlyRequestedPage() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 5; id++) {
+            matchingFacetIndex.upsert(getMatching(id, now.minusHours(id), now.plusDays(1)));
+        }
+
+        // when
+        MatchingFacetIndex.Result result = matchingFacetIndex
+                .search(FilterDto.empty(), PageRequest.of(1, 2, Sort.by("createTime").ascending()));
+
+        // then - 등록순 5, 4, 3, 2, 1 중 두 번째 페이지
+        assertEquals(List.of(3L, 2L), result.matchingIds());
+        assertEquals(5, result.totalCount());
+    }
+
+    @Test
+    void searchOnlyCandidates() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        matchingFacetIndex.upsert(getMatching(1L, now.minusHours(1), now.plusDays(1)));
+        matchingFacetIndex.upsert(getMatching(2L, now.minusHours(2), now.plusDays(1)));
+        matchingFacetIndex.upsert(getMatching(3L, now.minusHours(3), now.plusDays(1)));
+
+        // when - 검색어 결과 중 인덱스에 없는 id(4)는 제외
+        MatchingFacetIndex.Result result = matchingFacetIndex
+                .search(FilterDto.empty(), Set.of(1L, 3L, 4L), PageRequest.of(0, 5));
+
+        // then
+        assertEquals(List.of(1L, 3L), result.matchingIds());
+        assertEquals(2, result.totalCount());
+    }
+
+    @Test
+    void evictExpiredMatching() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        matchingFacetIndex.upsert(getMatching(1L, now.minusHours(1), now.plusDays(3)));
+        matchingFacetIndex.upsert(getMatching(2L, now.minusHours(2), now.plusDays(1)));
+
+        // when - 2번 매칭의 모집 마감 이후 정리
+        matchingFacetIndex.evictExpired(now.plusDays(2));
+        MatchingFacetIndex.Result result = matchingFacetIndex.search(FilterDto.empty(), PageRequest.of(0, 5));
+
+        // then
+        assertEquals(List.of(1L), result.matchingIds());
+        assertEquals(1, result.facets().getRegions().get(Region.GANGNAM.toString()));
+    }
+
+    private static Matching getMatching(long id, LocalDateTime createTime, LocalDateTime recruitDueDateTime) {
+        return Matching.builder()
+                .id(id)
+                .date(LocalDate.now().plusDays(5))
+                .region(Region.GANGNAM)
+                .matchingType(MatchingType.SINGLE)
+                .recruitStatus(RecruitStatus.OPEN)
+                .createTime(createTime)
+                .recruitDueDateTime(recruitDueDateTime)
+                .build();
+    }
+}
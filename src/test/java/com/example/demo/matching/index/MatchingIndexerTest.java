@@ -0,0 +1,106 @@
+package com.example.demo.matching.index;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.event.MatchingChangedEvent;
+import com.example.demo.matching.repository.MatchingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingIndexerTest {
+
+    @Mock
+    private MatchingRepository matchingRepository;
+
+    @Mock
+    private MatchingIndex matchingIndex;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private MatchingIndexer matchingIndexer;
+
+    @BeforeEach
+    void setUp() {
+        matchingIndexer = new MatchingIndexer(matchingRepository, List.of(matchingIndex),
+                redisTemplate, redisMessageListenerContainer, true);
+    }
+
+    @Test
+    void publishChangeToOtherNodes() {
+        // given
+        Matching matching = Matching.builder().id(1L).build();
+        given(matchingRepository.findById(1L)).willReturn(Optional.of(matching));
+
+        // when
+        matchingIndexer.onMatchingChanged(MatchingChangedEvent.saved(1L));
+
+        // then
+        verify(matchingIndex).upsert(matching);
+        verify(redisTemplate).convertAndSend(eq("matching:index:changed"), anyString());
+    }
+
+    @Test
+    void reloadMatchingChangedOnOtherNode() {
+        // given - 다른 서버에서 변경되어 이 서버의 인덱스만 이전 상태
+        Matching matching = Matching.builder().id(1L).build();
+        given(matchingRepository.findById(1L)).willReturn(Optional.of(matching));
+
+        // when
+        matchingIndexer.onMessage(message("node-b|1|false"), null);
+
+        // then
+        verify(matchingIndex).upsert(matching);
+    }
+
+    @Test
+    void removeMatchingDeletedOnOtherNode() {
+        // when
+        matchingIndexer.onMessage(message("node-b|1|true"), null);
+
+        // then
+        verify(matchingIndex).remove(1L);
+        verify(matchingRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void ignoreOwnMessage() {
+        // given - 이 서버가 보낸 메시지는 커밋 직후 이미 반영
+        given(matchingRepository.findById(1L)).willReturn(Optional.empty());
+        matchingIndexer.onMatchingChanged(MatchingChangedEvent.saved(1L));
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("matching:index:changed"), published.capture());
+
+        // when
+        matchingIndexer.onMessage(message(published.getValue()), null);
+
+        // then
+        verify(matchingRepository).findById(1L);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("matching:index:changed".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
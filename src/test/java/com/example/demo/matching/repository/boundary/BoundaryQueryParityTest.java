@@ -0,0 +1,108 @@
+package com.example.demo.matching.repository.boundary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.demo.common.TestFixtures;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.matching.dto.LocationDto;
+import com.example.demo.matching.dto.MatchingDistanceDto;
+import com.example.demo.matching.dto.MatchingPreviewDto;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.siteuser.repository.SiteUserRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+// matching.boundary.query=spatial 로 띄운 저장소가 기존 위경도 BETWEEN 쿼리와 같은 결과를 내는지 실제 MySQL 에서 확인
+@SpringBootTest(properties = "matching.boundary.query=spatial")
+class BoundaryQueryParityTest {
+
+    // 다른 데이터와 겹치지 않는 바다 위 좌표
+    private static final double CENTER_LAT = 34.1;
+    private static final double CENTER_LON = 129.9;
+    private static final double BOUND = 0.05;
+
+    @Autowired
+    private MatchingRepository matchingRepository;
+
+    @Autowired
+    private SiteUserRepository siteUserRepository;
+
+    @Autowired
+    private JPAQueryFactory queryFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CustomRepositoryForBoundary haversineRepository;
+    private final List<Matching> matchings = new ArrayList<>();
+    private SiteUser organizer;
+
+    @BeforeEach
+    void setUp() {
+        haversineRepository = new CustomRepositoryForBoundaryImpl(queryFactory, entityManager, "haversine");
+        organizer = siteUserRepository.save(TestFixtures.siteUser("organizer"));
+        // 영역 안 3개(가까운 순), 위도 방향 밖 1개, 경도 방향 밖 1개
+        saveMatching(CENTER_LAT + 0.001, CENTER_LON + 0.001);
+        saveMatching(CENTER_LAT + 0.010, CENTER_LON - 0.020);
+        saveMatching(CENTER_LAT - 0.030, CENTER_LON + 0.040);
+        saveMatching(CENTER_LAT + 0.2, CENTER_LON);
+        saveMatching(CENTER_LAT, CENTER_LON + 0.2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchingRepository.deleteAll(matchings);
+        siteUserRepository.delete(organizer);
+    }
+
+    @Test
+    void spatialQueryMatchesHaversineQuery() {
+        // given
+        LocationDto center = new LocationDto(CENTER_LAT, CENTER_LON);
+        LocationDto northEastBound = new LocationDto(CENTER_LAT + BOUND, CENTER_LON + BOUND);
+        LocationDto southWestBound = new LocationDto(CENTER_LAT - BOUND, CENTER_LON - BOUND);
+        Set<Long> savedIds = matchings.stream().map(Matching::getId).collect(Collectors.toSet());
+
+        // when
+        List<MatchingDistanceDto> spatial = matchingRepository
+                .findAllWithinBoundaryAfter(center, northEastBound, southWestBound, null, 10);
+        List<MatchingDistanceDto> haversine = haversineRepository
+                .findAllWithinBoundaryAfter(center, northEastBound, southWestBound, null, 10);
+        List<Long> spatialPage = matchingRepository
+                .findAllWithinBoundary(center, northEastBound, southWestBound, PageRequest.of(0, 10))
+                .map(MatchingPreviewDto::getId).getContent();
+        List<Long> haversinePage = haversineRepository
+                .findAllWithinBoundary(center, northEastBound, southWestBound, PageRequest.of(0, 10))
+                .map(MatchingPreviewDto::getId).getContent();
+
+        // then - 같은 매칭이 같은 순서, 같은 거리로 조회됨
+        List<Long> expected = List.of(matchings.get(0).getId(), matchings.get(1).getId(), matchings.get(2).getId());
+        assertEquals(expected, ids(spatial).stream().filter(savedIds::contains).toList());
+        assertEquals(ids(haversine), ids(spatial));
+        for (int i = 0; i < spatial.size(); i++) {
+            assertEquals(haversine.get(i).getDistance(), spatial.get(i).getDistance(), 0.001);
+        }
+        assertEquals(haversinePage, spatialPage);
+        assertEquals(haversineRepository.countWithinBoundary(northEastBound, southWestBound),
+                matchingRepository.countWithinBoundary(northEastBound, southWestBound));
+    }
+
+    private static List<Long> ids(List<MatchingDistanceDto> result) {
+        return result.stream().map(dto -> dto.getMatchingPreview().getId()).toList();
+    }
+
+    private void saveMatching(double lat, double lon) {
+        matchings.add(matchingRepository.save(TestFixtures.matching(organizer, 4, lat, lon)));
+    }
+}
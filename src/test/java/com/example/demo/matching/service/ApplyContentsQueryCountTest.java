@@ -0,0 +1,139 @@
+package com.example.demo.matching.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.demo.apply.repository.ApplyRepository;
+import com.example.demo.common.FindEntity;
+import com.example.demo.common.TestFixtures;
+import com.example.demo.entity.Apply;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.siteuser.repository.SiteUserRepository;
+import com.example.demo.type.ApplyStatus;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 신청 현황 조회를 기존 방식(상태별 조회 + 신청자 개별 조회)과 비교해서 실행한 쿼리 수와 소요 시간을 측정
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ApplyContentsQueryCountTest {
+
+    private static final int APPLICANT_COUNT = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private FindEntity findEntity;
+
+    @Autowired
+    private ApplyRepository applyRepository;
+
+    @Autowired
+    private MatchingRepository matchingRepository;
+
+    @Autowired
+    private SiteUserRepository siteUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<SiteUser> siteUsers = new ArrayList<>();
+    private final List<Apply> applies = new ArrayList<>();
+    private Statistics statistics;
+    private SiteUser organizer;
+    private Matching matching;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        organizer = saveSiteUser("organizer");
+        matching = matchingRepository.save(TestFixtures.matching(organizer, APPLICANT_COUNT + 1));
+        for (int i = 0; i < APPLICANT_COUNT; i++) {
+            ApplyStatus applyStatus = i % 2 == 0 ? ApplyStatus.PENDING : ApplyStatus.ACCEPTED;
+            applies.add(saveApply(saveSiteUser("applicant" + i), applyStatus));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        applyRepository.deleteAll(applies);
+        if (matching != null) {
+            matchingRepository.deleteById(matching.getId());
+        }
+        siteUserRepository.deleteAll(siteUsers);
+    }
+
+    @Test
+    void loadApplyContentsWithTwoQueries() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        long queries = countQueries(() -> matchingService.getApplyContents(organizer.getEmail(), matching.getId()));
+        long legacyQueries = countQueries(() -> transactionTemplate.executeWithoutResult(status -> loadLegacy()));
+        long elapsedNanos = measure(() -> matchingService.getApplyContents(organizer.getEmail(), matching.getId()));
+        long legacyElapsedNanos = measure(() -> transactionTemplate.executeWithoutResult(status -> loadLegacy()));
+
+        // then - 회원 조회 1번 + 신청(신청자, 매칭 포함) 조회 1번, 신청자 수와 관계없음
+        log.info("apply contents queries -> " + queries + " (legacy " + legacyQueries + "), avg "
+                + elapsedNanos / 1_000 + "us (legacy " + legacyElapsedNanos / 1_000 + "us)");
+        assertEquals(2, queries);
+        assertTrue(legacyQueries > queries);
+    }
+
+    // 변경 전 조회 방식 (개수, 상태별 목록, 신청 여부를 각각 조회)
+    private void loadLegacy() {
+        siteUserRepository.findByEmail(organizer.getEmail()).orElseThrow();
+        findEntity.findMatching(matching.getId());
+        applyRepository.countByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.PENDING);
+        applyRepository.findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.PENDING);
+        applyRepository.findAllByMatching_IdAndApplyStatus(matching.getId(), ApplyStatus.ACCEPTED);
+        applyRepository.findBySiteUser_IdAndMatching_Id(organizer.getId(), matching.getId());
+    }
+
+    private long countQueries(Runnable task) {
+        statistics.clear();
+        task.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // 워밍업 후 평균 소요 시간
+    private long measure(Runnable task) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - startedAt) / ITERATIONS;
+    }
+
+    private SiteUser saveSiteUser(String name) {
+        SiteUser siteUser = siteUserRepository.save(TestFixtures.siteUser(name));
+        siteUsers.add(siteUser);
+        return siteUser;
+    }
+
+    private Apply saveApply(SiteUser siteUser, ApplyStatus applyStatus) {
+        return applyRepository.save(TestFixtures.apply(matching, siteUser, applyStatus));
+    }
+}
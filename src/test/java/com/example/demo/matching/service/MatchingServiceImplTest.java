@@ -7,37 +7,48 @@ import com.example.demo.entity.Apply;
 import com.example.demo.entity.Matching;
 import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.exception.type.ErrorCode;
+import com.example.demo.matching.cache.MatchingDetailCache;
 import com.example.demo.matching.dto.*;
+import com.example.demo.matching.filter.CursorSortKey;
 import com.example.demo.matching.filter.Region;
+import com.example.demo.matching.index.MatchingFacetIndex;
+import com.example.demo.matching.index.MatchingGeoIndex;
+import com.example.demo.matching.index.MatchingIndexer;
+import com.example.demo.matching.index.MatchingTextIndex;
 import com.example.demo.matching.repository.MatchingRepository;
 import com.example.demo.notification.service.NotificationService;
-import com.example.demo.openfeign.feignclient.LatAndLonApiFeignClient;
+import com.example.demo.openfeign.service.geocode.GeocodeService;
 import com.example.demo.siteuser.repository.SiteUserRepository;
 import com.example.demo.type.*;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class MatchingServiceImplTest {
@@ -57,28 +68,37 @@ class MatchingServiceImplTest {
     private NotificationService notificationService;
 
     @Mock
-    private LatAndLonApiFeignClient latAndLonApiFeignClient;
+    private GeocodeService geocodeService;
+
+    @Mock
+    private MatchingGeoIndex matchingGeoIndex;
+
+    @Mock
+    private MatchingFacetIndex matchingFacetIndex;
+
+    @Mock
+    private MatchingTextIndex matchingTextIndex;
+
+    @Mock
+    private MatchingDetailCache matchingDetailCache;
+
+    @Mock
+    private MatchingIndexer matchingIndexer;
 
     @InjectMocks
     private MatchingServiceImpl matchingService;
 
-    @BeforeEach
-    public void setup() {
-        ReflectionTestUtils.setField(matchingService, "apiKey", "kakaoClientId");
-    }
-
     @Test
     void createSuccess() {
         //given
         SiteUser siteUser = getSiteUser();
         MatchingDetailRequestDto matchingDetailRequestDto = getMatchingDetailDto();
         ApplyDto applyDto = getApplyDto(siteUser, Matching.fromDto(matchingDetailRequestDto, siteUser));
-        LatAndLonResponseDto latAndLonResponseDto = getLatAndLonResponseDto();
 
         given(siteUserRepository.findByEmail(siteUser.getEmail()))
                 .willReturn(Optional.of(siteUser));
-        given(latAndLonApiFeignClient.getLatAndLon(matchingDetailRequestDto.getLocation(), "KakaoAK kakaoClientId"))
-                .willReturn(latAndLonResponseDto);
+        given(geocodeService.geocode(matchingDetailRequestDto.getLocation()))
+                .willReturn(getGeocodeDto());
         given(matchingRepository.save(any(Matching.class)))
                 .willReturn(Matching.fromDto(matchingDetailRequestDto, siteUser));
         given(applyRepository.save(any(Apply.class)))
@@ -93,18 +113,40 @@ class MatchingServiceImplTest {
         assertThat(savedMatching.getLocation()).isEqualTo(matchingDetailRequestDto.getLocation());
     }
 
+    @Test
+    void createWithRegionFromGeocode() {
+        //given
+        SiteUser siteUser = getSiteUser();
+        MatchingDetailRequestDto matchingDetailRequestDto = getMatchingDetailDto();
+
+        given(siteUserRepository.findByEmail(siteUser.getEmail()))
+                .willReturn(Optional.of(siteUser));
+        given(geocodeService.geocode(matchingDetailRequestDto.getLocation()))
+                .willReturn(new GeocodeDto(37.5, 127.0, Region.GANGNAM));
+        given(matchingRepository.save(any(Matching.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(applyRepository.save(any(Apply.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Matching> captor = ArgumentCaptor.forClass(Matching.class);
+
+        //when
+        matchingService.create(siteUser.getEmail(), matchingDetailRequestDto);
+
+        //then
+        verify(matchingRepository).save(captor.capture());
+        assertEquals(Region.GANGNAM, captor.getValue().getRegion());
+    }
+
     @Test
     void createFailByWrongAddress() {
         //given
         SiteUser siteUser = getSiteUser();
         MatchingDetailRequestDto matchingDetailRequestDto = getMatchingDetailDto();
-        LatAndLonResponseDto latAndLonResponseDto = getLatAndLonResponseDto();
-        latAndLonResponseDto.setDocuments(new ArrayList<>());
 
         given(siteUserRepository.findByEmail(siteUser.getEmail()))
                 .willReturn(Optional.of(siteUser));
-        given(latAndLonApiFeignClient.getLatAndLon(matchingDetailRequestDto.getLocation(), "KakaoAK kakaoClientId"))
-                .willReturn(latAndLonResponseDto);
+        given(geocodeService.geocode(matchingDetailRequestDto.getLocation()))
+                .willThrow(new RacketPuncherException(ErrorCode.LAT_AND_LON_NOT_FOUND));
 
         //when
         RacketPuncherException exception = assertThrows(RacketPuncherException.class,
@@ -152,6 +194,17 @@ class MatchingServiceImplTest {
 
     @Test
     void getDetail() {
+        // given
+        given(findEntity.findMatching(1L)).willReturn(getMatchingEntity(getSiteUser()));
+        given(matchingDetailCache.get(eq(1L), any()))
+                .willAnswer(invocation -> invocation.<Supplier<MatchingDetailResponseDto>>getArgument(1).get());
+
+        // when
+        MatchingDetailResponseDto result = matchingService.getDetail(1L);
+
+        // then
+        assertEquals(1L, result.getId());
+        assertEquals(getSiteUser().getId(), result.getCreatorInfo().getId());
     }
 
     @Test
@@ -159,20 +212,8 @@ class MatchingServiceImplTest {
         // given
         given(siteUserRepository.findByEmail("example@example.com"))
                 .willReturn(Optional.ofNullable(getSiteUser()));
-        given(findEntity.findMatching(1L)).willReturn(getMatchingEntity(getSiteUser()));
-        given(applyRepository.countByMatching_IdAndApplyStatus(1L, ApplyStatus.PENDING))
-                .willReturn(Optional.of(2));
-        given(applyRepository.findAllByMatching_IdAndApplyStatus(1L, ApplyStatus.PENDING))
-                .willReturn(getApplyMember());
-        given(applyRepository.findAllByMatching_IdAndApplyStatus(1L, ApplyStatus.ACCEPTED))
-                .willReturn(getConfirmedMember());
-         given(applyRepository.findBySiteUser_IdAndMatching_Id(getSiteUser().getId(), 1L))
-                 .willReturn(Optional.ofNullable(Apply.builder()
-                         .siteUser(getSiteUser())
-                         .applyStatus(ApplyStatus.PENDING)
-                         .matching(getMatchingEntity(getSiteUser()))
-                         .id(1L)
-                         .build()));
+        given(applyRepository.findAllWithSiteUserByMatchingId(1L))
+                .willReturn(getAllApplies(getMatchingEntity(getSiteUser())));
 
         // when
         var result = matchingService.getApplyContents("example@example.com", 1L);
@@ -180,6 +221,8 @@ class MatchingServiceImplTest {
         // then
         assertEquals(2, result.getApplyNum());
         assertEquals(2, result.getAppliedMembers().size());
+        assertEquals(2, result.getAcceptedMembers().size());
+        assertThat(result.isApplied()).isTrue();
     }
 
     @Test
@@ -187,13 +230,8 @@ class MatchingServiceImplTest {
         // given
         given(siteUserRepository.findByEmail("example@example.com"))
                 .willReturn(Optional.ofNullable(getSiteUser2()));
-        given(findEntity.findMatching(1L)).willReturn(getMatchingEntity(getSiteUser()));
-        given(applyRepository.countByMatching_IdAndApplyStatus(1L, ApplyStatus.PENDING))
-                .willReturn(Optional.of(2));
-        given(applyRepository.findAllByMatching_IdAndApplyStatus(1L, ApplyStatus.PENDING))
-                .willReturn(getApplyMember());
-        given(applyRepository.findAllByMatching_IdAndApplyStatus(1L, ApplyStatus.ACCEPTED))
-                .willReturn(getConfirmedMember());
+        given(applyRepository.findAllWithSiteUserByMatchingId(1L))
+                .willReturn(getAllApplies(getMatchingEntity(getSiteUser())));
 
         // when
         var result = matchingService.getApplyContents("example@example.com", 1L);
@@ -203,6 +241,22 @@ class MatchingServiceImplTest {
         assertEquals(null, result.getAppliedMembers());
     }
 
+    @Test
+    void getApplyContentsWithoutApplies() {
+        // given
+        given(siteUserRepository.findByEmail("example@example.com"))
+                .willReturn(Optional.ofNullable(getSiteUser()));
+        given(applyRepository.findAllWithSiteUserByMatchingId(1L)).willReturn(List.of());
+        given(findEntity.findMatching(1L)).willReturn(getMatchingEntity(getSiteUser()));
+
+        // when
+        var result = matchingService.getApplyContents("example@example.com", 1L);
+
+        // then
+        assertEquals(0, result.getApplyNum());
+        assertThat(result.isApplied()).isFalse();
+    }
+
     @Test
     void getApplyContentsFailedByEmailNotFound() {
         // given
@@ -225,15 +279,72 @@ class MatchingServiceImplTest {
         Matching matching = getMatchingEntity(getSiteUser());
 
         given(matchingRepository.findAllWithinBoundary(eq(locationDto), any(LocationDto.class), any(LocationDto.class), eq(pageable)))
-                .willReturn(new PageImpl<>(List.of(matching), pageable, 1));
+                .willReturn(new PageImpl<>(List.of(MatchingPreviewDto.fromEntity(matching)), pageable, 1));
+
+        // when
+        var result = matchingService.getMatchingWithinDistance(locationDto, 3.0, pageable);
+
+        // then
+        assertEquals(matching.getId(), result.get().findFirst().orElseThrow().getId());
+    }
+
+    @Test
+    void getMatchingWithinDistanceFromIndex() {
+        // given
+        LocationDto locationDto = getLocationDto();
+        Pageable pageable = PageRequest.of(0, 5);
+        Matching matching = getMatchingEntity(getSiteUser());
+
+        given(matchingGeoIndex.isReady()).willReturn(true);
+        given(matchingGeoIndex.findIdsWithinBoundary(eq(locationDto), any(LocationDto.class), any(LocationDto.class), eq(pageable)))
+                .willReturn(new PageImpl<>(List.of(matching.getId()), pageable, 1));
+        given(matchingRepository.findAllRecruitingPreviewsByIdIn(List.of(matching.getId())))
+                .willReturn(List.of(MatchingPreviewDto.fromEntity(matching)));
 
         // when
         var result = matchingService.getMatchingWithinDistance(locationDto, 3.0, pageable);
 
         // then
+        assertEquals(1, result.getTotalElements());
         assertEquals(matching.getId(), result.get().findFirst().orElseThrow().getId());
     }
 
+    @Test
+    void getMatchingByFilterAfterCursor() {
+        // given
+        FilterDto filterDto = getFilterDto();
+        MatchingPreviewDto first = MatchingPreviewDto.fromEntity(getMatchingEntity(getSiteUser()));
+        MatchingPreviewDto second = MatchingPreviewDto.builder()
+                .id(2L)
+                .createTime(first.getCreateTime().plusMinutes(1))
+                .recruitDueDateTime(first.getRecruitDueDateTime())
+                .build();
+        String cursor = MatchingCursor.of(first, CursorSortKey.CREATE_TIME).encode();
+
+        given(matchingRepository.findAllByFilterAfter(eq(filterDto), eq(CursorSortKey.CREATE_TIME), any(MatchingCursor.class), eq(2)))
+                .willReturn(new ArrayList<>(List.of(second, first)));
+
+        // when
+        var result = matchingService.getMatchingByFilterAfter(filterDto, CursorSortKey.CREATE_TIME, cursor, 1, false);
+
+        // then
+        assertEquals(1, result.getContent().size());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertThat(result.isHasNext()).isTrue();
+        assertEquals(MatchingCursor.of(second, CursorSortKey.CREATE_TIME).encode(), result.getNextCursor());
+        assertThat(result.getTotalCount()).isNull();
+    }
+
+    @Test
+    void getMatchingByFilterAfterInvalidCursor() {
+        // when
+        RacketPuncherException exception = assertThrows(RacketPuncherException.class,
+                () -> matchingService.getMatchingByFilterAfter(getFilterDto(), CursorSortKey.CREATE_TIME, "invalid", 5, false));
+
+        // then
+        assertEquals("유효하지 않은 커서입니다.", exception.getMessage());
+    }
+
     @Test
     void getMatchingByEmptyFilter() {
         // given
@@ -241,8 +352,8 @@ class MatchingServiceImplTest {
         Pageable pageable = PageRequest.of(0, 5);
         Matching matching = getMatchingEntity(getSiteUser());
 
-        given(matchingRepository.findByRecruitStatusAndRecruitDueDateTimeAfter(eq(RecruitStatus.OPEN), any(LocalDateTime.class), eq(pageable)))
-                .willReturn(new PageImpl<>(List.of(matching), pageable, 1));
+        given(matchingRepository.findAllByFilter(filterDto, pageable))
+                .willReturn(new PageImpl<>(List.of(MatchingPreviewDto.fromEntity(matching)), pageable, 1));
 
         // when
         var result = matchingService.getMatchingByFilter(filterDto, pageable);
@@ -259,13 +370,99 @@ class MatchingServiceImplTest {
         Matching matching = getMatchingEntity(getSiteUser());
 
         given(matchingRepository.findAllByFilter(filterDto, pageable))
-                .willReturn(new PageImpl<>(List.of(matching), pageable, 1));
+                .willReturn(new PageImpl<>(List.of(MatchingPreviewDto.fromEntity(matching)), pageable, 1));
 
         // when
         var result = matchingService.getMatchingByFilter(filterDto, pageable);
 
-        // then
+        // then - 필터가 있으면 모집이 끝난 매칭도 포함해야 하므로 필터 인덱스를 쓰지 않음
         assertEquals(matching.getId(), result.get().findFirst().orElseThrow().getId());
+        verify(matchingFacetIndex, never()).search(any(FilterDto.class), any(Sort.class));
+    }
+
+    @Test
+    void getRecruitingMatchingByFilterFromFacetIndex() {
+        // given
+        FilterDto filterDto = getFilterDto();
+        Pageable pageable = PageRequest.of(0, 1);
+        Matching matching = getMatchingEntity(getSiteUser());
+        MatchingFacetsDto facets = MatchingFacetsDto.builder()
+                .matchingTypes(Map.of(MatchingType.SINGLE.name(), 2))
+                .build();
+
+        given(matchingFacetIndex.isReady()).willReturn(true);
+        given(matchingFacetIndex.search(filterDto, pageable))
+                .willReturn(new MatchingFacetIndex.Result(List.of(matching.getId()), 2, facets));
+        given(matchingRepository.findAllRecruitingPreviewsByIdIn(List.of(matching.getId())))
+                .willReturn(List.of(MatchingPreviewDto.fromEntity(matching)));
+
+        // when
+        var result = matchingService.getRecruitingMatchingByFilter(filterDto, pageable);
+
+        // then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(matching.getId(), result.getContent().get(0).getId());
+        assertEquals(2, ((FacetedPage<MatchingPreviewDto>) result).getFacets().getMatchingTypes().get("SINGLE"));
+    }
+
+    @Test
+    void dropNotRecruitingMatchingFromFacetIndex() {
+        // given - 인덱스에는 남아 있지만 DB 에서는 이미 마감된 매칭
+        FilterDto filterDto = getFilterDto();
+        Pageable pageable = PageRequest.of(0, 2);
+        Matching matching = getMatchingEntity(getSiteUser());
+
+        given(matchingFacetIndex.isReady()).willReturn(true);
+        given(matchingFacetIndex.search(filterDto, pageable))
+                .willReturn(new MatchingFacetIndex.Result(List.of(matching.getId(), 2L), 2, new MatchingFacetsDto()));
+        given(matchingRepository.findAllRecruitingPreviewsByIdIn(List.of(matching.getId(), 2L)))
+                .willReturn(List.of(MatchingPreviewDto.fromEntity(matching)));
+
+        // when
+        var result = matchingService.getRecruitingMatchingByFilter(filterDto, pageable);
+
+        // then
+        assertEquals(1, result.getContent().size());
+        assertEquals(matching.getId(), result.getContent().get(0).getId());
+        verify(matchingIndexer).refresh(2L);
+        verify(matchingIndexer, never()).refresh(matching.getId());
+    }
+
+    @Test
+    void searchMatchingFromIndex() {
+        // given
+        FilterDto filterDto = getFilterDto();
+        Pageable pageable = PageRequest.of(0, 5);
+        Matching matching = getMatchingEntity(getSiteUser());
+
+        given(matchingTextIndex.isReady()).willReturn(true);
+        given(matchingFacetIndex.isReady()).willReturn(true);
+        given(matchingTextIndex.search("테니스")).willReturn(Set.of(matching.getId()));
+        given(matchingFacetIndex.search(filterDto, Set.of(matching.getId()), pageable))
+                .willReturn(new MatchingFacetIndex.Result(List.of(matching.getId()), 1, null));
+        given(matchingRepository.findAllRecruitingPreviewsByIdIn(List.of(matching.getId())))
+                .willReturn(List.of(MatchingPreviewDto.fromEntity(matching)));
+
+        // when
+        var result = matchingService.searchMatching("테니스", filterDto, null, 3.0, pageable);
+
+        // then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(matching.getId(), result.getContent().get(0).getId());
+    }
+
+    @Test
+    void searchMatchingWithEmptyKeyword() {
+        // given - 특수문자만 입력하면 정규화 후 빈 검색어
+        Pageable pageable = PageRequest.of(0, 5);
+
+        // when
+        RacketPuncherException exception = assertThrows(RacketPuncherException.class,
+                () -> matchingService.searchMatching("!@# ", null, null, 3.0, pageable));
+
+        // then
+        assertThat(exception.getMessage()).isEqualTo(ErrorCode.INVALID_KEYWORD.getDescription());
+        verify(matchingRepository, never()).searchByKeyword(any(), any(), any(), any(), any());
     }
 
     private SiteUser getSiteUser() {
@@ -368,6 +565,7 @@ class MatchingServiceImplTest {
                 .title("같이 테니스 치실분 구해요")
                 .date(LocalDate.now())
                 .startTime(LocalTime.now())
+                .endTime(LocalTime.now().plusHours(2))
                 .build();
     }
 
@@ -389,6 +587,7 @@ class MatchingServiceImplTest {
                         .zipCode("zipCode1")
                         .profileImg("profile1")
                         .build())
+                .applyStatus(ApplyStatus.PENDING)
                 .build();
 
         var applyMember2 = Apply.builder()
@@ -406,6 +605,7 @@ class MatchingServiceImplTest {
                         .zipCode("zipCode2")
                         .profileImg("profile2")
                         .build())
+                .applyStatus(ApplyStatus.PENDING)
                 .build();
 
         applyMembers.add(applyMember1);
@@ -432,6 +632,7 @@ class MatchingServiceImplTest {
                         .zipCode("zipCode3")
                         .profileImg("profile3")
                         .build())
+                .applyStatus(ApplyStatus.ACCEPTED)
                 .build();
 
         var applyMember2 = Apply.builder()
@@ -449,6 +650,7 @@ class MatchingServiceImplTest {
                         .zipCode("zipCode4")
                         .profileImg("profile4")
                         .build())
+                .applyStatus(ApplyStatus.ACCEPTED)
                 .build();
 
         confirmedMembers.add(applyMember1);
@@ -457,15 +659,24 @@ class MatchingServiceImplTest {
         return confirmedMembers;
     }
 
-    private LatAndLonResponseDto getLatAndLonResponseDto(){
-        List<DocumentForAddressDto> documentList = Arrays.asList(
-                DocumentForAddressDto.builder()
-                        .x("37.8")
-                        .y("127.5")
-                        .build());
+    // 신청 조회 시 매칭을 함께 가져오므로 매칭을 채워서 반환
+    private List<Apply> getAllApplies(Matching matching) {
+        List<Apply> applies = new ArrayList<>(getApplyMember());
+        applies.addAll(getConfirmedMember());
+        return applies.stream()
+                .map(apply -> Apply.builder()
+                        .id(apply.getId())
+                        .matching(matching)
+                        .siteUser(apply.getSiteUser())
+                        .applyStatus(apply.getApplyStatus())
+                        .build())
+                .toList();
+    }
 
-        return LatAndLonResponseDto.builder()
-                .documents(documentList)
+    private GeocodeDto getGeocodeDto(){
+        return GeocodeDto.builder()
+                .lat(127.5)
+                .lon(37.8)
                 .build();
     }
 
@@ -0,0 +1,121 @@
+package com.example.demo.notification.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class EmitterRepositoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestClock clock = new TestClock();
+    private final EmitterRepository emitterRepository = new EmitterRepository(meterRegistry, 4, clock);
+
+    @Test
+    void keepAllDevicesOfUser() {
+        // given
+        SseEmitter firstTab = new SseEmitter();
+        SseEmitter secondTab = new SseEmitter();
+
+        // when
+        emitterRepository.save(1L, firstTab);
+        emitterRepository.save(1L, secondTab);
+        emitterRepository.save(5L, new SseEmitter()); // 같은 샤드의 다른 회원
+
+        // then
+        assertEquals(2, emitterRepository.findAll(1L).size());
+        assertEquals(3.0, meterRegistry.get("notification.sse.connections").gauge().value());
+    }
+
+    @Test
+    void deleteOnlyClosedDevice() {
+        // given
+        SseEmitter firstTab = new SseEmitter();
+        SseEmitter secondTab = new SseEmitter();
+        emitterRepository.save(1L, firstTab);
+        emitterRepository.save(1L, secondTab);
+
+        // when
+        emitterRepository.delete(1L, firstTab);
+        emitterRepository.delete(1L, firstTab); // 완료, 타임아웃 콜백이 중복으로 호출되어도 한 번만 감소
+
+        // then
+        assertEquals(List.of(secondTab), emitterRepository.findAll(1L));
+        assertEquals(1, emitterRepository.count());
+    }
+
+    @Test
+    void reportWhenLastDeviceOfUserDeleted() {
+        // given
+        SseEmitter firstTab = new SseEmitter();
+        SseEmitter secondTab = new SseEmitter();
+        emitterRepository.save(1L, firstTab);
+        emitterRepository.save(1L, secondTab);
+
+        // when
+        boolean firstDeleted = emitterRepository.delete(1L, firstTab);
+        boolean secondDeleted = emitterRepository.delete(1L, secondTab);
+        boolean deletedAgain = emitterRepository.delete(1L, secondTab);
+
+        // then - 마지막 연결이 삭제될 때만 true
+        assertFalse(firstDeleted);
+        assertTrue(secondDeleted);
+        assertFalse(deletedAgain);
+        assertTrue(emitterRepository.findAllUserIds().isEmpty());
+    }
+
+    @Test
+    void findStaleConnectionsByLastWrite() {
+        // given - 0ms 에 두 회원이 연결
+        SseEmitter stale = new SseEmitter();
+        SseEmitter alive = new SseEmitter();
+        emitterRepository.save(1L, stale);
+        emitterRepository.save(2L, alive);
+
+        // when - 1000ms 에 2번 회원에게만 전송 성공, 1500ms 에 1000ms 이상 전송이 없던 연결 조회
+        clock.advance(1000);
+        emitterRepository.beforeWrite(10);
+        emitterRepository.afterWrite(2L, alive, 10, true);
+        clock.advance(500);
+        List<SseEmitter> found = new ArrayList<>();
+        emitterRepository.forEachStale(1000, (userId, emitter) -> found.add(emitter));
+
+        // then
+        assertEquals(List.of(stale), found);
+        assertFalse(found.contains(alive));
+        assertEquals(0.0, meterRegistry.get("notification.sse.pending.bytes").gauge().value());
+    }
+
+    private static class TestClock extends Clock {
+
+        private long millis;
+
+        private void advance(long millis) {
+            this.millis += millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
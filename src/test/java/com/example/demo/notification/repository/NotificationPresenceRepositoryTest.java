@@ -0,0 +1,73 @@
+package com.example.demo.notification.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPresenceRepositoryTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Test
+    void findOnlyOtherNodes() {
+        // given - 같은 회원이 이 서버와 다른 서버에 모두 연결
+        NotificationPresenceRepository presenceRepository =
+                new NotificationPresenceRepository(redisTemplate, "node-a", true, 90000);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.rangeByScore(eq("notification:presence:1"), anyDouble(), eq(Double.POSITIVE_INFINITY)))
+                .willReturn(Set.of("node-a", "node-b"));
+
+        // when
+        Set<String> remoteNodes = presenceRepository.findRemoteNodes(1L);
+
+        // then
+        assertEquals(Set.of("node-b"), remoteNodes);
+    }
+
+    @Test
+    void deliverLocallyWhenPresenceUnavailable() {
+        // given
+        NotificationPresenceRepository presenceRepository =
+                new NotificationPresenceRepository(redisTemplate, "node-a", true, 90000);
+        given(redisTemplate.opsForZSet()).willThrow(new IllegalStateException("redis down"));
+
+        // when
+        Set<String> remoteNodes = presenceRepository.findRemoteNodes(1L);
+
+        // then - 조회 실패는 전송 실패로 이어지지 않음
+        assertTrue(remoteNodes.isEmpty());
+    }
+
+    @Test
+    void skipRedisWhenClusterDisabled() {
+        // given
+        NotificationPresenceRepository presenceRepository =
+                new NotificationPresenceRepository(redisTemplate, "", false, 90000);
+
+        // when
+        presenceRepository.register(1L);
+        Set<String> remoteNodes = presenceRepository.findRemoteNodes(1L);
+
+        // then
+        assertTrue(remoteNodes.isEmpty());
+        assertFalse(presenceRepository.getNodeId().isBlank());
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.notification.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.notification.repository.NotificationReplayBuffer.ReplayEvent;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationReplayBufferTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Test
+    void replayOnlyMissedTail() {
+        // given
+        NotificationReplayBuffer buffer = getLocalBuffer(3);
+        buffer.append(1L, 10L, "first");
+        buffer.append(1L, 11L, "second");
+        buffer.append(1L, 12L, "third");
+
+        // when
+        Optional<List<ReplayEvent>> missed = buffer.findAllAfter(1L, 10L);
+
+        // then
+        assertEquals(List.of(new ReplayEvent(11L, "second"), new ReplayEvent(12L, "third")), missed.orElseThrow());
+    }
+
+    @Test
+    void emptyWhenBufferMayHaveGap() {
+        // given - 용량이 2라서 10번 알림은 밀려남
+        NotificationReplayBuffer buffer = getLocalBuffer(2);
+        buffer.append(1L, 10L, "first");
+        buffer.append(1L, 11L, "second");
+        buffer.append(1L, 12L, "third");
+
+        // when
+        Optional<List<ReplayEvent>> missed = buffer.findAllAfter(1L, 9L);
+
+        // then - DB 에서 조회해야 함
+        assertTrue(missed.isEmpty());
+    }
+
+    @Test
+    void keepHighestIdsWhenAppendedOutOfOrder() {
+        // given - 12번이 11번보다 먼저 들어와도 가장 작은 id 인 11번이 밀려남
+        NotificationReplayBuffer buffer = getLocalBuffer(2);
+        buffer.append(1L, 12L, "second");
+        buffer.append(1L, 11L, "first");
+        buffer.append(1L, 13L, "third");
+
+        // when
+        Optional<List<ReplayEvent>> afterFirst = buffer.findAllAfter(1L, 11L);
+        Optional<List<ReplayEvent>> afterSecond = buffer.findAllAfter(1L, 12L);
+
+        // then - 12번 이후 구간만 보장됨
+        assertTrue(afterFirst.isEmpty());
+        assertEquals(List.of(new ReplayEvent(13L, "third")), afterSecond.orElseThrow());
+    }
+
+    @Test
+    void readRedisEvenWhenSentFromThisServer() {
+        // given - 이 서버는 10, 12번만 보냈고 11번은 다른 서버에서 전송됨
+        NotificationReplayBuffer buffer = new NotificationReplayBuffer(redisTemplate, 50, 100, 30, true, 24);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        buffer.append(1L, 10L, "first");
+        buffer.append(1L, 12L, "third");
+        given(zSetOperations.range("notification:replay:zset:1", 0, -1))
+                .willReturn(new LinkedHashSet<>(List.of("10|first", "11|second|with separator", "12|third")));
+
+        // when
+        Optional<List<ReplayEvent>> missed = buffer.findAllAfter(1L, 10L);
+
+        // then
+        assertEquals(List.of(new ReplayEvent(11L, "second|with separator"), new ReplayEvent(12L, "third")),
+                missed.orElseThrow());
+        verify(zSetOperations).add("notification:replay:zset:1", "12|third", 12L);
+    }
+
+    @Test
+    void emptyWhenRedisFailed() {
+        // given
+        NotificationReplayBuffer buffer = new NotificationReplayBuffer(redisTemplate, 50, 100, 30, true, 24);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.range("notification:replay:zset:1", 0, -1))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when
+        Optional<List<ReplayEvent>> missed = buffer.findAllAfter(1L, 10L);
+
+        // then - DB 에서 조회해야 함
+        assertTrue(missed.isEmpty());
+    }
+
+    private NotificationReplayBuffer getLocalBuffer(int capacity) {
+        return new NotificationReplayBuffer(redisTemplate, capacity, 100, 30, false, 24);
+    }
+}
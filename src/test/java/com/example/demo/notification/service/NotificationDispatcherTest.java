@@ -0,0 +1,80 @@
+package com.example.demo.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.entity.Notification;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.exception.type.ErrorCode;
+import com.example.demo.type.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sendQueuedNotificationsOnShutdown() {
+        // given
+        NotificationDispatcher dispatcher = getDispatcher(10, 1);
+        Notification first = getNotification(10L, 1L);
+        Notification second = getNotification(11L, 2L);
+
+        // 두 번째 사용자의 SSE 연결이 끊겨 있어도 첫 번째 사용자에게는 전송되어야 함
+        willThrow(new RacketPuncherException(ErrorCode.NOTIFICATION_CONNECTION_FAILED))
+                .given(notificationService).send(2L, second);
+
+        // when - 워커가 시작되기 전에 쌓인 알림도 종료 시 모두 처리
+        dispatcher.enqueue(first);
+        dispatcher.enqueue(second);
+        dispatcher.start();
+        dispatcher.shutdown();
+
+        // then
+        verify(notificationService, times(1)).send(1L, first);
+        assertEquals(1.0, meterRegistry.counter("notification.queue", "result", "sent").count());
+        assertEquals(1.0, meterRegistry.counter("notification.queue", "result", "send_failed").count());
+    }
+
+    @Test
+    void dropNotificationWhenQueueIsFull() {
+        // given - 워커 없이 큐 한 칸
+        NotificationDispatcher dispatcher = getDispatcher(1, 0);
+
+        // when
+        dispatcher.enqueue(getNotification(null, 1L));
+        dispatcher.enqueue(getNotification(null, 2L));
+
+        // then
+        assertEquals(1.0, meterRegistry.counter("notification.queue", "result", "enqueued").count());
+        assertEquals(1.0, meterRegistry.counter("notification.queue", "result", "dropped").count());
+        assertEquals(1.0, meterRegistry.get("notification.queue.size").gauge().value());
+    }
+
+    private NotificationDispatcher getDispatcher(int capacity, int workerCount) {
+        return new NotificationDispatcher(notificationService, meterRegistry,
+                capacity, workerCount, 100, 0, 5);
+    }
+
+    private static Notification getNotification(Long id, Long siteUserId) {
+        return Notification.builder()
+                .id(id)
+                .siteUser(SiteUser.builder()
+                        .id(siteUserId)
+                        .build())
+                .notificationType(NotificationType.ACCEPT_APPLY)
+                .content(NotificationType.ACCEPT_APPLY.getMessage())
+                .build();
+    }
+}
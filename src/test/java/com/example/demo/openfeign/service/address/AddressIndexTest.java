@@ -0,0 +1,123 @@
+package com.example.demo.openfeign.service.address;
+
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.openfeign.dto.address.AddressResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AddressIndexTest {
+
+    private static final String REDIS_KEY = "address:juso";
+
+    @Mock
+    private MatchingRepository matchingRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    private AddressIndex addressIndex;
+
+    @BeforeEach
+    void setup() {
+        addressIndex = new AddressIndex(matchingRepository, redisTemplate, 3);
+    }
+
+    @Test
+    void searchByWordPrefix() {
+        // given
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        addressIndex.merge(List.of(
+                getAddress("서울특별시 강남구 테헤란로 1", "서울특별시 강남구 역삼동 1", "06236"),
+                getAddress("서울특별시 강남구 테헤란로 2", null, null),
+                getAddress("경기도 안양시 만안구 안양로 1", null, null)));
+
+        // when
+        List<AddressResponseDto> byRoad = addressIndex.search("테헤란로", 15);
+        List<AddressResponseDto> byJibun = addressIndex.search("역삼동", 15);
+        List<AddressResponseDto> limited = addressIndex.search("서울특별시", 1);
+
+        // then
+        assertEquals(2, byRoad.size());
+        assertEquals("서울특별시 강남구 테헤란로 1", byJibun.get(0).getRoadAddr());
+        assertEquals(1, limited.size());
+        assertEquals(List.of(), addressIndex.search("  ", 15));
+    }
+
+    @Test
+    void replaceWithMoreDetailedAddress() {
+        // given - 매칭 장소로 적재된 주소는 우편번호가 없음
+        given(matchingRepository.findDistinctLocations()).willReturn(List.of("서울특별시 강남구 테헤란로 1"));
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        addressIndex.loadIndex();
+        assertNull(addressIndex.search("테헤란로", 15).get(0).getZipNo());
+
+        // when
+        addressIndex.merge(List.of(getAddress("서울특별시 강남구 테헤란로 1", null, "06236")));
+
+        // then
+        List<AddressResponseDto> result = addressIndex.search("테헤란로", 15);
+        assertEquals(1, result.size());
+        assertEquals("06236", result.get(0).getZipNo());
+    }
+
+    @Test
+    void boundIndexAndRedisSize() {
+        // given - 최대 3개
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        given(setOperations.size(REDIS_KEY)).willReturn(5L);
+
+        // when
+        addressIndex.merge(List.of(
+                getAddress("서울특별시 강남구 테헤란로 1", null, null),
+                getAddress("서울특별시 강남구 테헤란로 2", null, null),
+                getAddress("서울특별시 강남구 테헤란로 3", null, null),
+                getAddress("서울특별시 강남구 테헤란로 4", null, null)));
+
+        // then
+        assertEquals(3, addressIndex.size());
+        verify(setOperations).pop(REDIS_KEY, 2L);
+    }
+
+    @Test
+    void skipRedisWhenNothingAdded() {
+        // given
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        given(setOperations.size(REDIS_KEY)).willReturn(1L);
+        addressIndex.merge(List.of(getAddress("서울특별시 강남구 테헤란로 1", null, null)));
+
+        // when - 같은 주소를 다시 반영
+        addressIndex.merge(List.of(getAddress("서울특별시 강남구 테헤란로 1", null, null)));
+
+        // then
+        verify(setOperations).add(eq(REDIS_KEY), any(String[].class));
+        verify(setOperations, never()).pop(eq(REDIS_KEY), anyLong());
+    }
+
+    private static AddressResponseDto getAddress(String roadAddr, String jibunAddr, String zipNo) {
+        return AddressResponseDto.builder()
+                .roadAddr(roadAddr)
+                .jibunAddr(jibunAddr)
+                .zipNo(zipNo)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.openfeign.service.address;
+
+import com.example.demo.openfeign.dto.address.AddressResponseDto;
+import com.example.demo.openfeign.dto.address.Juso;
+import com.example.demo.openfeign.dto.address.JusoResponse;
+import com.example.demo.openfeign.dto.address.Results;
+import com.example.demo.openfeign.feignclient.AddressApiFeignClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AddressServiceImplTest {
+
+    private static final int COUNT_PER_PAGE = 15;
+
+    @Mock
+    private AddressApiFeignClient addressApiFeignClient;
+
+    @Mock
+    private AddressIndex addressIndex;
+
+    @InjectMocks
+    private AddressServiceImpl addressService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(addressService, "apiKey", "addressApiKey");
+    }
+
+    @Test
+    void returnLocalAddressesWhenPageFilled() {
+        // given
+        List<AddressResponseDto> local = getAddresses("테헤란로", COUNT_PER_PAGE);
+        given(addressIndex.search("테헤란로", COUNT_PER_PAGE)).willReturn(local);
+
+        // when
+        List<AddressResponseDto> result = addressService.getAddressService("테헤란로");
+
+        // then
+        assertEquals(local, result);
+        verify(addressApiFeignClient, never()).getAddress(anyString(), anyInt(), anyInt(), anyString(),
+                anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void returnLocalAddressesWhenAnyFound() {
+        // given - 한 페이지를 채우지 못해도 로컬 결과가 있으면 그대로 반환
+        List<AddressResponseDto> local = List.of(getAddress("서울특별시 강남구 테헤란로 1"));
+        given(addressIndex.search("테헤란로", COUNT_PER_PAGE)).willReturn(local);
+
+        // when
+        List<AddressResponseDto> result = addressService.getAddressService("테헤란로");
+
+        // then
+        assertEquals(local, result);
+        verify(addressApiFeignClient, never()).getAddress(anyString(), anyInt(), anyInt(), anyString(),
+                anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void getRemoteAddressesWhenLocalEmpty() {
+        // given
+        given(addressIndex.search("테헤란로", COUNT_PER_PAGE)).willReturn(List.of());
+        given(addressApiFeignClient.getAddress(eq("addressApiKey"), eq(1), eq(COUNT_PER_PAGE), eq("테헤란로"),
+                anyString(), anyString(), anyString()))
+                .willReturn(getJusoResponse("서울특별시 강남구 테헤란로 1", "서울특별시 강남구 테헤란로 2"));
+
+        // when
+        List<AddressResponseDto> result = addressService.getAddressService("테헤란로");
+
+        // then
+        assertEquals(List.of("서울특별시 강남구 테헤란로 1", "서울특별시 강남구 테헤란로 2"),
+                result.stream().map(AddressResponseDto::getRoadAddr).collect(Collectors.toList()));
+        verify(addressIndex).merge(result);
+    }
+
+    @Test
+    void throwWhenRemoteFailedWithoutLocal() {
+        // given
+        given(addressIndex.search("테헤란로", COUNT_PER_PAGE)).willReturn(List.of());
+        given(addressApiFeignClient.getAddress(anyString(), anyInt(), anyInt(), anyString(),
+                anyString(), anyString(), anyString())).willThrow(new IllegalStateException("timeout"));
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> addressService.getAddressService("테헤란로"));
+    }
+
+    private static List<AddressResponseDto> getAddresses(String road, int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> getAddress("서울특별시 강남구 " + road + " " + i))
+                .collect(Collectors.toList());
+    }
+
+    private static AddressResponseDto getAddress(String roadAddr) {
+        return AddressResponseDto.builder()
+                .roadAddr(roadAddr)
+                .build();
+    }
+
+    private static JusoResponse getJusoResponse(String... roadAddrs) {
+        List<Juso> jusos = new ArrayList<>();
+        for (String roadAddr : roadAddrs) {
+            Juso juso = new Juso();
+            juso.setRoadAddr(roadAddr);
+            jusos.add(juso);
+        }
+        return new JusoResponse(new Results(null, jusos));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.openfeign.service.geocode;
+
+import com.example.demo.exception.RacketPuncherException;
+import com.example.demo.matching.dto.DocumentForAddressDto;
+import com.example.demo.matching.dto.GeocodeDto;
+import com.example.demo.matching.dto.LatAndLonResponseDto;
+import com.example.demo.matching.dto.RegionForAddressDto;
+import com.example.demo.matching.filter.Region;
+import com.example.demo.openfeign.feignclient.LatAndLonApiFeignClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GeocodeServiceImplTest {
+
+    private static final String ADDRESS = "서울 강남구 테헤란로 1";
+
+    @Mock
+    private LatAndLonApiFeignClient latAndLonApiFeignClient;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private GeocodeServiceImpl geocodeService;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(geocodeService, "apiKey", "kakaoClientId");
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    }
+
+    @Test
+    void geocodeFromApiAndCacheLocally() {
+        // given
+        given(latAndLonApiFeignClient.getLatAndLon(ADDRESS, "KakaoAK kakaoClientId"))
+                .willReturn(getLatAndLonResponseDto());
+
+        // when
+        GeocodeDto first = geocodeService.geocode(ADDRESS);
+        GeocodeDto second = geocodeService.geocode("  서울 강남구   테헤란로 1 ");
+
+        // then
+        assertEquals(127.5, first.getLat());
+        assertEquals(37.8, first.getLon());
+        assertEquals(Region.GANGNAM, first.getRegion());
+        assertEquals(first, second);
+        verify(latAndLonApiFeignClient, times(1)).getLatAndLon(anyString(), anyString());
+        verify(valueOperations).set(eq("geocode:" + ADDRESS), eq("127.5,37.8,GANGNAM"), any(Duration.class));
+    }
+
+    @Test
+    void geocodeFromRedis() {
+        // given
+        given(valueOperations.get("geocode:" + ADDRESS)).willReturn("127.5,37.8,");
+
+        // when
+        GeocodeDto result = geocodeService.geocode(ADDRESS);
+
+        // then
+        assertEquals(127.5, result.getLat());
+        assertEquals(null, result.getRegion());
+        verify(latAndLonApiFeignClient, never()).getLatAndLon(anyString(), anyString());
+    }
+
+    @Test
+    void geocodeFailByWrongAddressIsCached() {
+        // given
+        given(latAndLonApiFeignClient.getLatAndLon(ADDRESS, "KakaoAK kakaoClientId"))
+                .willReturn(LatAndLonResponseDto.builder().documents(new ArrayList<>()).build());
+
+        // when
+        RacketPuncherException first = assertThrows(RacketPuncherException.class,
+                () -> geocodeService.geocode(ADDRESS));
+        RacketPuncherException second = assertThrows(RacketPuncherException.class,
+                () -> geocodeService.geocode(ADDRESS));
+
+        // then
+        assertEquals("위경도를 찾을 수 없는 주소입니다.", first.getMessage());
+        assertEquals("위경도를 찾을 수 없는 주소입니다.", second.getMessage());
+        verify(latAndLonApiFeignClient, times(1)).getLatAndLon(anyString(), anyString());
+    }
+
+    private LatAndLonResponseDto getLatAndLonResponseDto() {
+        DocumentForAddressDto document = DocumentForAddressDto.builder()
+                .x("37.8")
+                .y("127.5")
+                .build();
+        document.setAddress(new RegionForAddressDto("서울", "강남구"));
+
+        return LatAndLonResponseDto.builder()
+                .documents(List.of(document))
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.openfeign.service.weather;
+
+import com.example.demo.notification.dto.LocationAndDateFromMatching;
+import com.example.demo.openfeign.dto.weather.Body;
+import com.example.demo.openfeign.dto.weather.Item;
+import com.example.demo.openfeign.dto.weather.Items;
+import com.example.demo.openfeign.dto.weather.Response;
+import com.example.demo.openfeign.dto.weather.WeatherResponse;
+import com.example.demo.openfeign.dto.weather.WeatherResponseDto;
+import com.example.demo.openfeign.feignclient.WeatherApiFeignClient;
+import com.example.demo.type.PrecipitationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherServiceImplTest {
+
+    private static final String BASE_DATE = "20240210";
+
+    @Mock
+    private WeatherApiFeignClient weatherApiFeignClient;
+
+    private WeatherServiceImpl weatherService;
+
+    @BeforeEach
+    public void setup() {
+        weatherService = new WeatherServiceImpl(weatherApiFeignClient, 2);
+        ReflectionTestUtils.setField(weatherService, "apiKey", "weatherApiKey");
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherService.shutdown();
+    }
+
+    @Test
+    void getWeatherOncePerLocation() {
+        // given - 같은 격자의 매칭 두 개와 다른 격자의 매칭 한 개
+        given(weatherApiFeignClient.getWeather(eq("weatherApiKey"), anyString(), anyString(), anyString(),
+                eq(BASE_DATE), anyString(), eq("37"), eq("127"))).willReturn(getWeatherResponse("0", "0"));
+        given(weatherApiFeignClient.getWeather(eq("weatherApiKey"), anyString(), anyString(), anyString(),
+                eq(BASE_DATE), anyString(), eq("35"), eq("129"))).willReturn(getWeatherResponse("1", "60"));
+
+        // when
+        Map<LocationAndDateFromMatching, WeatherResponseDto> weathers = weatherService.getWeathers(List.of(
+                getLocation("37", "127"), getLocation("37", "127"), getLocation("35", "129")));
+
+        // then
+        assertEquals(2, weathers.size());
+        assertEquals(PrecipitationType.NICE, weathers.get(getLocation("37", "127")).getPrecipitationType());
+        assertEquals("60", weathers.get(getLocation("35", "129")).getPrecipitationProbability());
+        verify(weatherApiFeignClient, times(1)).getWeather(anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), eq("37"), eq("127"));
+    }
+
+    @Test
+    void skipLocationWhenApiFailed() {
+        // given
+        given(weatherApiFeignClient.getWeather(eq("weatherApiKey"), anyString(), anyString(), anyString(),
+                eq(BASE_DATE), anyString(), eq("37"), eq("127"))).willThrow(new IllegalStateException("timeout"));
+        given(weatherApiFeignClient.getWeather(eq("weatherApiKey"), anyString(), anyString(), anyString(),
+                eq(BASE_DATE), anyString(), eq("35"), eq("129"))).willReturn(getWeatherResponse("0", "0"));
+
+        // when
+        Map<LocationAndDateFromMatching, WeatherResponseDto> weathers = weatherService.getWeathers(List.of(
+                getLocation("37", "127"), getLocation("35", "129")));
+
+        // then
+        assertEquals(1, weathers.size());
+        assertFalse(weathers.containsKey(getLocation("37", "127")));
+    }
+
+    private static LocationAndDateFromMatching getLocation(String nx, String ny) {
+        return LocationAndDateFromMatching.builder()
+                .baseDate(BASE_DATE)
+                .nx(nx)
+                .ny(ny)
+                .build();
+    }
+
+    // 7번째 항목이 강수 형태, 8번째 항목이 강수 확률
+    private static WeatherResponse getWeatherResponse(String precipitationCode, String precipitationProbability) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add(new Item());
+        }
+        Item precipitationType = new Item();
+        precipitationType.setFcstValue(precipitationCode);
+        items.add(precipitationType);
+        Item probability = new Item();
+        probability.setFcstValue(precipitationProbability);
+        items.add(probability);
+
+        Body body = new Body();
+        body.setItems(new Items(items));
+        Response response = new Response();
+        response.setBody(body);
+        return new WeatherResponse(response);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.outbox.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.entity.Apply;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.outbox.repository.OutboxRepository;
+import com.example.demo.type.ApplyStatus;
+import com.example.demo.type.NotificationType;
+import com.example.demo.type.OutboxEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxServiceImpl(outboxRepository, new ObjectMapper());
+    }
+
+    @Test
+    void sameTransitionUsesSameKey() {
+        // given - 같은 신청 상태 변경으로 알림이 두 번 저장됨 (작업 재실행)
+        SiteUser organizer = SiteUser.builder().id(1L).build();
+        Matching matching = Matching.builder().id(10L).build();
+        Apply apply = Apply.builder().id(100L).applyStatus(ApplyStatus.PENDING).build();
+
+        // when
+        outboxService.saveNotification(organizer, matching, NotificationType.CANCEL_APPLY, apply.statusChangeKey());
+        outboxService.saveNotification(organizer, matching, NotificationType.CANCEL_APPLY, apply.statusChangeKey());
+
+        // then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository, times(2)).save(eq(OutboxEventType.NOTIFICATION), keys.capture(), anyString());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+    }
+
+    @Test
+    void repeatedTransitionUsesNewKey() {
+        // given - 수락 -> 대기 -> 수락 처럼 같은 전이가 다시 일어남
+        SiteUser applicant = SiteUser.builder().id(2L).build();
+        Matching matching = Matching.builder().id(10L).build();
+        Apply apply = Apply.builder().id(100L).applyStatus(ApplyStatus.PENDING).build();
+
+        // when
+        apply.changeApplyStatus(ApplyStatus.ACCEPTED);
+        outboxService.saveNotifications(List.of(applicant), matching, NotificationType.ACCEPT_APPLY,
+                apply.statusChangeKey());
+        apply.changeApplyStatus(ApplyStatus.PENDING);
+        apply.changeApplyStatus(ApplyStatus.ACCEPTED);
+        outboxService.saveNotifications(List.of(applicant), matching, NotificationType.ACCEPT_APPLY,
+                apply.statusChangeKey());
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> payloads = ArgumentCaptor.forClass(Map.class);
+        verify(outboxRepository, times(2)).saveAll(eq(OutboxEventType.NOTIFICATION), payloads.capture());
+        assertNotEquals(payloads.getAllValues().get(0).keySet(), payloads.getAllValues().get(1).keySet());
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.demo.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.apply.repository.ApplyRepository;
+import com.example.demo.chat.service.ChatNotificationService;
+import com.example.demo.entity.Apply;
+import com.example.demo.entity.Matching;
+import com.example.demo.entity.SiteUser;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.notification.service.NotificationService;
+import com.example.demo.scheduler.dto.DateTimeInfo;
+import com.example.demo.scheduler.lock.SchedulerLease;
+import com.example.demo.scheduler.repository.SchedulerFailureRepository;
+import com.example.demo.scheduler.repository.SchedulerWatermarkRepository;
+import com.example.demo.type.ApplyStatus;
+import com.example.demo.type.NotificationType;
+import com.example.demo.type.RecruitStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingConfirmJobTest {
+
+    @Mock
+    private MatchingRepository matchingRepository;
+
+    @Mock
+    private ApplyRepository applyRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ChatNotificationService chatNotificationService;
+
+    @Mock
+    private SchedulerWatermarkRepository schedulerWatermarkRepository;
+
+    @Mock
+    private SchedulerFailureRepository schedulerFailureRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MatchingConfirmJob job;
+
+    private final SchedulerLease lease = SchedulerLease.unlocked("matching-confirm");
+
+    private final DateTimeInfo dateTimeInfo = DateTimeInfo.builder()
+            .recruitDueDateTime(LocalDateTime.of(2024, 2, 10, 18, 0))
+            .today(LocalDate.of(2024, 2, 10))
+            .currentTime(LocalTime.of(18, 0))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        // 페이지 2건, 묶음 1건, 구간 60분, 최대 3번 시도
+        job = new MatchingConfirmJob(matchingRepository, applyRepository, notificationService,
+                chatNotificationService, schedulerWatermarkRepository, schedulerFailureRepository, transactionManager,
+                meterRegistry, 2, 2, 1, 1, 60, 1440, 3);
+        given(matchingRepository.findIdsByRecruitStatusFinished(any(RecruitStatus.class), any(LocalDate.class),
+                any(LocalTime.class), anyLong(), any(Pageable.class))).willReturn(List.of());
+        given(matchingRepository.findIdsWithEndTimeWithinLastHour(anyLong(), any(Pageable.class)))
+                .willReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    void confirmMatchesPageByPage() {
+        // given - 첫 페이지가 가득 차서 마지막 id 이후로 다음 페이지 조회
+        Matching full = getMatching(1L, RecruitStatus.FULL);
+        Matching open = getMatching(2L, RecruitStatus.OPEN);
+        Matching nextPage = getMatching(3L, RecruitStatus.FULL);
+        SiteUser siteUser = SiteUser.builder().id(10L).build();
+
+        givenWatermark(dateTimeInfo.getRecruitDueDateTime().minusMinutes(1));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(eq(dateTimeInfo.getRecruitDueDateTime()
+                .minusMinutes(1)), eq(dateTimeInfo.getRecruitDueDateTime()), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(1L, 2L));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(eq(dateTimeInfo.getRecruitDueDateTime()
+                .minusMinutes(1)), eq(dateTimeInfo.getRecruitDueDateTime()), eq(2L), any(Pageable.class)))
+                .willReturn(List.of(3L));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(1L))).willReturn(List.of(full));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(2L))).willReturn(List.of(open));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(3L))).willReturn(List.of(nextPage));
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(1L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of(Apply.builder().matching(full).siteUser(siteUser).build()));
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(2L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of());
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(3L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of());
+
+        // when
+        job.confirm(dateTimeInfo, lease);
+
+        // then
+        assertEquals(RecruitStatus.CONFIRMED, full.getRecruitStatus());
+        assertEquals(RecruitStatus.FAILED, open.getRecruitStatus());
+        assertEquals(RecruitStatus.CONFIRMED, nextPage.getRecruitStatus());
+        verify(notificationService, times(1))
+                .createAndSendNotifications(List.of(siteUser), full, NotificationType.MATCHING_CLOSED, "status:CONFIRMED");
+        assertEquals(3.0, meterRegistry.get("scheduler.matching.confirm").tag("result", "processed")
+                .counter().count());
+        verify(schedulerWatermarkRepository, times(1))
+                .save("matching-confirm", dateTimeInfo.getRecruitDueDateTime(), 0L);
+    }
+
+    @Test
+    void catchUpByWindowWhenFallenBehind() {
+        // given - 마지막 처리 후 2시간 30분이 지남
+        LocalDateTime now = dateTimeInfo.getRecruitDueDateTime();
+        givenWatermark(now.minusMinutes(150));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(0L), any(Pageable.class))).willReturn(List.of());
+
+        // when
+        job.confirm(dateTimeInfo, lease);
+
+        // then - 60분, 60분, 30분 구간으로 나눠 처리
+        verify(schedulerWatermarkRepository, times(1)).save("matching-confirm", now.minusMinutes(90), 0L);
+        verify(schedulerWatermarkRepository, times(1)).save("matching-confirm", now.minusMinutes(30), 0L);
+        verify(schedulerWatermarkRepository, times(1)).save("matching-confirm", now, 0L);
+    }
+
+    @Test
+    void continueWhenChunkFailed() {
+        // given - 1번 매칭 묶음만 실패
+        Matching open = getMatching(2L, RecruitStatus.OPEN);
+        givenWatermark(dateTimeInfo.getRecruitDueDateTime().minusMinutes(1));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(0L), any(Pageable.class))).willReturn(List.of(1L, 2L));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(2L), any(Pageable.class))).willReturn(List.of());
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(1L)))
+                .willThrow(new IllegalStateException("lock wait timeout"));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(2L))).willReturn(List.of(open));
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(2L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of());
+        given(schedulerFailureRepository.recordFailure(eq("matching-confirm:confirm"), eq(1L), any(String.class)))
+                .willReturn(1);
+
+        // when
+        job.confirm(dateTimeInfo, lease);
+
+        // then
+        assertEquals(RecruitStatus.FAILED, open.getRecruitStatus());
+        assertEquals(1.0, meterRegistry.get("scheduler.matching.confirm").tag("result", "failed")
+                .counter().count());
+        // 다음 실행에서 같은 구간을 다시 처리
+        verify(schedulerWatermarkRepository, never()).save(any(String.class), any(LocalDateTime.class), anyLong());
+    }
+
+    @Test
+    void skipMatchingFailedUpToMaxAttempts() {
+        // given - 1번 매칭이 이번에 세 번째로 실패
+        Matching open = getMatching(2L, RecruitStatus.OPEN);
+        givenWatermark(dateTimeInfo.getRecruitDueDateTime().minusMinutes(1));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(0L), any(Pageable.class))).willReturn(List.of(1L, 2L));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(2L), any(Pageable.class))).willReturn(List.of());
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(1L)))
+                .willThrow(new IllegalStateException("broken matching"));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(2L))).willReturn(List.of(open));
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(2L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of());
+        given(schedulerFailureRepository.recordFailure(eq("matching-confirm:confirm"), eq(1L), any(String.class)))
+                .willReturn(3);
+
+        // when
+        job.confirm(dateTimeInfo, lease);
+
+        // then - 1번 매칭은 건너뛰고 다음 구간으로 넘어감
+        assertEquals(1.0, meterRegistry.get("scheduler.matching.confirm").tag("result", "dead-lettered")
+                .counter().count());
+        verify(schedulerWatermarkRepository, times(1))
+                .save("matching-confirm", dateTimeInfo.getRecruitDueDateTime(), 0L);
+    }
+
+    @Test
+    void isolateFailedMatchingInChunk() {
+        // given - 묶음 2건 중 1번 매칭 때문에 묶음 전체가 실패
+        job.shutdown();
+        job = new MatchingConfirmJob(matchingRepository, applyRepository, notificationService,
+                chatNotificationService, schedulerWatermarkRepository, schedulerFailureRepository, transactionManager,
+                meterRegistry, 1, 2, 2, 1, 60, 1440, 3);
+        Matching open = getMatching(2L, RecruitStatus.OPEN);
+        givenWatermark(dateTimeInfo.getRecruitDueDateTime().minusMinutes(1));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(0L), any(Pageable.class))).willReturn(List.of(1L, 2L));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(2L), any(Pageable.class))).willReturn(List.of());
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(1L, 2L)))
+                .willThrow(new IllegalStateException("broken matching"));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(1L)))
+                .willThrow(new IllegalStateException("broken matching"));
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(2L))).willReturn(List.of(open));
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(2L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of());
+        given(schedulerFailureRepository.recordFailure(eq("matching-confirm:confirm"), eq(1L), any(String.class)))
+                .willReturn(1);
+
+        // when
+        job.confirm(dateTimeInfo, lease);
+
+        // then - 2번 매칭은 처리되고 1번 매칭만 실패로 기록
+        assertEquals(RecruitStatus.FAILED, open.getRecruitStatus());
+        verify(schedulerFailureRepository, never()).recordFailure(any(String.class), eq(2L), any(String.class));
+        assertEquals(1.0, meterRegistry.get("scheduler.matching.confirm").tag("result", "failed")
+                .counter().count());
+    }
+
+    @Test
+    void fireMatchingOfLeasedShard() {
+        // given - 주기적인 조회에서 잠금을 얻은 shard
+        Matching full = getMatching(1L, RecruitStatus.FULL);
+        givenWatermark(dateTimeInfo.getRecruitDueDateTime().minusMinutes(1));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(0L), any(Pageable.class))).willReturn(List.of());
+        given(matchingRepository.findAllWithSiteUserByIdInForUpdate(List.of(1L))).willReturn(List.of(full));
+        given(applyRepository.findAllWithSiteUserByMatchingIdInAndApplyStatus(List.of(1L), ApplyStatus.ACCEPTED))
+                .willReturn(List.of());
+        job.confirm(dateTimeInfo, lease);
+        job.assignTimerShards(List.of(lease));
+
+        // when
+        job.fire(MatchingTransition.CONFIRM, 1L);
+
+        // then
+        verify(matchingRepository, timeout(2000)).findAllWithSiteUserByIdInForUpdate(List.of(1L));
+    }
+
+    @Test
+    void ignoreFireWhenShardNotLeased() {
+        // given - 이번 조회에서 다른 서버가 모든 shard 의 잠금을 얻음
+        givenWatermark(dateTimeInfo.getRecruitDueDateTime().minusMinutes(1));
+        given(matchingRepository.findIdsByRecruitDueDateTimeBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(0L), any(Pageable.class))).willReturn(List.of());
+        job.confirm(dateTimeInfo, lease);
+        job.assignTimerShards(List.of());
+
+        // when
+        job.fire(MatchingTransition.CONFIRM, 1L);
+
+        // then - 다른 서버의 타이머가 처리
+        verify(matchingRepository, after(500).never()).findAllWithSiteUserByIdInForUpdate(List.of(1L));
+        assertEquals(1.0, meterRegistry.get("scheduler.matching.confirm").tag("result", "not-leased")
+                .counter().count());
+    }
+
+    private void givenWatermark(LocalDateTime watermark) {
+        given(schedulerWatermarkRepository.find("matching-confirm")).willReturn(Optional.of(watermark));
+    }
+
+    private static Matching getMatching(long id, RecruitStatus recruitStatus) {
+        return Matching.builder()
+                .id(id)
+                .recruitStatus(recruitStatus)
+                .recruitDueDateTime(LocalDateTime.of(2024, 2, 10, 18, 0))
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.scheduler;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.entity.Matching;
+import com.example.demo.matching.repository.MatchingRepository;
+import com.example.demo.type.RecruitStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingDeadlineTimerTest {
+
+    @Mock
+    private MatchingConfirmJob matchingConfirmJob;
+
+    @Mock
+    private MatchingRepository matchingRepository;
+
+    private MatchingDeadlineTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        // 틱 10ms, 24시간 안의 시각만 걸어 둠
+        timer = new MatchingDeadlineTimer(matchingConfirmJob, matchingRepository, new SimpleMeterRegistry(), 10, 24);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    void fireConfirmAtRecruitDueDateTime() {
+        // given
+        Matching matching = getMatching(RecruitStatus.FULL, LocalDateTime.now().plusNanos(200_000_000));
+
+        // when
+        timer.upsert(matching);
+
+        // then
+        verify(matchingConfirmJob, timeout(2000)).fire(MatchingTransition.CONFIRM, 1L);
+    }
+
+    @Test
+    void rescheduleWhenRecruitDueDateTimeChanged() {
+        // given - 곧 마감되던 매칭의 마감 시각이 한 시간 뒤로 바뀜
+        timer.upsert(getMatching(RecruitStatus.OPEN, LocalDateTime.now().plusNanos(200_000_000)));
+
+        // when
+        timer.upsert(getMatching(RecruitStatus.OPEN, LocalDateTime.now().plusHours(1)));
+
+        // then
+        verify(matchingConfirmJob, after(500).never()).fire(MatchingTransition.CONFIRM, 1L);
+    }
+
+    @Test
+    void cancelWhenRemoved() {
+        // given
+        timer.upsert(getMatching(RecruitStatus.OPEN, LocalDateTime.now().plusNanos(200_000_000)));
+
+        // when
+        timer.remove(1L);
+
+        // then
+        verify(matchingConfirmJob, after(500).never()).fire(MatchingTransition.CONFIRM, 1L);
+    }
+
+    private static Matching getMatching(RecruitStatus recruitStatus, LocalDateTime recruitDueDateTime) {
+        return Matching.builder()
+                .id(1L)
+                .recruitStatus(recruitStatus)
+                .recruitDueDateTime(recruitDueDateTime)
+                .build();
+    }
+}
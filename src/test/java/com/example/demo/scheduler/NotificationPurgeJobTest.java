@@ -0,0 +1,64 @@
+package com.example.demo.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.demo.notification.repository.NotificationBulkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPurgeJobTest {
+
+    @Mock
+    private NotificationBulkRepository notificationBulkRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void deleteByChunkUntilLastChunkIsNotFull() {
+        // given
+        NotificationPurgeJob job = new NotificationPurgeJob(notificationBulkRepository, transactionManager,
+                meterRegistry, 3, 100, 300, 0);
+        given(notificationBulkRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+                .willReturn(100, 100, 30);
+
+        // when
+        long deleted = job.purge();
+
+        // then
+        assertEquals(230, deleted);
+        verify(notificationBulkRepository, times(3)).deleteCreatedBefore(any(LocalDateTime.class), eq(100));
+        assertEquals(230.0, meterRegistry.get("notification.purge.deleted").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.purge").tag("result", "completed").counter().count());
+    }
+
+    @Test
+    void stopWhenTimeBudgetExhausted() {
+        // given - 시간 제한이 0초라 첫 묶음 이후 멈춤
+        NotificationPurgeJob job = new NotificationPurgeJob(notificationBulkRepository, transactionManager,
+                meterRegistry, 3, 100, 0, 0);
+        given(notificationBulkRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+                .willReturn(100);
+
+        // when
+        long deleted = job.purge();
+
+        // then
+        assertEquals(100, deleted);
+        assertEquals(1.0, meterRegistry.get("notification.purge").tag("result", "budget_exhausted")
+                .counter().count());
+    }
+}
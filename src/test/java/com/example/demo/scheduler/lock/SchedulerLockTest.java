@@ -0,0 +1,95 @@
+package com.example.demo.scheduler.lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLockTest {
+
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    private SchedulerLock schedulerLock;
+
+    @AfterEach
+    void tearDown() {
+        schedulerLock.shutdown();
+    }
+
+    @Test
+    void runWhenLockAcquired() {
+        // given
+        schedulerLock = newSchedulerLock(1);
+        given(schedulerLockRepository.acquire(eq("job"), anyString(), any(Duration.class)))
+                .willReturn(Optional.of(7L));
+        List<SchedulerLease> leases = new ArrayList<>();
+
+        // when
+        schedulerLock.run("job", leases::add);
+
+        // then
+        assertEquals(1, leases.size());
+        assertEquals(7L, leases.get(0).getFencingToken());
+        verify(schedulerLockRepository, times(1)).release(eq("job"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void skipWhenLockHeldByOtherNode() {
+        // given
+        schedulerLock = newSchedulerLock(1);
+        given(schedulerLockRepository.acquire(eq("job"), anyString(), any(Duration.class)))
+                .willReturn(Optional.empty());
+        List<SchedulerLease> leases = new ArrayList<>();
+
+        // when
+        schedulerLock.run("job", leases::add);
+
+        // then
+        assertTrue(leases.isEmpty());
+        verify(schedulerLockRepository, never()).release(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void runOnlyAcquiredShards() {
+        // given - 1번 shard 는 다른 서버가 처리 중
+        schedulerLock = newSchedulerLock(2);
+        given(schedulerLockRepository.acquire(eq("job:0/2"), anyString(), any(Duration.class)))
+                .willReturn(Optional.of(3L));
+        given(schedulerLockRepository.acquire(eq("job:1/2"), anyString(), any(Duration.class)))
+                .willReturn(Optional.empty());
+        List<SchedulerLease> leases = new ArrayList<>();
+
+        // when
+        schedulerLock.runSharded("job", leases::add);
+
+        // then
+        assertEquals(1, leases.size());
+        SchedulerLease lease = leases.get(0);
+        assertEquals("job:0/2", lease.getName());
+        assertTrue(lease.owns(2L));
+        assertFalse(lease.owns(3L));
+    }
+
+    private SchedulerLock newSchedulerLock(int shardCount) {
+        return new SchedulerLock(schedulerLockRepository, new SimpleMeterRegistry(), true, 30000, 0, shardCount);
+    }
+}
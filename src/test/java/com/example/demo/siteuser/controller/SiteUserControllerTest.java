@@ -102,6 +102,19 @@ public class SiteUserControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void getUnreadNotificationCount() throws Exception {
+        // given
+        given(siteUserService.getUnreadNotificationCount("email@naver.com"))
+                .willReturn(3L);
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/notifications/unread-count"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(print());
+    }
+
     @Test
     void getReviewPageInfo() throws Exception {
         // given
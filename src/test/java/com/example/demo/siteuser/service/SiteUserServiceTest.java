@@ -1,9 +1,14 @@
 package com.example.demo.siteuser.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.example.demo.apply.repository.ApplyRepository;
 import com.example.demo.common.FindEntity;
@@ -15,6 +20,7 @@ import com.example.demo.entity.SiteUser;
 import com.example.demo.exception.RacketPuncherException;
 import com.example.demo.matching.repository.MatchingRepository;
 import com.example.demo.notification.repository.NotificationRepository;
+import com.example.demo.notification.repository.NotificationUnreadCounter;
 import com.example.demo.siteuser.dto.InputReviewDto;
 import com.example.demo.siteuser.dto.SiteUserInfoDto;
 import com.example.demo.siteuser.dto.UpdateSiteUserInfoDto;
@@ -40,8 +46,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import com.example.demo.siteuser.repository.SiteUserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 public class SiteUserServiceTest {
@@ -60,6 +69,9 @@ public class SiteUserServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NotificationUnreadCounter notificationUnreadCounter;
+
     @Mock
     private FindEntity findEntity;
 
@@ -194,6 +206,122 @@ public class SiteUserServiceTest {
         assertEquals(exception.getMessage(), "이메일을 찾을 수 없습니다.");
     }
 
+    @Test
+    void getNotificationInboxWithNextCursor() {
+        // given - 요청한 크기보다 한 건 더 조회됨
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationRepository.findAllBySiteUserIdBefore(eq(1L), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .willReturn(getInboxNotifications(12L, 11L, 10L));
+
+        // when
+        var result = siteUserService.getNotificationInbox("email@naver.com", null, 2);
+
+        // then
+        assertEquals(2, result.getContent().size());
+        assertEquals("11", result.getNextCursor());
+        assertTrue(result.isHasNext());
+    }
+
+    @Test
+    void getNotificationInboxLastPage() {
+        // given
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationRepository.findAllBySiteUserIdBefore(eq(1L), eq(11L), any(Pageable.class)))
+                .willReturn(getInboxNotifications(10L));
+
+        // when
+        var result = siteUserService.getNotificationInbox("email@naver.com", 11L, 2);
+
+        // then
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+        assertFalse(result.isHasNext());
+    }
+
+    @Test
+    void getUnreadNotificationCountFromCounter() {
+        // given
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationUnreadCounter.get(1L)).willReturn(Optional.of(3L));
+
+        // when
+        long result = siteUserService.getUnreadNotificationCount("email@naver.com");
+
+        // then - 캐시에 있으면 알림 테이블을 조회하지 않음
+        assertEquals(3L, result);
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void getUnreadNotificationCountFillsCounterOnMiss() {
+        // given
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationUnreadCounter.get(1L)).willReturn(Optional.empty());
+        given(notificationRepository.countBySiteUser_IdAndReadFalse(1L)).willReturn(5L);
+
+        // when
+        long result = siteUserService.getUnreadNotificationCount("email@naver.com");
+        siteUserService.getUnreadNotificationCount("email@naver.com");
+
+        // then - 회원 엔티티는 조회하지 않고 id 만 조회
+        assertEquals(5L, result);
+        verify(notificationUnreadCounter, times(2)).init(1L, 5L);
+        verify(siteUserRepository, never()).findByEmail("email@naver.com");
+    }
+
+    @Test
+    void readNotificationsDecreasesUnreadCountAfterCommit() {
+        // given - 2건 중 1건은 이미 읽음
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationRepository.markRead(1L, List.of(10L, 11L))).willReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            siteUserService.readNotifications("email@naver.com", List.of(10L, 11L));
+
+            // then - 커밋 전에는 줄이지 않음
+            verify(notificationUnreadCounter, never()).decrease(anyLong(), anyLong());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(notificationUnreadCounter, times(1)).decrease(1L, 1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readNotificationsKeepsUnreadCountWhenRolledBack() {
+        // given
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationRepository.markRead(1L, List.of(10L))).willReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            siteUserService.readNotifications("email@naver.com", List.of(10L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // then
+            verifyNoInteractions(notificationUnreadCounter);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readAllNotificationsWhenIdsEmpty() {
+        // given
+        given(siteUserRepository.findIdByEmail("email@naver.com")).willReturn(Optional.of(1L));
+        given(notificationRepository.markAllRead(1L)).willReturn(4);
+
+        // when
+        siteUserService.readNotifications("email@naver.com", null);
+
+        // then
+        verify(notificationUnreadCounter, times(1)).decrease(1L, 4);
+    }
+
     @Test
     void getReviewPageInfoSuccess() {
         // given
@@ -471,6 +599,18 @@ public class SiteUserServiceTest {
         return notifications;
     }
 
+    private List<Notification> getInboxNotifications(Long... ids) {
+        List<Notification> notifications = new ArrayList<>();
+        for (Long id : ids) {
+            notifications.add(Notification.builder()
+                    .id(id)
+                    .content("content" + id)
+                    .createTime(LocalDateTime.now())
+                    .build());
+        }
+        return notifications;
+    }
+
     private List<Apply> getApplies() {
         List<Apply> applies = new ArrayList<>();
 